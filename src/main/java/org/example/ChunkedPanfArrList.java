@@ -0,0 +1,456 @@
+package org.example;
+
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Динамический массив из блоков фиксированного размера (степень двойки), адресуемых каталогом. Предназначен для
+ * очень больших списков: рост выделяет только один новый блок и копирует лишь каталог ссылок, поэтому не возникает
+ * гигантских непрерывных массивов (humongous-выделений в G1), полного копирования и связанных с ним пауз.
+ * <p>Доступ по индексу выполняется за O(1) сдвигом и маской. Раскладка - tiered vector: все блоки, кроме
+ * последнего, заполнены, а каждый блок - кольцевой буфер со своим началом. Вставка и удаление в середине сдвигают
+ * элементы только внутри одного блока (O(B)), а в остальных блоках переносят по одному элементу между соседями за
+ * O(1) на блок (O(n / B)). При размере блока порядка √n это O(√n) вместо O(n) у {@link PanfArrList}; размер блока
+ * задаётся при создании, {@link StorageMode#CHUNKED} выбирает его по ожидаемой вместимости.
+ * <p>Количество элементов может превышать {@code Integer.MAX_VALUE}: для этого есть методы с индексами типа
+ * {@code long} ({@link #longSize()}, {@link #get(long)}, {@link #set(long, Object)}, {@link #add(long, Object)},
+ * {@link #remove(long)}, {@link #longIndexOf(Object)}). Методы {@link List} с индексами {@code int} работают с
+ * первыми {@code Integer.MAX_VALUE} элементами, а {@link #size()} в этом случае возвращает
+ * {@code Integer.MAX_VALUE}, как требует контракт {@link Collection#size()}. Итератор и {@code forEach} обходят
+ * все элементы. Сортировка и {@code toArray} копируют список в один массив и поэтому ограничены его размером.
+ * <p>Пустой последний блок освобождается, так что занятая память пропорциональна количеству элементов.
+ * <p><strong>Данная реализация не потокобезопасна</strong>.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class ChunkedPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    /**
+     * Размер блока по умолчанию: 4096 ссылок, 16-32 КБ, что заметно меньше порога humongous-объекта в G1
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 12;
+
+    private static final int MAX_BLOCK_SIZE = 1 << 30;
+
+    private final int shift;
+
+    private final int mask;
+
+    private final int blockSize;
+
+    /**
+     * Каталог блоков; используются первые {@code blockCount} ячеек
+     */
+    private Object[][] blocks = new Object[0][];
+
+    /**
+     * Начало кольцевого буфера каждого блока
+     */
+    private int[] heads = new int[0];
+
+    private int blockCount = 0;
+
+    private long size = 0;
+
+    /**
+     * Создает пустой список с размером блока по умолчанию
+     */
+    public ChunkedPanfArrList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Создает пустой список с заданным размером блока
+     *
+     * @param blockSize размер блока, степень двойки от 1 до 2<sup>30</sup>
+     * @throws IllegalArgumentException если размер блока не степень двойки или вне допустимого диапазона
+     */
+    public ChunkedPanfArrList(int blockSize) {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException("Illegal block size " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.shift = Integer.numberOfTrailingZeros(blockSize);
+        this.mask = blockSize - 1;
+    }
+
+    /**
+     * Возвращает размер блока, подходящий для списка из {@code expectedSize} элементов: наибольшую степень двойки,
+     * не превышающую √n, но не меньше 16 и не больше {@link #DEFAULT_BLOCK_SIZE} × 16
+     */
+    public static int blockSizeFor(long expectedSize) {
+        long root = (long) Math.sqrt((double) Math.max(expectedSize, 1));
+        long size = Long.highestOneBit(Math.max(root, 1));
+        return (int) Math.max(16, Math.min(size, DEFAULT_BLOCK_SIZE * 16L));
+    }
+
+    /**
+     * Возвращает количество элементов в виде {@code long}
+     */
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * Возвращает количество элементов или {@code Integer.MAX_VALUE}, если их больше
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public T get(int index) {
+        return get((long) index);
+    }
+
+    /**
+     * Возвращает элемент по индексу за O(1)
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long index) {
+        checkIndex(index, size);
+        int b = (int) (index >>> shift);
+        return (T) blocks[b][(heads[b] + (int) index) & mask];
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return set((long) index, element);
+    }
+
+    /**
+     * Заменяет элемент по индексу за O(1) и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @SuppressWarnings("unchecked")
+    public T set(long index, T element) {
+        checkIndex(index, size);
+        int b = (int) (index >>> shift);
+        int slot = (heads[b] + (int) index) & mask;
+        T previous = (T) blocks[b][slot];
+        blocks[b][slot] = element;
+        return previous;
+    }
+
+    /**
+     * Добавляет элемент в конец списка за O(1); при заполнении последнего блока выделяется только один новый блок
+     */
+    @Override
+    public boolean add(T t) {
+        modCount++;
+        int b = (int) (size >>> shift);
+        if (b == blockCount) {
+            allocateBlock();
+        }
+        blocks[b][(heads[b] + (int) size) & mask] = t;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        add((long) index, element);
+    }
+
+    /**
+     * Вставляет элемент по индексу за O(B + n / B), где B - размер блока
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    public void add(long index, T element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        modCount++;
+        int last = (int) (size >>> shift);
+        if (last == blockCount) {
+            allocateBlock();
+        }
+        int b = (int) (index >>> shift);
+        // Последний элемент каждого блока от b до last - 1 переносится в начало следующего блока
+        for (int j = last; j > b; j--) {
+            int from = (heads[j - 1] + mask) & mask;
+            heads[j] = (heads[j] - 1) & mask;
+            blocks[j][heads[j]] = blocks[j - 1][from];
+            blocks[j - 1][from] = null;
+        }
+        int count = b == last ? (int) (size - ((long) b << shift)) : blockSize - 1;
+        insertIntoBlock(b, (int) index & mask, count, element);
+        size++;
+    }
+
+    @Override
+    public T remove(int index) {
+        return remove((long) index);
+    }
+
+    /**
+     * Удаляет элемент по индексу за O(B + n / B), где B - размер блока, и возвращает его
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public T remove(long index) {
+        checkIndex(index, size);
+        modCount++;
+        int last = (int) ((size - 1) >>> shift);
+        int b = (int) (index >>> shift);
+        int count = b == last ? (int) (size - ((long) b << shift)) : blockSize;
+        T removed = removeFromBlock(b, (int) index & mask, count);
+        // Первый элемент каждого следующего блока переносится в конец предыдущего
+        for (int j = b + 1; j <= last; j++) {
+            int to = (heads[j - 1] + mask) & mask;
+            blocks[j - 1][to] = blocks[j][heads[j]];
+            blocks[j][heads[j]] = null;
+            heads[j] = (heads[j] + 1) & mask;
+        }
+        size--;
+        if (size == ((long) last << shift)) {
+            releaseLastBlock();
+        }
+        return removed;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long index = longIndexOf(o);
+        if (index > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Index " + index + " does not fit into int, use longIndexOf");
+        }
+        return (int) index;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента по equals или -1
+     */
+    public long longIndexOf(Object o) {
+        for (int b = 0; b < blockCount; b++) {
+            Object[] block = blocks[b];
+            int count = blockLength(b);
+            for (int i = 0; i < count; i++) {
+                if (Objects.equals(o, block[(heads[b] + i) & mask])) {
+                    return ((long) b << shift) + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return longIndexOf(o) >= 0;
+    }
+
+    /**
+     * Удаляет все элементы и освобождает все блоки
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        blocks = new Object[0][];
+        heads = new int[0];
+        blockCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Стабильно сортирует список. Элементы копируются в один массив, поэтому список должен помещаться в массив
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     * @throws IllegalStateException если элементов больше, чем помещается в массив
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c) {
+        int expectedModCount = modCount;
+        Object[] a = toArray();
+        SortAlgorithm.TIMSORT.sort(a, 0, a.length,
+                c != null ? c : (Comparator<? super T>) Comparator.naturalOrder());
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        int pos = 0;
+        for (int b = 0; b < blockCount; b++) {
+            int count = blockLength(b);
+            System.arraycopy(a, pos, blocks[b], 0, count);
+            heads[b] = 0;
+            pos += count;
+        }
+        modCount++;
+    }
+
+    /**
+     * Возвращает массив элементов списка
+     *
+     * @throws IllegalStateException если элементов больше, чем помещается в массив
+     */
+    @Override
+    public Object[] toArray() {
+        if (size > GrowthPolicy.MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("List of " + size + " elements does not fit into an array");
+        }
+        Object[] a = new Object[(int) size];
+        int pos = 0;
+        for (int b = 0; b < blockCount; b++) {
+            int count = blockLength(b);
+            int head = heads[b];
+            int first = Math.min(count, blockSize - head);
+            System.arraycopy(blocks[b], head, a, pos, first);
+            System.arraycopy(blocks[b], 0, a, pos + first, count - first);
+            pos += count;
+        }
+        return a;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (int b = 0; b < blockCount && modCount == expectedModCount; b++) {
+            Object[] block = blocks[b];
+            int count = blockLength(b);
+            for (int i = 0; i < count; i++) {
+                action.accept((T) block[(heads[b] + i) & mask]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Возвращает fail-fast итератор по всем элементам, в том числе с индексами больше {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private long cursor;
+            private long lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                return get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                ChunkedPanfArrList.this.remove(lastReturned);
+                cursor = lastReturned;
+                lastReturned = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Вставляет элемент в блок {@code b}, содержащий {@code count < blockSize} элементов, на позицию {@code offset},
+     * сдвигая меньшую из двух частей блока
+     */
+    private void insertIntoBlock(int b, int offset, int count, T element) {
+        Object[] block = blocks[b];
+        int head = heads[b];
+        if (offset < count - offset) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < offset; i++) {
+                block[(head + i) & mask] = block[(head + i + 1) & mask];
+            }
+            heads[b] = head;
+        } else {
+            for (int i = count; i > offset; i--) {
+                block[(head + i) & mask] = block[(head + i - 1) & mask];
+            }
+        }
+        block[(head + offset) & mask] = element;
+    }
+
+    /**
+     * Удаляет элемент с позиции {@code offset} из блока {@code b}, содержащего {@code count} элементов, сдвигая
+     * меньшую из двух частей блока. Освободившаяся ячейка оказывается сразу после последнего элемента блока
+     */
+    @SuppressWarnings("unchecked")
+    private T removeFromBlock(int b, int offset, int count) {
+        Object[] block = blocks[b];
+        int head = heads[b];
+        T removed = (T) block[(head + offset) & mask];
+        if (offset < count - 1 - offset) {
+            for (int i = offset; i > 0; i--) {
+                block[(head + i) & mask] = block[(head + i - 1) & mask];
+            }
+            block[head] = null;
+            heads[b] = (head + 1) & mask;
+        } else {
+            for (int i = offset; i < count - 1; i++) {
+                block[(head + i) & mask] = block[(head + i + 1) & mask];
+            }
+            block[(head + count - 1) & mask] = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Возвращает количество элементов в блоке {@code b}
+     */
+    private int blockLength(int b) {
+        return (int) Math.min(blockSize, size - ((long) b << shift));
+    }
+
+    private void allocateBlock() {
+        if (blockCount == blocks.length) {
+            if (blockCount == Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Block directory is full");
+            }
+            int newLength = (int) Math.min(Math.max(4L, blockCount * 2L), Integer.MAX_VALUE - 8);
+            blocks = Arrays.copyOf(blocks, newLength);
+            heads = Arrays.copyOf(heads, newLength);
+        }
+        blocks[blockCount] = new Object[blockSize];
+        heads[blockCount] = 0;
+        blockCount++;
+    }
+
+    private void releaseLastBlock() {
+        blockCount--;
+        blocks[blockCount] = null;
+        heads[blockCount] = 0;
+    }
+
+    private static void checkIndex(long index, long length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + length);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package org.example;
+
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+
+/**
+ * Динамический массив с кольцевой раскладкой элементов: начало списка хранится индексом {@code head} и может
+ * находиться в любой ячейке внутреннего массива, а элементы, не поместившиеся до конца массива, продолжаются с его
+ * начала.
+ * <p>Благодаря этому добавление и удаление в начале списка ({@code add(0, e)}, {@code remove(0)}) выполняются за
+ * O(1), как и в конце, а вставка и удаление по индексу сдвигают только меньшую из двух частей списка - до индекса
+ * или после него. Доступ по индексу остаётся O(1). Подходит для очередей и списков, которые изменяются с обоих концов.
+ * <p>Из расширений {@link PanfArrList} поддерживаются {@link GrowthPolicy} и {@link ShrinkPolicy}, {@code ensureCapacity},
+ * {@code trimToSize}, {@code clearTotal}, {@code distinct}, {@code sort()} и {@code sort(Comparator, SortAlgorithm)};
+ * метрик, {@code query} и параллельных операций нет. Выбрать раскладку при создании списка можно также через
+ * {@link StorageMode}.
+ * <p><strong>Данная реализация не потокобезопасна.</strong>
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class CircularPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final Object[] EMPTY_LIST = {};
+
+    /**
+     * Кольцевой массив элементов. Вместимость списка - длина массива
+     */
+    private Object[] elements;
+
+    /**
+     * Индекс ячейки, в которой хранится первый элемент списка
+     */
+    private int head = 0;
+
+    /**
+     * Количество элементов в списке
+     */
+    private int size = 0;
+
+    /**
+     * Политика увеличения вместимости, используемая при нехватке места во внутреннем массиве
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Политика уменьшения вместимости после удаления элементов
+     */
+    private final ShrinkPolicy shrinkPolicy;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию
+     */
+    public CircularPanfArrList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public CircularPanfArrList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public CircularPanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        this(capacity, growthPolicy, ShrinkPolicy.never());
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью, политикой её увеличения и политикой уменьшения после удаления
+     * элементов
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     * @throws NullPointerException     если одна из политик не задана
+     */
+    public CircularPanfArrList(int capacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.elements = capacity == 0 ? EMPTY_LIST : new Object[capacity];
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+        this.shrinkPolicy = Objects.requireNonNull(shrinkPolicy, "shrinkPolicy");
+    }
+
+    /**
+     * Создает список, содержащий элементы переданной коллекции в порядке её итератора
+     */
+    public CircularPanfArrList(Collection<? extends T> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[physical(index)];
+    }
+
+    /**
+     * Заменяет элемент по индексу и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size);
+        int p = physical(index);
+        T previous = (T) elements[p];
+        elements[p] = element;
+        return previous;
+    }
+
+    /**
+     * Добавляет элемент в конец списка за амортизированное O(1)
+     */
+    @Override
+    public boolean add(T t) {
+        modCount++;
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[physical(size)] = t;
+        size++;
+        return true;
+    }
+
+    /**
+     * Добавляет элемент по индексу. Сдвигается меньшая из частей списка: до индекса (на одну позицию к началу)
+     * или после него (на одну позицию к концу), поэтому вставка в начало и в конец выполняется за O(1)
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    @Override
+    public void add(int index, T element) {
+        Objects.checkIndex(index, size + 1);
+        modCount++;
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        if (index < size / 2) {
+            head = head == 0 ? elements.length - 1 : head - 1;
+            move(1, 0, index);
+        } else {
+            move(index, index + 1, size - index);
+        }
+        elements[physical(index)] = element;
+        size++;
+    }
+
+    /**
+     * Удаляет элемент по индексу и возвращает его. Сдвигается меньшая из частей списка, поэтому удаление первого
+     * и последнего элементов выполняется за O(1). После удаления вместимость может быть уменьшена согласно
+     * {@code shrinkPolicy}
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+        T removed = (T) elements[physical(index)];
+        if (index < size / 2) {
+            move(0, 1, index);
+            elements[head] = null;
+            head = head + 1 == elements.length ? 0 : head + 1;
+        } else {
+            move(index + 1, index, size - index - 1);
+            elements[physical(size - 1)] = null;
+        }
+        size--;
+        shrinkIfNeeded();
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Вместимость не уменьшается
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        for (int i = 0; i < size; i++) {
+            elements[physical(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Удаляет все элементы и освобождает внутренний массив
+     */
+    public void clearTotal() {
+        modCount++;
+        elements = EMPTY_LIST;
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Возвращает новый список из различных по {@code equals} элементов в порядке их первого вхождения за ожидаемое
+     * O(n). Новый список использует те же политики вместимости
+     */
+    public CircularPanfArrList<T> distinct() {
+        HashIndex seen = new HashIndex(size);
+        CircularPanfArrList<T> result = new CircularPanfArrList<>(size, growthPolicy, shrinkPolicy);
+        for (int i = 0; i < size; i++) {
+            Object e = elements[physical(i)];
+            if (seen.putIfAbsent(e, i)) {
+                result.elements[result.size++] = e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента по equals или -1, если элемент в списке отсутствует
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, elements[physical(i)])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Увеличивает вместимость списка, если это необходимо, так чтобы он мог вместить не менее {@code minCapacity}
+     * элементов без перевыделения внутреннего массива
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает внутренний массив до количества элементов в списке
+     */
+    public void trimToSize() {
+        modCount++;
+        if (elements.length > size) {
+            elements = size == 0 ? EMPTY_LIST : linearCopy(size);
+            head = 0;
+        }
+    }
+
+    /**
+     * Сортирует список по естественному порядку элементов (нестабильно, {@link SortAlgorithm#INTROSORT})
+     */
+    public void sort() {
+        sort(null, SortAlgorithm.INTROSORT);
+    }
+
+    /**
+     * Стабильно сортирует список в порядке, заданном компаратором
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @Override
+    public void sort(Comparator<? super T> c) {
+        sort(c, SortAlgorithm.TIMSORT);
+    }
+
+    /**
+     * Сортирует список указанным алгоритмом. Перед сортировкой элементы выкладываются в массиве линейно,
+     * начиная с нулевой ячейки
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c, SortAlgorithm algorithm) {
+        if (head + size > elements.length) {
+            elements = linearCopy(elements.length);
+            head = 0;
+        }
+        algorithm.sort(elements, head, head + size, c != null ? c : (Comparator<? super T>) Comparator.naturalOrder());
+        modCount++;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка по порядку
+     */
+    @Override
+    public Object[] toArray() {
+        return linearCopy(size);
+    }
+
+    /**
+     * Переводит логический индекс в индекс ячейки кольцевого массива
+     */
+    private int physical(int index) {
+        int p = head + index;
+        return p >= elements.length ? p - elements.length : p;
+    }
+
+    /**
+     * Копирует {@code count} элементов с логической позиции {@code from} на логическую позицию {@code to}.
+     * Копирование выполняется фрагментами {@link System#arraycopy}, не пересекающими границу массива, в порядке,
+     * при котором перекрывающиеся диапазоны не портятся
+     */
+    private void move(int from, int to, int count) {
+        int length = elements.length;
+        if (to < from) {
+            int done = 0;
+            while (done < count) {
+                int src = physical(from + done);
+                int dst = physical(to + done);
+                int chunk = Math.min(count - done, Math.min(length - src, length - dst));
+                System.arraycopy(elements, src, elements, dst, chunk);
+                done += chunk;
+            }
+        } else {
+            int remaining = count;
+            while (remaining > 0) {
+                int srcEnd = physical(from + remaining - 1);
+                int dstEnd = physical(to + remaining - 1);
+                int chunk = Math.min(remaining, Math.min(srcEnd + 1, dstEnd + 1));
+                System.arraycopy(elements, srcEnd - chunk + 1, elements, dstEnd - chunk + 1, chunk);
+                remaining -= chunk;
+            }
+        }
+    }
+
+    /**
+     * Возвращает массив длины {@code length}, в котором элементы списка лежат по порядку начиная с нулевой ячейки
+     */
+    private Object[] linearCopy(int length) {
+        Object[] copy = new Object[length];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, copy, 0, firstPart);
+        System.arraycopy(elements, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+
+    /**
+     * Уменьшает вместимость после удаления элементов, если этого требует {@code shrinkPolicy}. Вместимость не
+     * опускается ниже размера списка и {@code DEFAULT_CAPACITY}
+     */
+    private void shrinkIfNeeded() {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(shrinkPolicy.shrink(oldCapacity, size), Math.max(size, DEFAULT_CAPACITY));
+        if (newCapacity < oldCapacity) {
+            elements = linearCopy(newCapacity);
+            head = 0;
+        }
+    }
+
+    /**
+     * Увеличивает вместимость согласно {@code growthPolicy}; элементы раскладываются в новом массиве линейно
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity);
+        elements = linearCopy(newCapacity);
+        head = 0;
+    }
+}
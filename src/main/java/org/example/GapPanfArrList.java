@@ -0,0 +1,372 @@
+package org.example;
+
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+
+/**
+ * Динамический массив с раскладкой «буфер с промежутком» (gap buffer): свободная часть внутреннего массива хранится
+ * не в конце, а в позиции последнего изменения. Элементы до промежутка лежат в начале массива, элементы после него -
+ * в конце.
+ * <p>Вставка и удаление в позиции промежутка выполняются за O(1); при изменении в другой позиции промежуток
+ * переносится туда копированием элементов между старой и новой позицией. Поэтому серия правок рядом
+ * с движущимся курсором (как в текстовом редакторе) выполняется за амортизированное O(1) на операцию, а
+ * не за O(n), как в {@link PanfArrList}. Доступ по индексу остаётся O(1).
+ * <p>Из расширений {@link PanfArrList} поддерживаются {@link GrowthPolicy} и {@link ShrinkPolicy}, {@code ensureCapacity},
+ * {@code trimToSize}, {@code clearTotal}, {@code distinct}, {@code sort()} и {@code sort(Comparator, SortAlgorithm)};
+ * метрик, {@code query} и параллельных операций нет. Выбрать раскладку при создании списка можно также через
+ * {@link StorageMode}.
+ * <p><strong>Данная реализация не потокобезопасна.</strong>
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class GapPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final Object[] EMPTY_LIST = {};
+
+    /**
+     * Массив элементов: {@code [0, gapStart)} - элементы до промежутка, {@code [gapStart, gapEnd)} - промежуток,
+     * {@code [gapEnd, elements.length)} - элементы после промежутка
+     */
+    private Object[] elements;
+
+    /**
+     * Начало промежутка, оно же логический индекс первого элемента после промежутка
+     */
+    private int gapStart = 0;
+
+    /**
+     * Конец промежутка (не включительно)
+     */
+    private int gapEnd;
+
+    /**
+     * Политика увеличения вместимости, используемая при исчерпании промежутка
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Политика уменьшения вместимости после удаления элементов
+     */
+    private final ShrinkPolicy shrinkPolicy;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию
+     */
+    public GapPanfArrList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public GapPanfArrList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public GapPanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        this(capacity, growthPolicy, ShrinkPolicy.never());
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью, политикой её увеличения и политикой уменьшения после удаления
+     * элементов
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     * @throws NullPointerException     если одна из политик не задана
+     */
+    public GapPanfArrList(int capacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.elements = capacity == 0 ? EMPTY_LIST : new Object[capacity];
+        this.gapEnd = capacity;
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+        this.shrinkPolicy = Objects.requireNonNull(shrinkPolicy, "shrinkPolicy");
+    }
+
+    /**
+     * Создает список, содержащий элементы переданной коллекции в порядке её итератора
+     */
+    public GapPanfArrList(Collection<? extends T> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     */
+    @Override
+    public int size() {
+        return elements.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size());
+        return (T) elements[physical(index)];
+    }
+
+    /**
+     * Заменяет элемент по индексу и возвращает прежнее значение. Промежуток при этом не переносится
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size());
+        int p = physical(index);
+        T previous = (T) elements[p];
+        elements[p] = element;
+        return previous;
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Если промежуток находится не в конце, он сначала переносится туда
+     */
+    @Override
+    public boolean add(T t) {
+        add(size(), t);
+        return true;
+    }
+
+    /**
+     * Добавляет элемент по индексу. Промежуток переносится в позицию {@code index}, после чего элемент
+     * записывается в его начало
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    @Override
+    public void add(int index, T element) {
+        Objects.checkIndex(index, size() + 1);
+        modCount++;
+        if (gapStart == gapEnd) {
+            grow(elements.length + 1);
+        }
+        moveGap(index);
+        elements[gapStart++] = element;
+    }
+
+    /**
+     * Удаляет элемент по индексу и возвращает его. Промежуток переносится в позицию {@code index} и поглощает
+     * удалённый элемент. После удаления вместимость может быть уменьшена согласно {@code shrinkPolicy}
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        Objects.checkIndex(index, size());
+        modCount++;
+        moveGap(index);
+        T removed = (T) elements[gapEnd];
+        elements[gapEnd++] = null;
+        shrinkIfNeeded();
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Вместимость не уменьшается
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(elements, 0, gapStart, null);
+        Arrays.fill(elements, gapEnd, elements.length, null);
+        gapStart = 0;
+        gapEnd = elements.length;
+    }
+
+    /**
+     * Удаляет все элементы и освобождает внутренний массив
+     */
+    public void clearTotal() {
+        modCount++;
+        elements = EMPTY_LIST;
+        gapStart = 0;
+        gapEnd = 0;
+    }
+
+    /**
+     * Возвращает новый список из различных по {@code equals} элементов в порядке их первого вхождения за ожидаемое
+     * O(n). Новый список использует те же политики вместимости, его промежуток находится в конце
+     */
+    public GapPanfArrList<T> distinct() {
+        int size = size();
+        HashIndex seen = new HashIndex(size);
+        GapPanfArrList<T> result = new GapPanfArrList<>(size, growthPolicy, shrinkPolicy);
+        for (int i = 0; i < size; i++) {
+            Object e = elements[physical(i)];
+            if (seen.putIfAbsent(e, i)) {
+                result.elements[result.gapStart++] = e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента по equals или -1, если элемент в списке отсутствует
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < gapStart; i++) {
+            if (Objects.equals(o, elements[i])) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < elements.length; i++) {
+            if (Objects.equals(o, elements[i])) {
+                return i - (gapEnd - gapStart);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Увеличивает вместимость списка, если это необходимо, так чтобы он мог вместить не менее {@code minCapacity}
+     * элементов без перевыделения внутреннего массива
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает внутренний массив до количества элементов в списке
+     */
+    public void trimToSize() {
+        modCount++;
+        int size = size();
+        if (elements.length > size) {
+            moveGap(size);
+            elements = size == 0 ? EMPTY_LIST : Arrays.copyOf(elements, size);
+            gapEnd = size;
+        }
+    }
+
+    /**
+     * Сортирует список по естественному порядку элементов (нестабильно, {@link SortAlgorithm#INTROSORT})
+     */
+    public void sort() {
+        sort(null, SortAlgorithm.INTROSORT);
+    }
+
+    /**
+     * Стабильно сортирует список в порядке, заданном компаратором
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @Override
+    public void sort(Comparator<? super T> c) {
+        sort(c, SortAlgorithm.TIMSORT);
+    }
+
+    /**
+     * Сортирует список указанным алгоритмом. Перед сортировкой промежуток переносится в конец списка
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c, SortAlgorithm algorithm) {
+        int size = size();
+        moveGap(size);
+        algorithm.sort(elements, 0, size, c != null ? c : (Comparator<? super T>) Comparator.naturalOrder());
+        modCount++;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка по порядку
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] copy = new Object[size()];
+        System.arraycopy(elements, 0, copy, 0, gapStart);
+        System.arraycopy(elements, gapEnd, copy, gapStart, elements.length - gapEnd);
+        return copy;
+    }
+
+    /**
+     * Переводит логический индекс в индекс ячейки массива с учётом промежутка
+     */
+    private int physical(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Переносит промежуток так, чтобы он начинался с логического индекса {@code index}. Копируются только элементы
+     * между старой и новой позицией промежутка
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(elements, index, elements, gapEnd - count, count);
+            Arrays.fill(elements, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart = index;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, count);
+            Arrays.fill(elements, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart = index;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Уменьшает вместимость после удаления элементов, если этого требует {@code shrinkPolicy}. Вместимость не
+     * опускается ниже размера списка и {@code DEFAULT_CAPACITY}
+     */
+    private void shrinkIfNeeded() {
+        int size = size();
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(shrinkPolicy.shrink(oldCapacity, size), Math.max(size, DEFAULT_CAPACITY));
+        if (newCapacity < oldCapacity) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * Увеличивает вместимость согласно {@code growthPolicy}
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = elements.length;
+        resize(oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity));
+    }
+
+    /**
+     * Переносит элементы в массив длины {@code newCapacity}; промежуток остаётся на прежней логической позиции
+     * и получает всю разницу вместимостей
+     */
+    private void resize(int newCapacity) {
+        Object[] resized = new Object[newCapacity];
+        int tail = elements.length - gapEnd;
+        System.arraycopy(elements, 0, resized, 0, gapStart);
+        System.arraycopy(elements, gapEnd, resized, newCapacity - tail, tail);
+        elements = resized;
+        gapEnd = newCapacity - tail;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+/**
+ * Политика увеличения вместимости списка. Определяет, до какого размера увеличивается внутренний массив
+ * {@link PanfArrList}, когда для добавления элементов не хватает текущей вместимости.
+ * <p>Готовые реализации создаются фабричными методами: {@link #geometric(double)} (вместимость умножается на
+ * коэффициент, добавление элемента в конец выполняется за амортизированное O(1)), {@link #fixed(int)} (вместимость
+ * увеличивается на постоянную величину, как это делала исходная версия списка) и {@link #capped(double, int, int)}
+ * (геометрический рост до порога, после него - линейный, чтобы ограничить перерасход памяти на очень больших списках).
+ * <p>Реализация должна вернуть значение не меньше {@code minCapacity}; если она этого не делает, список
+ * всё равно расширится до {@code minCapacity}.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Максимальный размер массива, который гарантированно может быть выделен виртуальной машиной
+     */
+    int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Рост в 1.5 раза - политика по умолчанию, совпадает с поведением {@link java.util.ArrayList}
+     */
+    GrowthPolicy DEFAULT = geometric(1.5);
+
+    /**
+     * Вычисляет новую вместимость списка.
+     *
+     * @param currentCapacity текущая вместимость (длина внутреннего массива), всегда больше 0
+     * @param minCapacity     минимальная вместимость, необходимая для выполнения операции
+     * @return новая вместимость, не меньше {@code minCapacity}
+     */
+    int grow(int currentCapacity, int minCapacity);
+
+    /**
+     * Возвращает политику геометрического роста: новая вместимость равна текущей, умноженной на {@code factor}.
+     *
+     * @param factor коэффициент роста, должен быть больше 1 (например 1.5 или 2)
+     * @throws IllegalArgumentException если коэффициент не больше 1
+     */
+    static GrowthPolicy geometric(double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Illegal growth factor " + factor);
+        }
+        return (currentCapacity, minCapacity) -> clamp((long) (currentCapacity * factor), currentCapacity, minCapacity);
+    }
+
+    /**
+     * Возвращает политику линейного роста: вместимость увеличивается на {@code increment} элементов.
+     * Заполнение списка из n элементов при такой политике требует O(n²) копирований.
+     *
+     * @param increment шаг увеличения вместимости, должен быть больше 0
+     * @throws IllegalArgumentException если шаг не больше 0
+     */
+    static GrowthPolicy fixed(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Illegal growth increment " + increment);
+        }
+        return (currentCapacity, minCapacity) -> clamp((long) currentCapacity + increment, currentCapacity, minCapacity);
+    }
+
+    /**
+     * Возвращает политику, которая растёт геометрически с коэффициентом {@code factor}, пока вместимость меньше
+     * {@code threshold}, а после порога - линейно на {@code increment} элементов.
+     *
+     * @param factor    коэффициент геометрического роста, больше 1
+     * @param threshold вместимость, начиная с которой рост становится линейным, больше 0
+     * @param increment шаг линейного роста, больше 0
+     * @throws IllegalArgumentException при некорректных параметрах
+     */
+    static GrowthPolicy capped(double factor, int threshold, int increment) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Illegal growth threshold " + threshold);
+        }
+        GrowthPolicy geometric = geometric(factor);
+        GrowthPolicy linear = fixed(increment);
+        return (currentCapacity, minCapacity) -> currentCapacity < threshold
+                ? Math.min(geometric.grow(currentCapacity, minCapacity), Math.max(threshold, minCapacity))
+                : linear.grow(currentCapacity, minCapacity);
+    }
+
+    /**
+     * Приводит вычисленную вместимость к допустимому диапазону: не меньше {@code minCapacity} и текущей
+     * вместимости + 1, не больше {@link #MAX_ARRAY_SIZE} (если только сам {@code minCapacity} не больше него).
+     */
+    private static int clamp(long proposed, int currentCapacity, int minCapacity) {
+        long capacity = Math.max(proposed, Math.max((long) currentCapacity + 1, minCapacity));
+        if (capacity > MAX_ARRAY_SIZE) {
+            return Math.max(MAX_ARRAY_SIZE, minCapacity);
+        }
+        return (int) capacity;
+    }
+}
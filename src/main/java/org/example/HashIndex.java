@@ -0,0 +1,120 @@
+package org.example;
+
+/**
+ * Хеш-таблица с открытой адресацией (линейное пробирование), сопоставляющая элементу списка индекс его первого
+ * вхождения. Ключи сравниваются по {@code equals}; {@code null} допускается. Удаление отдельных ключей не
+ * поддерживается: при изменениях, которые нельзя учесть по месту, индекс перестраивается целиком.
+ * <p>Заполненность таблицы не превышает половины, поэтому поиск выполняется за ожидаемое O(1).
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+final class HashIndex {
+
+    /**
+     * Заместитель ключа {@code null} в таблице, где {@code null} означает пустую ячейку
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    /**
+     * Создает пустой индекс, рассчитанный на {@code expectedSize} ключей без перестроения таблицы
+     */
+    HashIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.min(Math.max(4, expectedSize), 1 << 29) * 2 - 1) << 1;
+        keys = new Object[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Возвращает значение ключа или -1, если ключа нет
+     */
+    int get(Object key) {
+        Object k = key == null ? NULL_KEY : key;
+        int mask = keys.length - 1;
+        for (int slot = hash(k) & mask; ; slot = (slot + 1) & mask) {
+            Object current = keys[slot];
+            if (current == null) {
+                return -1;
+            }
+            if (current == k || current.equals(k)) {
+                return values[slot];
+            }
+        }
+    }
+
+    /**
+     * Добавляет ключ со значением, если его ещё нет
+     *
+     * @return {@code true}, если ключ добавлен
+     */
+    boolean putIfAbsent(Object key, int value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Добавляет ключ со значением или уменьшает значение существующего ключа до {@code value}
+     */
+    void putMin(Object key, int value) {
+        put(key, value, true);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean put(Object key, int value, boolean keepMin) {
+        Object k = key == null ? NULL_KEY : key;
+        int mask = keys.length - 1;
+        for (int slot = hash(k) & mask; ; slot = (slot + 1) & mask) {
+            Object current = keys[slot];
+            if (current == null) {
+                keys[slot] = k;
+                values[slot] = value;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+                return true;
+            }
+            if (current == k || current.equals(k)) {
+                if (keepMin && value < values[slot]) {
+                    values[slot] = value;
+                }
+                return false;
+            }
+        }
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k != null) {
+                int slot = hash(k) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Перемешивает биты хеш-кода, чтобы слабые хеш-функции (например, последовательные {@code Integer})
+     * не образовывали длинных цепочек при линейном пробировании
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
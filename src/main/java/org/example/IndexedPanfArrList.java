@@ -0,0 +1,141 @@
+package org.example;
+
+import java.util.Collection;
+
+/**
+ * {@link PanfArrList} с хеш-индексом "элемент - индекс первого вхождения", дающим {@code indexOf},
+ * {@code contains} и поиск в {@code remove(Object)} за ожидаемое O(1) вместо линейного просмотра.
+ * <p>Индекс строится лениво при первом поиске и поддерживается по месту при добавлении в конец и замене
+ * элемента, поэтому цикл вида "проверить {@code contains}, затем {@code add}" выполняется за O(n) в целом.
+ * Структурные изменения, сдвигающие индексы (вставка и удаление в середине, сортировка, массовое удаление),
+ * лишь помечают индекс устаревшим через {@code modCount}: он перестраивается за O(n) при следующем поиске. Стоимость
+ * такой перестройки того же порядка, что и сдвиг элементов самим изменением.
+ * <p>Индекс занимает порядка 3 ссылок на элемент. Элементы должны иметь согласованные {@code equals} и
+ * {@code hashCode} и не должны изменяться так, чтобы менялся их хеш-код, пока они находятся в списке.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class IndexedPanfArrList<T> extends PanfArrList<T> {
+
+    /**
+     * Индекс; {@code null}, пока не понадобился поиск
+     */
+    private HashIndex index;
+
+    /**
+     * Значение {@code modCount}, которому соответствует индекс
+     */
+    private int indexedModCount;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию
+     */
+    public IndexedPanfArrList() {
+        super();
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public IndexedPanfArrList(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Создает список, содержащий элементы переданной коллекции в порядке её итератора
+     */
+    public IndexedPanfArrList(Collection<? extends T> c) {
+        super(c);
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента по equals или -1. Выполняется за ожидаемое O(1), если индекс
+     * актуален, иначе сначала перестраивает его за O(n)
+     */
+    @Override
+    public int indexOf(Object o) {
+        return index().get(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Добавляет элемент в конец списка и, если индекс актуален, добавляет элемент в индекс
+     */
+    @Override
+    public boolean add(T t) {
+        boolean indexed = isIndexed();
+        super.add(t);
+        if (indexed) {
+            index.putIfAbsent(t, size() - 1);
+            indexedModCount = modCount;
+        }
+        return true;
+    }
+
+    /**
+     * Добавляет элементы в конец списка и, если индекс актуален, добавляет их в индекс
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        boolean indexed = isIndexed();
+        int from = size();
+        boolean changed = super.addAll(c);
+        if (indexed) {
+            for (int i = from; i < size(); i++) {
+                index.putIfAbsent(get(i), i);
+            }
+            indexedModCount = modCount;
+        }
+        return changed;
+    }
+
+    /**
+     * Заменяет элемент по индексу. Новое значение добавляется в индекс по месту; если заменённый элемент
+     * был первым вхождением своего значения, индекс помечается устаревшим, так как следующее вхождение
+     * можно найти только просмотром
+     */
+    @Override
+    public T set(int i, T element) {
+        T previous = super.set(i, element);
+        if (isIndexed()) {
+            if (index.get(previous) == i) {
+                index = null;
+            } else {
+                index.putMin(element, i);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Помечает индекс устаревшим и освобождает занятую им память. Он будет перестроен при следующем поиске
+     */
+    public void dropIndex() {
+        index = null;
+    }
+
+    private boolean isIndexed() {
+        return index != null && indexedModCount == modCount;
+    }
+
+    private HashIndex index() {
+        if (!isIndexed()) {
+            int n = size();
+            HashIndex rebuilt = new HashIndex(n);
+            for (int i = 0; i < n; i++) {
+                rebuilt.putIfAbsent(get(i), i);
+            }
+            index = rebuilt;
+            indexedModCount = modCount;
+        }
+        return index;
+    }
+}
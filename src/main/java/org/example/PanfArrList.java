@@ -1,38 +1,78 @@
 package org.example;
 
+import org.example.metrics.ListMetrics;
+import org.example.metrics.SortEvent;
+import org.example.sort.IntroSort;
+import org.example.sort.ParallelMergeSort;
+import org.example.sort.SortAlgorithm;
+import org.example.sort.TimSort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Реализация динамического массива для хранения и манипуляции данными (объектами).
  * <p>Содержит базовые методы {@code add}, {@code size}, {@code isEmpty}, {@code contains}, {@code remove},
  * {@code clear}, {@code get}, {@code set}, {@code indexOf}, {@code trimToSize}.
  * При инициализации объект данной коллекции представляет собой массив минимальной вместимости. В случае, если при добавлении
- * элементов требуется вместимость больше, она увеличивается автоматически. При удалении элементов, вместимость не уменьшается,
- * однако её можно уменьшить методом {@code trimToSize}.
+ * элементов требуется вместимость больше, она увеличивается автоматически согласно {@link GrowthPolicy} (по умолчанию
+ * в 1.5 раза). Если количество элементов известно заранее, вместимость можно выделить сразу конструктором или методом
+ * {@code ensureCapacity}. При удалении элементов вместимость по умолчанию не уменьшается, однако её можно уменьшить
+ * методом {@code trimToSize} или задать при создании списка {@link ShrinkPolicy}. Политика применяется только после
+ * удаления элементов ({@code remove}, {@code removeRange}, {@code removeIf} и их вариантов); {@code clear} и
+ * {@code trimToSize} её не используют: первый всегда сохраняет вместимость, второй всегда обрезает массив по размеру.
+ * <p>Список реализует {@link List} и {@link RandomAccess}, поэтому его можно передавать в код, работающий
+ * со стандартными коллекциями, обходить циклом for-each и превращать в поток ({@code stream()},
+ * {@code parallelStream()}) без копирования: {@link Spliterator} делит непосредственно внутренний массив.
+ * Итераторы и сплитераторы списка fail-fast: при структурном изменении списка в обход итератора следующая операция
+ * итератора выбросит {@link ConcurrentModificationException}. Метод {@code subList} возвращает представление
+ * части списка, изменения через которое отражаются в самом списке.
+ * <p>Если список изменяется в основном в начале или рядом с одной движущейся позицией, вместо него можно использовать
+ * {@link CircularPanfArrList} или {@link GapPanfArrList}. Они поддерживают политики вместимости, {@code clearTotal},
+ * {@code distinct} и сортировки, но не метрики, {@code query} и параллельные операции (см. {@link StorageMode}).
+ * <p>Поиск {@code indexOf} и {@code contains} линейный. Для упорядоченных данных есть {@link SortedPanfArrList} с
+ * двоичным поиском, а для частого поиска в неупорядоченных - {@link IndexedPanfArrList} с хеш-индексом.
+ * <p>Поведение списка в работе можно наблюдать, подключив {@link ListMetrics} методом {@code setMetrics}: счётчики
+ * доступны через JMX, а увеличения массива и сортировки дополнительно записываются событиями JFR.
+ * <p>Если список раздаётся многим читателям и защитное копирование обходится дорого, вместо него подходит
+ * неизменяемый {@link PersistentPanfArrList}: его версии разделяют структуру, а снимок стоит O(1).
+ * <p>Цепочки {@code filter}, {@code map}, {@code limit} и {@code sorted} без промежуточных списков выполняет
+ * ленивый запрос {@link Query}, возвращаемый методом {@code query()}.
+ * <p>Список можно сохранить в компактный двоичный файл и прочитать обратно потоково через
+ * {@link org.example.io.PanfArrListWriter} и {@link org.example.io.PanfArrListReader}. Текстовое представление
+ * выводится методом {@code appendTo} без промежуточной строки, а {@code toString(int)} ограничивает число элементов.
+ * Данные, не помещающиеся в куче, сортирует {@link org.example.io.ExternalSorter}.
+ * <p>Для больших списков есть параллельные варианты операций на {@link java.util.concurrent.ForkJoinPool}:
+ * {@code parallelSort}, {@code parallelForEach}, {@code parallelReplaceAll}, {@code parallelRemoveIf},
+ * {@code parallelIndexOf} и {@code parallelContains}.
  * <p><strong>Данная реализация не потокобезопасна</strong>, так что в случае использования её в многопоточной среде,
  * если планируется доступ к ней одновременно нескольких потоков для модификации, разработчику необходимо
- * дополнительно синхронизировать используемые методы.
+ * дополнительно синхронизировать используемые методы. Готовые потокобезопасные варианты -
+ * {@link org.example.concurrent.CopyOnWritePanfArrList} для данных, которые в основном читаются, и
+ * {@link org.example.concurrent.StampedPanfArrList} с оптимистичным чтением. Для одновременного добавления в конец из
+ * многих потоков предназначен {@link org.example.concurrent.AppendOnlyPanfArrList} без блокировок.
  *
  * @param <T> тип элемента, используемого в данной коллекции
  * @author Алексей Панфилов
  * @version 0.9
  */
 
-public class PanfArrList<T> {
+public class PanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
 
     /**
-     * Размер массива при создании списка, а также минимально возможный его размер после удаления элементов и выполнения {@code trimToSize}
+     * Размер массива при создании списка и при первом увеличении пустого массива, а также нижняя граница вместимости
+     * при уменьшении согласно {@link ShrinkPolicy}. На {@code trimToSize} граница не распространяется
      */
     private static final int DEFAULT_CAPACITY = 10;
 
-    /**
-     * Данная переменная используется внутри класса для изменения вместимости при превышении размера текущего массива
-     */
-    private int currentCapacity = DEFAULT_CAPACITY;
-
     /**
      * Массив, используемый для хранения элементов коллекции. Вместимость данного списка это размер
-     * массива {@code listOfObjects}. При необходимости его размер увеличивается автоматически
+     * массива {@code listOfObjects}. При необходимости его размер увеличивается автоматически согласно {@code growthPolicy}
      */
     private Object[] listOfobjects;
 
@@ -47,34 +87,79 @@ public class PanfArrList<T> {
      */
     private int size = 0;
 
+    /**
+     * Политика увеличения вместимости, используемая при нехватке места во внутреннем массиве
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Политика уменьшения вместимости, применяемая после удаления элементов
+     */
+    private final ShrinkPolicy shrinkPolicy;
+
+    /**
+     * Метрики горячих путей; {@code null}, если учёт не включён
+     */
+    private ListMetrics metrics;
+
     /**
      * Создает пустой список с вместимостью по умолчанию == {@code DEFAULT_CAPACITY}
      */
     public PanfArrList() {
-        this.listOfobjects = (T[]) new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY);
     }
 
     /**
-     * Создает пустой список с заданной вместимостью. При этом вместимость не может быть меньше {@code DEFAULT_CAPACITY}
+     * Создает пустой список с заданной вместимостью. Удобно, если количество элементов известно заранее:
+     * тогда при заполнении списка внутренний массив ни разу не будет перевыделен
      */
     public PanfArrList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT, ShrinkPolicy.never());
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     */
+    public PanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        this(capacity, growthPolicy, ShrinkPolicy.never());
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью, политикой её увеличения и политикой уменьшения после удаления элементов
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     * @throws NullPointerException     если одна из политик не задана
+     */
+    public PanfArrList(int capacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy) {
         if (capacity > 0) {
             this.listOfobjects = (T[]) new Object[capacity];
-            this.currentCapacity = capacity;
         } else if (capacity < 0) {
             throw new IllegalArgumentException("Illegal capacity " + capacity);
         } else {
             this.listOfobjects = EMPTY_LIST;
         }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+        this.shrinkPolicy = Objects.requireNonNull(shrinkPolicy, "shrinkPolicy");
+    }
+
+    /**
+     * Создает список, содержащий элементы переданной коллекции в порядке её итератора
+     */
+    public PanfArrList(Collection<? extends T> c) {
+        this(c.size());
+        addAll(c);
     }
 
 
     /**
-     * Добавляет элемент в конец списка. Тип элемента должен соответствовать типу списка, указанному при его создании
+     * Добавляет элемент в конец списка. Тип элемента должен соответствовать типу списка, указанному при его создании.
+     * Выполняется за амортизированное O(1) при геометрической политике роста
      */
+    @Override
     public boolean add(T t) {
-        if (size >= currentCapacity) {
-            this.grow();
+        modCount++;
+        if (size == listOfobjects.length) {
+            this.grow(size + 1);
         }
         listOfobjects[size] = t;
         size++;
@@ -82,15 +167,129 @@ public class PanfArrList<T> {
     }
 
     /**
-     * Метод для внутреннего использования библиотекой. Увеличивает вместимость списка на 10 при достижении текущего предела
+     * Добавляет все элементы переданной коллекции в конец списка. Вместимость увеличивается не более одного раза,
+     * сразу на количество добавляемых элементов
+     *
+     * @return true, если список изменился
      */
-    private Object[] grow() {
-        return listOfobjects = Arrays.copyOf(listOfobjects, currentCapacity = this.size + 10);
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        Object[] elements = c.toArray();
+        modCount++;
+        if (elements.length == 0) {
+            return false;
+        }
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, listOfobjects, size, elements.length);
+        size += elements.length;
+        return true;
+    }
+
+    /**
+     * Возвращает новый список из различных по {@code equals} элементов в порядке их первого вхождения.
+     * Повторы отсеиваются хеш-таблицей с открытой адресацией, поэтому операция выполняется за ожидаемое O(n)
+     */
+    public PanfArrList<T> distinct() {
+        HashIndex seen = new HashIndex(size);
+        PanfArrList<T> result = new PanfArrList<>(size, growthPolicy, shrinkPolicy);
+        for (int i = 0; i < size; i++) {
+            if (seen.putIfAbsent(listOfobjects[i], i)) {
+                result.listOfobjects[result.size++] = listOfobjects[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает ленивый запрос к элементам списка. Операции запроса ({@code filter}, {@code map}, {@code limit},
+     * {@code sorted}, {@code topK}) только описывают обработку; она выполняется одним проходом по внутреннему массиву
+     * при вызове завершающей операции, без промежуточных списков (см. {@link Query}). Список не должен структурно
+     * изменяться во время выполнения запроса
+     */
+    public Query<T> query() {
+        return new Query<>(this);
+    }
+
+    /**
+     * Возвращает внутренний массив для чтения без копирования в классах пакета
+     */
+    Object[] elementData() {
+        return listOfobjects;
+    }
+
+    /**
+     * Возвращает счётчик структурных изменений для проверки одновременной модификации в классах пакета
+     */
+    int modificationCount() {
+        return modCount;
+    }
+
+    /**
+     * Включает учёт событий горячих путей (увеличение и уменьшение массива, сдвиги, сортировки, очистки) в переданные
+     * метрики или выключает его, если передан {@code null}. Один экземпляр метрик можно подключить к нескольким
+     * спискам. Пока учёт выключен, его стоимость - одна проверка поля на {@code null}
+     */
+    public void setMetrics(ListMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Возвращает подключённые метрики или {@code null}, если учёт выключен
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Увеличивает вместимость списка, если это необходимо, так чтобы он мог вместить не менее {@code minCapacity}
+     * элементов без перевыделения внутреннего массива. Используется для предварительного выделения памяти перед
+     * добавлением большого количества элементов
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > listOfobjects.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Метод для внутреннего использования библиотекой. Увеличивает вместимость списка согласно {@code growthPolicy}
+     * так, чтобы в нем поместилось не менее {@code minCapacity} элементов. Пустой массив сразу увеличивается
+     * до {@code DEFAULT_CAPACITY}
+     */
+    private Object[] grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = listOfobjects.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity);
+        listOfobjects = Arrays.copyOf(listOfobjects, newCapacity);
+        if (metrics != null) {
+            metrics.recordGrow(oldCapacity, newCapacity);
+        }
+        return listOfobjects;
+    }
+
+    /**
+     * Метод для внутреннего использования библиотекой. Уменьшает вместимость списка после удаления элементов, если
+     * этого требует {@code shrinkPolicy}. Вместимость не опускается ниже размера списка и {@code DEFAULT_CAPACITY}
+     */
+    private void shrinkIfNeeded() {
+        int oldCapacity = listOfobjects.length;
+        int newCapacity = Math.max(shrinkPolicy.shrink(oldCapacity, size), Math.max(size, DEFAULT_CAPACITY));
+        if (newCapacity < oldCapacity) {
+            listOfobjects = Arrays.copyOf(listOfobjects, newCapacity);
+            if (metrics != null) {
+                metrics.recordShrink(oldCapacity, newCapacity);
+            }
+        }
     }
 
     /**
      * Возвращает размер списка, т.е количество хранящихся в нем элементов в текущий момент
      */
+    @Override
     public int size() {
         return size;
     }
@@ -98,57 +297,63 @@ public class PanfArrList<T> {
     /**
      * Возвращает состояние списка: пустой или нет (т.е. не содержит ни одного элемента)
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
 
     /**
      * Метод, позволяющий проверить, содержится ли в списке указанный в параметрах элемент (т.е. встречается в
-     * нем хотя бы 1 раз). Возвращает true при первом же совпадении.
+     * нем хотя бы 1 раз). Возвращает true при первом же совпадении. Допускает поиск {@code null}
      */
+    @Override
     public boolean contains(Object o) {
-        for (Object obj : listOfobjects) {
-            if (o.equals(obj)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(o) >= 0;
     }
 
     /**
      * Удаляет объект из списка по equals. Если объект не найден - операция не выполняется, возвращает false.
      * Работает в комбинации с методом {@code indexOf}, находя индекс элемента и вызывая метод {@code remove(index)}
      */
+    @Override
     public boolean remove(Object o) {
-        if (indexOf(o) >= 0) {
-            remove(indexOf(o));
-            return true;
-        } else {
+        int index = indexOf(o);
+        if (index < 0) {
             return false;
         }
+        remove(index);
+        return true;
     }
 
     /**
-     * Удаляет все элементы из списка. При этом вместимость списка не уменьшается.
+     * Удаляет все элементы из списка. При этом вместимость списка не уменьшается, даже если задана {@link ShrinkPolicy}.
      */
+    @Override
     public void clear() {
+        modCount++;
         for (int i = 0; i < size; i++) {
             listOfobjects[i] = null;
         }
         size = 0;
+        if (metrics != null) {
+            metrics.recordClear(listOfobjects.length);
+        }
     }
 
     /**
      * Полностью удаляет список и возвращает пустую коллекцию
      */
     public void clearTotal() {
+        modCount++;
         listOfobjects = EMPTY_LIST;
+        size = 0;
     }
 
     /**
      * Возвращает элемент из списка, находя его в массиве по индексу. Если передано некорректное значение индекса,
      * может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException
      */
+    @Override
     public T get(int index) {
         if (index >= this.size) {
             throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
@@ -160,8 +365,9 @@ public class PanfArrList<T> {
      * Меняет значение элемента, находящееся по переданному индексу. Возвращает значение оригинального элемента (до изменения).
      * Может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException при некорректном индексе
      */
+    @Override
     public T set(int index, T element) {
-        if (index > this.size) {
+        if (index >= this.size) {
             throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
         }
         T previousElement = (T) listOfobjects[index];
@@ -170,19 +376,23 @@ public class PanfArrList<T> {
     }
 
     /**
-     * Добавляет элемент в список по индексу, при этом сдвигая остальные элементы вправо. Может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException при некорректном индексе
+     * Добавляет элемент в список по индексу, при этом сдвигая остальные элементы вправо одним копированием
+     * {@link System#arraycopy}. Может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException при некорректном индексе
      */
+    @Override
     public void add(int index, T element) {
         if (index > this.size) {
             throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
         } else if (index == size) {
             this.add(element);
         } else {
-            for (int i = this.size; i > index; i--) {
-                if (this.size >= this.currentCapacity) {
-                    this.grow();
-                }
-                listOfobjects[i] = listOfobjects[i - 1];
+            modCount++;
+            if (this.size == listOfobjects.length) {
+                this.grow(size + 1);
+            }
+            System.arraycopy(listOfobjects, index, listOfobjects, index + 1, size - index);
+            if (metrics != null) {
+                metrics.recordShift(size - index);
             }
             listOfobjects[index] = element;
             size++;
@@ -190,95 +400,657 @@ public class PanfArrList<T> {
     }
 
     /**
-     * Удаляет элемент по индексу. При этом остальные элементы сдвигаются влево, если удаляется не последний элемент. Может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException при некорректном индексе
+     * Вставляет все элементы коллекции в список начиная с позиции {@code index}, сохраняя их порядок. Последующие
+     * элементы сдвигаются вправо один раз на количество вставляемых элементов; вместимость увеличивается не более
+     * одного раза
+     *
+     * @return true, если список изменился
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
      */
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+        Object[] elements = c.toArray();
+        modCount++;
+        int count = elements.length;
+        if (count == 0) {
+            return false;
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(listOfobjects, index, listOfobjects, index + count, size - index);
+        System.arraycopy(elements, 0, listOfobjects, index, count);
+        if (metrics != null) {
+            metrics.recordShift(size - index);
+        }
+        size += count;
+        return true;
+    }
+
+    /**
+     * Удаляет элемент по индексу. При этом остальные элементы сдвигаются влево одним копированием
+     * {@link System#arraycopy}, если удаляется не последний элемент. После удаления вместимость может быть
+     * уменьшена согласно {@code shrinkPolicy}. Может выкинуть IndexOutOfBoundsException или ArrayIndexOutOfDoundsException при некорректном индексе
+     */
+    @Override
     public T remove(int index) {
         T valueToRemove = this.get(index);
-        listOfobjects[index] = null;
-        if (index < size - 1) {
-            for (int i = index; i < this.size - 2; i++) {
-                listOfobjects[i] = listOfobjects[i + 1];
+        modCount++;
+        int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(listOfobjects, index + 1, listOfobjects, index, tail);
+            if (metrics != null) {
+                metrics.recordShift(tail);
             }
-            listOfobjects[size - 1] = null;
         }
-        size--;
+        listOfobjects[--size] = null;
+        shrinkIfNeeded();
         return valueToRemove;
     }
 
     /**
-     * Возвращает индекс элемента по equals содержимого ячейки. В случае если такой объект в списке отсутствует, возвращает -1
+     * Удаляет элементы с индексами из диапазона {@code [fromIndex, toIndex)}, сдвигая хвост списка одним
+     * копированием. Используется также представлениями {@code subList} для {@code clear()}
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы списка
+     */
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") is out of bounds for size " + size);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        modCount++;
+        System.arraycopy(listOfobjects, toIndex, listOfobjects, fromIndex, size - toIndex);
+        if (metrics != null) {
+            metrics.recordShift(size - toIndex);
+        }
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(listOfobjects, newSize, size, null);
+        size = newSize;
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Удаляет из списка все элементы, содержащиеся в переданной коллекции. Выполняется за один проход
+     * с уплотнением массива; для быстрой работы коллекция должна иметь быстрый {@code contains} (например, {@link HashSet})
+     *
+     * @return true, если список изменился
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    /**
+     * Оставляет в списке только элементы, содержащиеся в переданной коллекции. Выполняется за один проход
+     * с уплотнением массива
+     *
+     * @return true, если список изменился
      */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход: оставшиеся элементы сдвигаются к началу
+     * массива с сохранением порядка, каждый не более одного раза
+     *
+     * @return true, если был удалён хотя бы один элемент
+     * @throws ConcurrentModificationException если условие структурно изменило список
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        int expectedModCount = modCount;
+        Object[] elements = listOfobjects;
+        int end = size;
+        int first = 0;
+        while (first < end && !filter.test((T) elements[first])) {
+            first++;
+        }
+        if (first == end) {
+            checkForComodification(expectedModCount);
+            return false;
+        }
+        int newSize = first;
+        int i = first + 1;
+        try {
+            for (; i < end; i++) {
+                T e = (T) elements[i];
+                if (!filter.test(e)) {
+                    elements[newSize++] = e;
+                }
+            }
+        } finally {
+            // Если условие выбросило исключение, непроверенный хвост сохраняется, и список остаётся целостным
+            System.arraycopy(elements, i, elements, newSize, end - i);
+            newSize += end - i;
+            modCount++;
+            Arrays.fill(elements, newSize, end, null);
+            size = newSize;
+        }
+        checkForComodification(expectedModCount + 1);
+        shrinkIfNeeded();
+        return true;
+    }
+
+    /**
+     * Возвращает индекс элемента по equals содержимого ячейки. В случае если такой объект в списке отсутствует, возвращает -1.
+     * Допускает поиск {@code null}
+     */
+    @Override
     public int indexOf(Object o) {
-        for (int i = 0; i < this.size; i++) {
-            if (listOfobjects[i].equals(o)) {
-                return i;
+        Object[] elements = listOfobjects;
+        if (o == null) {
+            for (int i = 0; i < this.size; i++) {
+                if (elements[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                if (o.equals(elements[i])) {
+                    return i;
+                }
             }
         }
         return -1;
     }
 
     /**
-     * Обрезает массив дня хранения элементов по размеру списка (количеству содержащихся в нем элементов).
-     * При этом минимальный размер внутреннего массива не может быть меньше {@code DEFAULT_CAPACITY}
+     * Возвращает индекс последнего вхождения элемента по equals или -1, если элемент в списке отсутствует
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        Object[] elements = listOfobjects;
+        if (o == null) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (elements[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                if (o.equals(elements[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Обрезает массив для хранения элементов точно по размеру списка (количеству содержащихся в нем элементов),
+     * а у пустого списка освобождает его полностью. {@link ShrinkPolicy} списка и {@code DEFAULT_CAPACITY} при этом
+     * не учитываются
      */
     public void trimToSize() {
+        modCount++;
         if (listOfobjects.length > this.size && this.size > 0) {
+            if (metrics != null) {
+                metrics.recordShrink(listOfobjects.length, this.size);
+            }
             listOfobjects = Arrays.copyOf(listOfobjects, this.size);
         } else if (this.size == 0) {
             listOfobjects = EMPTY_LIST;
         }
     }
 
-    /**Метод сортировки коллекции для внешнего вызова. Вызывает в себе внутренний метод сортировки, который при
-     * необходимости может быть изменен без изменения сигнатуры вызываемого из вне метода*/
+    /**
+     * Сортирует список по естественному порядку элементов ({@link Comparable}). Использует нестабильную гибридную
+     * сортировку {@link IntroSort}: время работы O(n log n) в худшем случае, в том числе на отсортированном, обратном
+     * и содержащем много повторов входе. Пустой список и список из одного элемента не изменяются.
+     *
+     * @throws ClassCastException если элементы списка не реализуют {@link Comparable}
+     */
     public void sort() {
-        quickSort((T[]) listOfobjects, 0, this.size - 1);
+        sort(null, SortAlgorithm.INTROSORT);
     }
 
     /**
-     * Внутренний метод сортировки коллекции. Использует алгоритм быстрой сортировки. Недоступен для вызова из вне.
+     * Стабильно сортирует список в порядке, заданном компаратором: равные элементы сохраняют взаимный порядок.
+     * Использует {@link TimSort}, который особенно быстр на частично упорядоченном входе.
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
      */
-    private void quickSort(T[] source, int leftBorder, int rightBorder) {
-        int leftMarker = leftBorder;
-        int rightMarker = rightBorder;
-        T pivot = (T) listOfobjects[(leftMarker + rightMarker) / 2];
-        do {
-            while (((Comparable)listOfobjects[leftMarker]).compareTo(pivot) < 0) {
-                leftMarker++;
+    @Override
+    public void sort(Comparator<? super T> c) {
+        sort(c, SortAlgorithm.TIMSORT);
+    }
+
+    /**
+     * Сортирует список в порядке, заданном компаратором, указанным алгоритмом.
+     *
+     * @param c         компаратор; если {@code null}, используется естественный порядок элементов
+     * @param algorithm алгоритм сортировки
+     */
+    public void sort(Comparator<? super T> c, SortAlgorithm algorithm) {
+        int expectedModCount = modCount;
+        SortEvent event = metrics != null ? metrics.beginSort() : null;
+        algorithm.sort(listOfobjects, 0, size, c != null ? c : naturalOrder());
+        if (event != null) {
+            metrics.recordSort(event, size, algorithm.name());
+        }
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    /**
+     * Стабильно сортирует список параллельно на {@link java.util.concurrent.ForkJoinPool} (см. {@link ParallelMergeSort}).
+     * Имеет смысл для списков от нескольких десятков тысяч элементов; короткие списки сортируются последовательно.
+     * Компаратор должен допускать вызов из нескольких потоков.
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    public void parallelSort(Comparator<? super T> c) {
+        int expectedModCount = modCount;
+        SortEvent event = metrics != null ? metrics.beginSort() : null;
+        ParallelMergeSort.sort(listOfobjects, 0, size, c != null ? c : naturalOrder());
+        if (event != null) {
+            metrics.recordSort(event, size, "PARALLEL_MERGESORT");
+        }
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка параллельно. Порядок обработки элементов не определён,
+     * действие должно допускать вызов из нескольких потоков. Список не должен изменяться во время выполнения
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelForEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        Object[] elements = listOfobjects;
+        ParallelOps.forRange(0, size, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                action.accept((T) elements[i]);
+            }
+        });
+    }
+
+    /**
+     * Заменяет каждый элемент списка результатом применения функции к нему. Функция применяется параллельно,
+     * в неопределённом порядке
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelReplaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        int expectedModCount = modCount;
+        Object[] elements = listOfobjects;
+        ParallelOps.forRange(0, size, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                elements[i] = operator.apply((T) elements[i]);
+            }
+        });
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию. Условие проверяется параллельно, после чего оставшиеся элементы
+     * сдвигаются за один последовательный проход с сохранением порядка
+     *
+     * @return true, если был удалён хотя бы один элемент
+     */
+    @SuppressWarnings("unchecked")
+    public boolean parallelRemoveIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        Object[] elements = listOfobjects;
+        long[] removed = new long[(size + 63) >>> 6];
+        ParallelOps.forRange(0, size, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                if (filter.test((T) elements[i])) {
+                    removed[i >>> 6] |= 1L << i;
+                }
             }
-            // Двигаем правый маркер, пока элемент больше, чем pivot
-            while (((Comparable)listOfobjects[rightMarker]).compareTo(pivot) > 0) {
-                rightMarker--;
+        });
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if ((removed[i >>> 6] & (1L << i)) == 0) {
+                elements[newSize++] = elements[i];
+            }
+        }
+        if (newSize == size) {
+            return false;
+        }
+        modCount++;
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        shrinkIfNeeded();
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента (по equals) или -1, если элемент отсутствует. Список
+     * просматривается параллельно; фрагменты правее уже найденного вхождения пропускаются
+     */
+    public int parallelIndexOf(Object o) {
+        Object[] elements = listOfobjects;
+        AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+        ParallelOps.forRange(0, size, (lo, hi) -> {
+            if (lo >= found.get()) {
+                return;
             }
-            if (leftMarker <= rightMarker) {
-                if (leftMarker < rightMarker) {
-                    T tmp = (T) listOfobjects[leftMarker];
-                    listOfobjects[leftMarker] = listOfobjects[rightMarker];
-                    listOfobjects[rightMarker] = tmp;
+            for (int i = lo; i < hi; i++) {
+                if (o == null ? elements[i] == null : o.equals(elements[i])) {
+                    found.accumulateAndGet(i, Math::min);
+                    return;
                 }
-                leftMarker++;
-                rightMarker--;
             }
-        } while (leftMarker <= rightMarker);
-        if (leftMarker < rightBorder) {
-            quickSort(source, leftMarker, rightBorder);
+        });
+        return found.get() == Integer.MAX_VALUE ? -1 : found.get();
+    }
+
+    /**
+     * Проверяет, содержится ли элемент в списке, просматривая его параллельно
+     */
+    public boolean parallelContains(Object o) {
+        return parallelIndexOf(o) >= 0;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка по порядку
+     *
+     * @throws ConcurrentModificationException если список структурно изменён во время обхода
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        Object[] elements = listOfobjects;
+        int size = this.size;
+        for (int i = 0; modCount == expectedModCount && i < size; i++) {
+            action.accept((T) elements[i]);
         }
-        if (leftBorder < rightMarker) {
-            quickSort(source, leftBorder, rightMarker);
+        checkForComodification(expectedModCount);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка по порядку
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(listOfobjects, size);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка по порядку. Если переданный массив достаточно велик, элементы
+     * записываются в него, иначе создается новый массив того же типа
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> E[] toArray(E[] a) {
+        if (a.length < size) {
+            return (E[]) Arrays.copyOf(listOfobjects, size, a.getClass());
         }
+        System.arraycopy(listOfobjects, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
     }
 
+    /**
+     * Возвращает итератор по элементам списка. Итератор не копирует данные и поддерживает {@code remove}.
+     * Итератор fail-fast: если список структурно изменён не через этот итератор, он выбросит
+     * {@link ConcurrentModificationException}
+     */
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (Object o : listOfobjects) {
-            if (o != null) {
-                sb.append(o).append(", ");
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Возвращает {@link Spliterator} по элементам списка с характеристиками {@link Spliterator#ORDERED},
+     * {@link Spliterator#SIZED} и {@link Spliterator#SUBSIZED}. Сплитератор делит диапазон внутреннего массива
+     * пополам без копирования, поэтому {@code parallelStream()} распределяется по потокам равномерно. Сплитератор
+     * позднего связывания: границы фиксируются при первом обходе, разделении или запросе размера
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+     * Метод для внутреннего использования. Выбрасывает {@link ConcurrentModificationException}, если список
+     * структурно изменился с момента, когда {@code modCount} был равен {@code expectedModCount}
+     */
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Fail-fast итератор по внутреннему массиву списка
+     */
+    private class Itr implements Iterator<T> {
+
+        /**
+         * Индекс следующего возвращаемого элемента
+         */
+        private int cursor;
+
+        /**
+         * Индекс последнего возвращённого элемента или -1, если его нет или он удалён
+         */
+        private int lastReturned = -1;
+
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor != size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            checkForComodification(expectedModCount);
+            int i = cursor;
+            if (i >= size) {
+                throw new NoSuchElementException();
+            }
+            Object[] elements = listOfobjects;
+            if (i >= elements.length) {
+                throw new ConcurrentModificationException();
+            }
+            cursor = i + 1;
+            return (T) elements[lastReturned = i];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification(expectedModCount);
+            PanfArrList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int size = PanfArrList.this.size;
+            int i = cursor;
+            if (i < size) {
+                Object[] elements = listOfobjects;
+                if (i >= elements.length) {
+                    throw new ConcurrentModificationException();
+                }
+                for (; i < size && modCount == expectedModCount; i++) {
+                    action.accept((T) elements[i]);
+                }
+                cursor = i;
+                lastReturned = i - 1;
+                checkForComodification(expectedModCount);
+            }
+        }
+    }
+
+    /**
+     * Сплитератор по диапазону внутреннего массива списка
+     */
+    private final class ArraySpliterator implements Spliterator<T> {
+
+        /**
+         * Текущий индекс, увеличивается при обходе и разделении
+         */
+        private int index;
+
+        /**
+         * Индекс конца диапазона (не включительно) или -1 до первого использования
+         */
+        private int fence;
+
+        private int expectedModCount;
+
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Фиксирует границу диапазона и ожидаемый {@code modCount} при первом использовании
+         */
+        private int getFence() {
+            int hi = fence;
+            if (hi < 0) {
+                expectedModCount = modCount;
+                hi = fence = size;
+            }
+            return hi;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return lo >= mid ? null : new ArraySpliterator(lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            int i = index;
+            if (i < hi) {
+                index = i + 1;
+                action.accept((T) listOfobjects[i]);
+                checkForComodification(expectedModCount);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            Object[] elements = listOfobjects;
+            if (hi > elements.length) {
+                throw new ConcurrentModificationException();
             }
+            for (int i = index; i < hi; i++) {
+                action.accept((T) elements[i]);
+            }
+            index = hi;
+            checkForComodification(expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Компаратор естественного порядка для элементов, реализующих {@link Comparable}
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<T> naturalOrder() {
+        return (Comparator<T>) Comparator.naturalOrder();
+    }
+
+    /**
+     * Возвращает строковое представление списка в формате {@link AbstractCollection#toString()}: элементы
+     * в квадратных скобках через запятую, {@code null} выводится как "null"
+     */
+    @Override
+    public String toString() {
+        return toString(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Возвращает строковое представление не более чем {@code maxElements} первых элементов; остальные
+     * обозначаются их количеством, например {@code [1, 2, ... (98 more)]}
+     *
+     * @throws IllegalArgumentException если {@code maxElements} отрицательно
+     */
+    public String toString(int maxElements) {
+        StringBuilder sb = new StringBuilder((int) Math.min(2 + 8L * Math.min(size, Math.max(maxElements, 0)), 1 << 20));
+        try {
+            appendTo(sb, maxElements);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        String s = sb.toString().replaceAll(", $", "");
-        sb = new StringBuilder(s).append("]");
         return sb.toString();
     }
+
+    /**
+     * Дописывает строковое представление списка в {@code out}, не создавая промежуточную строку всего списка
+     *
+     * @throws IOException если запись в {@code out} завершилась ошибкой
+     */
+    public void appendTo(Appendable out) throws IOException {
+        appendTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Дописывает в {@code out} строковое представление не более чем {@code maxElements} первых элементов
+     *
+     * @throws IllegalArgumentException если {@code maxElements} отрицательно
+     * @throws IOException              если запись в {@code out} завершилась ошибкой
+     */
+    public void appendTo(Appendable out, int maxElements) throws IOException {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("Negative maxElements " + maxElements);
+        }
+        Object[] elements = listOfobjects;
+        int shown = Math.min(size, maxElements);
+        out.append('[');
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            Object o = elements[i];
+            out.append(o == this ? "(this Collection)" : String.valueOf(o));
+        }
+        if (shown < size) {
+            out.append(shown > 0 ? ", ... (" : "... (").append(String.valueOf(size - shown)).append(" more)");
+        }
+        out.append(']');
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Класс для внутреннего использования библиотекой. Выполняет обработку диапазона индексов параллельно на
+ * {@link ForkJoinPool}: диапазон рекурсивно делится пополам, пока фрагмент не станет меньше порога, после чего
+ * фрагменты обрабатываются независимыми задачами.
+ * <p>Задачи выполняются в пуле, из которого сделан вызов, или в общем пуле.
+ */
+final class ParallelOps {
+
+    /**
+     * Минимальный размер фрагмента, обрабатываемого одной задачей
+     */
+    static final int MIN_GRANULARITY = 1 << 12;
+
+    private ParallelOps() {
+    }
+
+    /**
+     * Обработчик фрагмента диапазона индексов {@code [lo, hi)}
+     */
+    @FunctionalInterface
+    interface RangeBody {
+        void apply(int lo, int hi);
+    }
+
+    /**
+     * Возвращает количество потоков пула, в котором будут выполнены задачи
+     */
+    static int parallelism() {
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * Обрабатывает диапазон {@code [from, to)} параллельно. Границы фрагментов (кроме крайних) кратны 64, поэтому
+     * разные задачи не пишут в одно слово битовой маски, построенной по индексам. Исключение, выброшенное
+     * обработчиком, пробрасывается в вызывающий поток
+     */
+    static void forRange(int from, int to, RangeBody body) {
+        int parallelism = parallelism();
+        int granularity = Math.max(MIN_GRANULARITY, (to - from) / (parallelism << 2));
+        if (to - from <= granularity || parallelism <= 1) {
+            body.apply(from, to);
+        } else {
+            new RangeTask(from, to, granularity, body).invoke();
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int granularity;
+        private final RangeBody body;
+
+        RangeTask(int lo, int hi, int granularity, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.granularity = granularity;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= granularity) {
+                body.apply(lo, hi);
+                return;
+            }
+            int mid = (lo + (hi - lo) / 2) & ~63;
+            if (mid <= lo) {
+                mid = (lo + hi) >>> 1;
+            }
+            invokeAll(new RangeTask(lo, mid, granularity, body), new RangeTask(mid, hi, granularity, body));
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Неизменяемый (персистентный) список со структурным разделением - 32-ичное префиксное дерево с буфером хвоста,
+ * как векторы Clojure и Scala. Предназначен для передачи списка многим читателям без защитного копирования: каждую
+ * версию можно свободно разделять между потоками, она никогда не изменится.
+ * <p>Методы {@link #append(Object)}, {@link #update(int, Object)} и {@link #pop()} не изменяют список, а возвращают
+ * новую версию, которая разделяет с исходной все узлы дерева, кроме пути от корня к изменённому листу. Поэтому
+ * изменение копирует O(log<sub>32</sub> n) массивов по 32 ссылки, а доступ по индексу проходит не более 7 уровней
+ * (для {@code Integer.MAX_VALUE} элементов). Последние до 32 элементов хранятся в буфере хвоста вне дерева, так что
+ * добавление в конец и чтение последних элементов в большинстве случаев вообще не спускаются по дереву.
+ * <p>Для построения списка из многих элементов предназначен {@link Builder}: он изменяет принадлежащие ему узлы на
+ * месте, не копируя их на каждом шаге. {@link Builder#build()} возвращает снимок за O(1), после чего построитель
+ * можно продолжать использовать - узлы, вошедшие в снимок, копируются при первом изменении.
+ * <p>Изменяющие методы {@link List} ({@code add}, {@code set}, {@code remove}, {@code clear} и т.д.) выбрасывают
+ * {@link UnsupportedOperationException}. Элементы {@code null} допускаются.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class PersistentPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+    private static final PersistentPanfArrList<?> EMPTY =
+            new PersistentPanfArrList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+
+    /**
+     * Сдвиг индекса для выбора ветви в корне: {@code BITS} на каждый уровень дерева над листьями
+     */
+    private final int shift;
+
+    private final Node root;
+
+    /**
+     * Последние {@code size - tailOffset()} элементов; массив ровно этой длины
+     */
+    private final Object[] tail;
+
+    /**
+     * Узел дерева. {@code edit} - метка построителя, которому принадлежит узел; только он может изменять узел на месте
+     */
+    private static final class Node {
+
+        final Object edit;
+
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    private PersistentPanfArrList(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Возвращает пустой список
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentPanfArrList<T> empty() {
+        return (PersistentPanfArrList<T>) EMPTY;
+    }
+
+    /**
+     * Возвращает список из переданных элементов
+     */
+    @SafeVarargs
+    public static <T> PersistentPanfArrList<T> of(T... elements) {
+        Builder<T> builder = builder();
+        for (T element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Возвращает список, содержащий элементы переданной коллекции в порядке её итератора. Если передан
+     * {@code PersistentPanfArrList}, он возвращается без копирования
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentPanfArrList<T> copyOf(Collection<? extends T> c) {
+        if (c instanceof PersistentPanfArrList) {
+            return (PersistentPanfArrList<T>) c;
+        }
+        Builder<T> builder = builder();
+        c.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Возвращает построитель пустого списка
+     */
+    public static <T> Builder<T> builder() {
+        return PersistentPanfArrList.<T>empty().toBuilder();
+    }
+
+    /**
+     * Возвращает построитель, начинающий с элементов данного списка. Сам список при этом не изменяется
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает элемент по индексу за O(log<sub>32</sub> n)
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Возвращает новую версию списка с элементом, добавленным в конец
+     */
+    public PersistentPanfArrList<T> append(T element) {
+        int tailSize = size - tailOffset();
+        if (tailSize < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tailSize + 1);
+            newTail[tailSize] = element;
+            return new PersistentPanfArrList<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // Дерево заполнено: над корнем появляется новый уровень
+            Object[] array = new Object[WIDTH];
+            array[0] = root;
+            array[1] = newPath(null, shift, tailNode);
+            newRoot = new Node(null, array);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tailNode);
+        }
+        return new PersistentPanfArrList<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Возвращает новую версию списка со всеми элементами {@code elements}, добавленными в конец
+     */
+    public PersistentPanfArrList<T> appendAll(Iterable<? extends T> elements) {
+        Builder<T> builder = toBuilder();
+        elements.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Возвращает новую версию списка, в которой элемент по индексу заменён
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public PersistentPanfArrList<T> update(int index, T element) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentPanfArrList<>(size, shift, root, newTail);
+        }
+        return new PersistentPanfArrList<>(size, shift, updatePath(shift, root, index, element), tail);
+    }
+
+    /**
+     * Возвращает новую версию списка без последнего элемента
+     *
+     * @throws NoSuchElementException если список пуст
+     */
+    public PersistentPanfArrList<T> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentPanfArrList<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        // Хвост из одного элемента: новым хвостом становится последний лист дерева
+        Object[] newTail = leafFor(size - 2);
+        Node newRoot = popTail(size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentPanfArrList<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int base = 0; base < size; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            int n = Math.min(WIDTH, size - base);
+            for (int i = 0; i < n; i++) {
+                if (Objects.equals(o, leaf[i])) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Обходит элементы по листьям, спускаясь по дереву один раз на каждые 32 элемента
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (int base = 0; base < size; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            int n = Math.min(WIDTH, size - base);
+            for (int i = 0; i < n; i++) {
+                action.accept((T) leaf[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(index);
+                }
+                return (T) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int base = 0; base < size; base += WIDTH) {
+            System.arraycopy(leafFor(base), 0, result, base, Math.min(WIDTH, size - base));
+        }
+        return result;
+    }
+
+    /**
+     * Индекс первого элемента хвоста
+     */
+    private int tailOffset() {
+        return tailOffset(size);
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Возвращает лист (или хвост), содержащий элемент с индексом {@code index}
+     */
+    private Object[] leafFor(int index) {
+        return index >= tailOffset() ? tail : leafFor(root, shift, index);
+    }
+
+    private static Object[] leafFor(Node root, int shift, int index) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Строит цепочку узлов высотой {@code level} над узлом {@code node}
+     */
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] array = new Object[WIDTH];
+        array[0] = newPath(edit, level - BITS, node);
+        return new Node(edit, array);
+    }
+
+    /**
+     * Возвращает копию пути от {@code parent} до места, куда помещается полный хвост списка размера {@code size}
+     */
+    private static Node pushTail(int size, int level, Node parent, Node tailNode) {
+        int index = ((size - 1) >>> level) & MASK;
+        Object[] array = parent.array.clone();
+        if (level == BITS) {
+            array[index] = tailNode;
+        } else {
+            Node child = (Node) array[index];
+            array[index] = child != null
+                    ? pushTail(size, level - BITS, child, tailNode)
+                    : newPath(null, level - BITS, tailNode);
+        }
+        return new Node(null, array);
+    }
+
+    private static Node updatePath(int level, Node node, int index, Object element) {
+        Object[] array = node.array.clone();
+        if (level == 0) {
+            array[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            array[child] = updatePath(level - BITS, (Node) array[child], index, element);
+        }
+        return new Node(null, array);
+    }
+
+    /**
+     * Возвращает копию пути без последнего листа дерева списка размера {@code size} или {@code null}, если узел
+     * становится пустым
+     */
+    private static Node popTail(int size, int level, Node node) {
+        int index = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(size, level - BITS, (Node) node.array[index]);
+            if (child == null && index == 0) {
+                return null;
+            }
+            Object[] array = node.array.clone();
+            array[index] = child;
+            return new Node(null, array);
+        }
+        if (index == 0) {
+            return null;
+        }
+        Object[] array = node.array.clone();
+        array[index] = null;
+        return new Node(null, array);
+    }
+
+    /**
+     * Изменяемый построитель {@link PersistentPanfArrList} (transient в терминологии Clojure). Узлы, созданные
+     * построителем, помечаются его текущей меткой и изменяются на месте; чужие узлы (из исходного списка или из уже
+     * выданных снимков) перед изменением копируются. {@link #build()} сменяет метку, поэтому выданный снимок больше
+     * никогда не изменяется, а построитель остаётся пригодным к работе.
+     * <p><strong>Построитель не потокобезопасен</strong>, в отличие от построенных им списков.
+     *
+     * @param <T> тип элемента
+     */
+    public static final class Builder<T> {
+
+        private int size;
+
+        private int shift;
+
+        private Node root;
+
+        /**
+         * Хвост вместимостью 32 элемента, принадлежащий построителю
+         */
+        private Object[] tail;
+
+        private Object edit = new Object();
+
+        private Builder(PersistentPanfArrList<T> list) {
+            this.size = list.size;
+            this.shift = list.shift;
+            this.root = list.root;
+            this.tail = Arrays.copyOf(list.tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Возвращает элемент по индексу
+         *
+         * @throws IndexOutOfBoundsException при некорректном индексе
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            Object[] leaf = index >= tailOffset(size) ? tail : leafFor(root, shift, index);
+            return (T) leaf[index & MASK];
+        }
+
+        /**
+         * Добавляет элемент в конец без копирования принадлежащих построителю узлов
+         */
+        public Builder<T> add(T element) {
+            int tailSize = size - tailOffset(size);
+            if (tailSize < WIDTH) {
+                tail[tailSize] = element;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Object[] array = new Object[WIDTH];
+                array[0] = root;
+                array[1] = newPath(edit, shift, tailNode);
+                root = new Node(edit, array);
+                shift += BITS;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Добавляет все элементы в конец
+         */
+        public Builder<T> addAll(Iterable<? extends T> elements) {
+            elements.forEach(this::add);
+            return this;
+        }
+
+        /**
+         * Заменяет элемент по индексу
+         *
+         * @throws IndexOutOfBoundsException при некорректном индексе
+         */
+        public Builder<T> set(int index, T element) {
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+                return this;
+            }
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int child = (index >>> level) & MASK;
+                Node editableChild = editable((Node) node.array[child]);
+                node.array[child] = editableChild;
+                node = editableChild;
+            }
+            node.array[index & MASK] = element;
+            return this;
+        }
+
+        /**
+         * Возвращает неизменяемый снимок текущего содержимого за O(1): копируется только хвост. Последующие
+         * изменения построителя на снимок не влияют
+         */
+        public PersistentPanfArrList<T> build() {
+            if (size == 0) {
+                return empty();
+            }
+            edit = new Object();
+            return new PersistentPanfArrList<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+        }
+
+        private Node editable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.array.clone());
+        }
+
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            Node node = editable(parent);
+            int index = ((size - 1) >>> level) & MASK;
+            if (level == BITS) {
+                node.array[index] = tailNode;
+            } else {
+                Node child = (Node) node.array[index];
+                node.array[index] = child != null
+                        ? pushTail(level - BITS, child, tailNode)
+                        : newPath(edit, level - BITS, tailNode);
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,755 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ленивый запрос к элементам {@link PanfArrList}, создаваемый методом {@link PanfArrList#query()}.
+ * <p>Промежуточные операции ({@code filter}, {@code map}, {@code limit}, {@code sorted}, {@code topK}) не обрабатывают
+ * элементы, а возвращают новый запрос с добавленной операцией; исходный запрос не изменяется и может использоваться
+ * повторно. Обработка выполняется при вызове завершающей операции ({@code toList}, {@code forEach}, {@code reduce},
+ * {@code count}): операции без состояния сливаются в одну цепочку, через которую элементы внутреннего массива списка
+ * проходят по одному, без промежуточных списков. {@code limit} прекращает проход, как только набрано нужное
+ * количество элементов.
+ * <p>Собирать элементы приходится только для {@code sorted}. {@code sorted(c).limit(k)} автоматически заменяется
+ * на {@code topK(k, c)}: отбор выполняется ограниченной кучей из {@code k} элементов за O(n log k) без сортировки
+ * всех элементов. Результат {@code topK} совпадает с результатом стабильной сортировки с последующим {@code limit}.
+ * <p>Запрос, переведённый методом {@link #parallel()} в параллельный режим, делит массив на фрагменты и обрабатывает
+ * их задачами {@link java.util.concurrent.ForkJoinPool}; результаты фрагментов объединяются с сохранением порядка,
+ * поэтому {@code toList}, {@code limit}, {@code topK} и {@code reduce} дают тот же результат, что и
+ * последовательный запрос. Функции, передаваемые в параллельный запрос, должны допускать вызов из нескольких потоков.
+ * <p>Список не должен структурно изменяться во время выполнения запроса; такое изменение обнаруживается после
+ * прохода по списку и приводит к {@link ConcurrentModificationException}.
+ *
+ * @param <T> тип элементов на выходе запроса
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class Query<T> {
+
+    private final PanfArrList<?> source;
+
+    private final Op[] ops;
+
+    private final boolean parallel;
+
+    Query(PanfArrList<?> source) {
+        this(source, new Op[0], false);
+    }
+
+    private Query(PanfArrList<?> source, Op[] ops, boolean parallel) {
+        this.source = source;
+        this.ops = ops;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Оставляет только элементы, удовлетворяющие условию
+     */
+    @SuppressWarnings("unchecked")
+    public Query<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        return then(new FilterOp((Predicate<Object>) predicate));
+    }
+
+    /**
+     * Заменяет каждый элемент результатом применения к нему функции
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Query<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return then(new MapOp((Function<Object, Object>) mapper));
+    }
+
+    /**
+     * Оставляет не более {@code maxSize} первых элементов. После {@code sorted} превращается в {@code topK}
+     *
+     * @throws IllegalArgumentException если {@code maxSize} отрицательно
+     */
+    public Query<T> limit(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Negative limit " + maxSize);
+        }
+        Op last = ops.length > 0 ? ops[ops.length - 1] : null;
+        if (last instanceof SortedOp) {
+            return replaceLast(new TopKOp(maxSize, ((SortedOp) last).comparator));
+        }
+        if (last instanceof TopKOp && ((TopKOp) last).k > maxSize) {
+            return replaceLast(new TopKOp(maxSize, ((TopKOp) last).comparator));
+        }
+        if (last instanceof LimitOp && ((LimitOp) last).maxSize > maxSize) {
+            return replaceLast(new LimitOp(maxSize));
+        }
+        return then(new LimitOp(maxSize));
+    }
+
+    /**
+     * Стабильно сортирует элементы в естественном порядке
+     */
+    public Query<T> sorted() {
+        return sorted(null);
+    }
+
+    /**
+     * Стабильно сортирует элементы
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    public Query<T> sorted(Comparator<? super T> c) {
+        return then(new SortedOp(comparator(c)));
+    }
+
+    /**
+     * Оставляет {@code k} наименьших по компаратору элементов в порядке возрастания. Равные элементы остаются
+     * в исходном порядке. Эквивалентно {@code sorted(c).limit(k)}
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     * @throws IllegalArgumentException если {@code k} отрицательно
+     */
+    public Query<T> topK(int k, Comparator<? super T> c) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k " + k);
+        }
+        return then(new TopKOp(k, comparator(c)));
+    }
+
+    /**
+     * Возвращает запрос, выполняемый параллельно на {@link java.util.concurrent.ForkJoinPool}
+     */
+    public Query<T> parallel() {
+        return parallel ? this : new Query<>(source, ops, true);
+    }
+
+    /**
+     * Возвращает запрос, выполняемый последовательно в вызывающем потоке
+     */
+    public Query<T> sequential() {
+        return parallel ? new Query<>(source, ops, false) : this;
+    }
+
+    /**
+     * Выполняет запрос и возвращает новый список с его результатом
+     */
+    @SuppressWarnings("unchecked")
+    public PanfArrList<T> toList() {
+        return (PanfArrList<T>) evaluate(new BufferCollector(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Выполняет запрос и передаёт действию каждый элемент результата. В параллельном запросе порядок вызовов
+     * не определён
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        evaluate(new ForEachCollector((Consumer<Object>) action));
+    }
+
+    /**
+     * Выполняет запрос и сворачивает его результат ассоциативной операцией. В параллельном запросе каждый фрагмент
+     * сворачивается начиная с {@code identity}, поэтому {@code identity} должно быть нейтральным элементом операции
+     */
+    @SuppressWarnings("unchecked")
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        Objects.requireNonNull(accumulator);
+        Object[] result = evaluate(new ReduceCollector(identity, (BinaryOperator<Object>) accumulator));
+        return (T) result[0];
+    }
+
+    /**
+     * Выполняет запрос и возвращает количество элементов результата
+     */
+    public long count() {
+        return evaluate(new CountCollector())[0];
+    }
+
+    private <R> Query<R> then(Op op) {
+        Op[] next = Arrays.copyOf(ops, ops.length + 1);
+        next[ops.length] = op;
+        return new Query<>(source, next, parallel);
+    }
+
+    private Query<T> replaceLast(Op op) {
+        Op[] next = ops.clone();
+        next[next.length - 1] = op;
+        return new Query<>(source, next, parallel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparator(Comparator<?> c) {
+        return (Comparator<Object>) (c != null ? c : Comparator.naturalOrder());
+    }
+
+    /**
+     * Выполняет запрос. Операции делятся на участки границами - операциями, которым нужны все элементы участка
+     * ({@code sorted}, {@code topK}, а в параллельном режиме и {@code limit}). Участок выполняется одним проходом;
+     * на границе его результат собирается в список, который становится источником следующего участка
+     */
+    private <A> A evaluate(Collector<A> terminal) {
+        Object[] data = source.elementData();
+        int size = source.size();
+        int expectedModCount = source.modificationCount();
+        boolean fromSource = true;
+        int start = 0;
+        for (int i = 0; i < ops.length; i++) {
+            Op op = ops[i];
+            if (!op.isBarrier(parallel)) {
+                continue;
+            }
+            PanfArrList<Object> buffer;
+            if (op instanceof TopKOp) {
+                TopKOp topK = (TopKOp) op;
+                buffer = run(data, size, start, i, new TopKCollector(topK.k, topK.comparator)).toList();
+            } else if (op instanceof SortedOp) {
+                buffer = run(data, size, start, i, new BufferCollector(Integer.MAX_VALUE));
+                if (parallel) {
+                    buffer.parallelSort(((SortedOp) op).comparator);
+                } else {
+                    buffer.sort(((SortedOp) op).comparator);
+                }
+            } else {
+                buffer = run(data, size, start, i, new BufferCollector(((LimitOp) op).maxSize));
+            }
+            if (fromSource) {
+                checkForComodification(expectedModCount);
+                fromSource = false;
+            }
+            data = buffer.elementData();
+            size = buffer.size();
+            start = i + 1;
+        }
+        A result = run(data, size, start, ops.length, terminal);
+        if (fromSource) {
+            checkForComodification(expectedModCount);
+        }
+        return result;
+    }
+
+    private void checkForComodification(int expectedModCount) {
+        if (source.modificationCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Пропускает элементы {@code data[0, size)} через операции {@code ops[from, to)} в накопитель
+     */
+    private <A> A run(Object[] data, int size, int from, int to, Collector<A> collector) {
+        int parallelism = ParallelOps.parallelism();
+        int granularity = Math.max(ParallelOps.MIN_GRANULARITY, size / (parallelism << 2));
+        if (!parallel || size <= granularity || parallelism <= 1) {
+            return runRange(data, 0, size, from, to, collector);
+        }
+        return new SegmentTask<>(data, 0, size, granularity, from, to, collector).invoke();
+    }
+
+    private <A> A runRange(Object[] data, int lo, int hi, int from, int to, Collector<A> collector) {
+        A container = collector.create(lo);
+        Sink sink = collector.sink(container);
+        for (int i = to - 1; i >= from; i--) {
+            // Участок не содержит операций-границ, поэтому все его операции встраиваются в цепочку
+            sink = ((ChainOp) ops[i]).wrap(sink);
+        }
+        for (int i = lo; i < hi && !sink.cancelled(); i++) {
+            sink.accept(data[i]);
+        }
+        return container;
+    }
+
+    /**
+     * Задача, обрабатывающая фрагмент массива и объединяющая результаты половин в порядке их следования
+     */
+    private final class SegmentTask<A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] data;
+        private final int lo;
+        private final int hi;
+        private final int granularity;
+        private final int from;
+        private final int to;
+        private final Collector<A> collector;
+
+        SegmentTask(Object[] data, int lo, int hi, int granularity, int from, int to, Collector<A> collector) {
+            this.data = data;
+            this.lo = lo;
+            this.hi = hi;
+            this.granularity = granularity;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+        }
+
+        @Override
+        protected A compute() {
+            if (hi - lo <= granularity) {
+                return runRange(data, lo, hi, from, to, collector);
+            }
+            int mid = (lo + hi) >>> 1;
+            SegmentTask<A> left = new SegmentTask<>(data, lo, mid, granularity, from, to, collector);
+            left.fork();
+            A right = new SegmentTask<>(data, mid, hi, granularity, from, to, collector).compute();
+            return collector.combine(left.join(), right);
+        }
+    }
+
+    /**
+     * Приёмник элементов цепочки операций
+     */
+    private interface Sink {
+
+        void accept(Object o);
+
+        /**
+         * Возвращает true, если приёмнику больше не нужны элементы и проход можно прекратить
+         */
+        default boolean cancelled() {
+            return false;
+        }
+    }
+
+    /**
+     * Промежуточная операция запроса
+     */
+    private abstract static class Op {
+
+        /**
+         * Возвращает true, если операции нужны все элементы участка до неё, и она завершает участок
+         */
+        abstract boolean isBarrier(boolean parallel);
+    }
+
+    /**
+     * Операция, встраиваемая в цепочку приёмников прохода по участку
+     */
+    private abstract static class ChainOp extends Op {
+
+        @Override
+        boolean isBarrier(boolean parallel) {
+            return false;
+        }
+
+        /**
+         * Оборачивает приёмник следующей операции
+         */
+        abstract Sink wrap(Sink downstream);
+    }
+
+    /**
+     * Операция, которой всегда нужны все элементы участка. В цепочку приёмников не встраивается: её выполняет
+     * {@link #evaluate} по результату участка
+     */
+    private abstract static class BarrierOp extends Op {
+
+        @Override
+        boolean isBarrier(boolean parallel) {
+            return true;
+        }
+    }
+
+    private static final class FilterOp extends ChainOp {
+
+        private final Predicate<Object> predicate;
+
+        FilterOp(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        Sink wrap(Sink downstream) {
+            return new Sink() {
+                @Override
+                public void accept(Object o) {
+                    if (predicate.test(o)) {
+                        downstream.accept(o);
+                    }
+                }
+
+                @Override
+                public boolean cancelled() {
+                    return downstream.cancelled();
+                }
+            };
+        }
+    }
+
+    private static final class MapOp extends ChainOp {
+
+        private final Function<Object, Object> mapper;
+
+        MapOp(Function<Object, Object> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        Sink wrap(Sink downstream) {
+            return new Sink() {
+                @Override
+                public void accept(Object o) {
+                    downstream.accept(mapper.apply(o));
+                }
+
+                @Override
+                public boolean cancelled() {
+                    return downstream.cancelled();
+                }
+            };
+        }
+    }
+
+    /**
+     * В последовательном режиме выполняется в цепочке счётчиком; в параллельном - завершает участок, так как первые
+     * элементы известны только после объединения фрагментов
+     */
+    private static final class LimitOp extends ChainOp {
+
+        private final int maxSize;
+
+        LimitOp(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        boolean isBarrier(boolean parallel) {
+            return parallel;
+        }
+
+        @Override
+        Sink wrap(Sink downstream) {
+            return new Sink() {
+                private int remaining = maxSize;
+
+                @Override
+                public void accept(Object o) {
+                    if (remaining > 0) {
+                        remaining--;
+                        downstream.accept(o);
+                    }
+                }
+
+                @Override
+                public boolean cancelled() {
+                    return remaining == 0 || downstream.cancelled();
+                }
+            };
+        }
+    }
+
+    private static final class SortedOp extends BarrierOp {
+
+        private final Comparator<Object> comparator;
+
+        SortedOp(Comparator<Object> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    private static final class TopKOp extends BarrierOp {
+
+        private final int k;
+
+        private final Comparator<Object> comparator;
+
+        TopKOp(int k, Comparator<Object> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Накопитель результата участка: создаёт контейнер для фрагмента, приёмник, пополняющий контейнер, и объединяет
+     * контейнеры соседних фрагментов (левый фрагмент предшествует правому)
+     *
+     * @param <A> тип контейнера
+     */
+    private interface Collector<A> {
+
+        /**
+         * Создает контейнер для фрагмента, начинающегося с индекса {@code lo}
+         */
+        A create(int lo);
+
+        Sink sink(A container);
+
+        A combine(A left, A right);
+    }
+
+    /**
+     * Собирает не более {@code maxSize} первых элементов в список
+     */
+    private static final class BufferCollector implements Collector<PanfArrList<Object>> {
+
+        private final int maxSize;
+
+        BufferCollector(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public PanfArrList<Object> create(int lo) {
+            return new PanfArrList<>(Math.min(maxSize, 16));
+        }
+
+        @Override
+        public Sink sink(PanfArrList<Object> container) {
+            return new Sink() {
+                @Override
+                public void accept(Object o) {
+                    container.add(o);
+                }
+
+                @Override
+                public boolean cancelled() {
+                    return container.size() >= maxSize;
+                }
+            };
+        }
+
+        @Override
+        public PanfArrList<Object> combine(PanfArrList<Object> left, PanfArrList<Object> right) {
+            int taken = Math.min(right.size(), maxSize - left.size());
+            if (taken > 0) {
+                left.addAll(taken == right.size() ? right : right.subList(0, taken));
+            }
+            return left;
+        }
+    }
+
+    private static final class ForEachCollector implements Collector<Void> {
+
+        private final Consumer<Object> action;
+
+        ForEachCollector(Consumer<Object> action) {
+            this.action = action;
+        }
+
+        @Override
+        public Void create(int lo) {
+            return null;
+        }
+
+        @Override
+        public Sink sink(Void container) {
+            return action::accept;
+        }
+
+        @Override
+        public Void combine(Void left, Void right) {
+            return null;
+        }
+    }
+
+    private static final class ReduceCollector implements Collector<Object[]> {
+
+        private final Object identity;
+
+        private final BinaryOperator<Object> accumulator;
+
+        ReduceCollector(Object identity, BinaryOperator<Object> accumulator) {
+            this.identity = identity;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public Object[] create(int lo) {
+            return new Object[]{identity};
+        }
+
+        @Override
+        public Sink sink(Object[] container) {
+            return o -> container[0] = accumulator.apply(container[0], o);
+        }
+
+        @Override
+        public Object[] combine(Object[] left, Object[] right) {
+            left[0] = accumulator.apply(left[0], right[0]);
+            return left;
+        }
+    }
+
+    private static final class CountCollector implements Collector<long[]> {
+
+        @Override
+        public long[] create(int lo) {
+            return new long[1];
+        }
+
+        @Override
+        public Sink sink(long[] container) {
+            return o -> container[0]++;
+        }
+
+        @Override
+        public long[] combine(long[] left, long[] right) {
+            left[0] += right[0];
+            return left;
+        }
+    }
+
+    private static final class TopKCollector implements Collector<TopKHeap> {
+
+        private final int k;
+
+        private final Comparator<Object> comparator;
+
+        TopKCollector(int k, Comparator<Object> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public TopKHeap create(int lo) {
+            return new TopKHeap(k, comparator, lo);
+        }
+
+        @Override
+        public Sink sink(TopKHeap heap) {
+            return new Sink() {
+                @Override
+                public void accept(Object o) {
+                    heap.offer(o, heap.nextSequence++);
+                }
+
+                @Override
+                public boolean cancelled() {
+                    return k == 0;
+                }
+            };
+        }
+
+        @Override
+        public TopKHeap combine(TopKHeap left, TopKHeap right) {
+            for (int i = 0; i < right.size; i++) {
+                left.offer(right.values[i], right.sequences[i]);
+            }
+            return left;
+        }
+    }
+
+    /**
+     * Ограниченная куча с наибольшим элементом в корне, хранящая {@code k} наименьших элементов. Каждый элемент
+     * хранится с порядковым номером: из равных элементов наибольшим считается более поздний, поэтому отбор стабилен.
+     * Номера фрагмента начинаются с его первого индекса и не превышают его последнего индекса, поэтому номера
+     * разных фрагментов упорядочены так же, как сами фрагменты
+     */
+    private static final class TopKHeap {
+
+        private final int k;
+
+        private final Comparator<Object> comparator;
+
+        private Object[] values;
+
+        private long[] sequences;
+
+        private int size;
+
+        private long nextSequence;
+
+        TopKHeap(int k, Comparator<Object> comparator, long firstSequence) {
+            this.values = new Object[Math.min(k, 1 << 16)];
+            this.sequences = new long[values.length];
+            this.comparator = comparator;
+            this.nextSequence = firstSequence;
+            this.k = k;
+        }
+
+        void offer(Object value, long sequence) {
+            if (size < k) {
+                ensureCapacity();
+                values[size] = value;
+                sequences[size] = sequence;
+                siftUp(size++);
+            } else if (k > 0 && compare(value, sequence, 0) < 0) {
+                values[0] = value;
+                sequences[0] = sequence;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Извлекает элементы кучи в список в порядке возрастания
+         */
+        PanfArrList<Object> toList() {
+            Object[] sorted = new Object[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = values[0];
+                size--;
+                values[0] = values[size];
+                sequences[0] = sequences[size];
+                values[size] = null;
+                siftDown(0);
+            }
+            PanfArrList<Object> result = new PanfArrList<>(sorted.length);
+            for (Object o : sorted) {
+                result.add(o);
+            }
+            return result;
+        }
+
+        private int compare(Object value, long sequence, int i) {
+            int c = comparator.compare(value, values[i]);
+            return c != 0 ? c : Long.compare(sequence, sequences[i]);
+        }
+
+        private void siftUp(int i) {
+            Object value = values[i];
+            long sequence = sequences[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(value, sequence, parent) <= 0) {
+                    break;
+                }
+                values[i] = values[parent];
+                sequences[i] = sequences[parent];
+                i = parent;
+            }
+            values[i] = value;
+            sequences[i] = sequence;
+        }
+
+        private void siftDown(int i) {
+            if (size == 0) {
+                return;
+            }
+            Object value = values[i];
+            long sequence = sequences[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && compareAt(right, child) > 0) {
+                    child = right;
+                }
+                if (compare(value, sequence, child) >= 0) {
+                    break;
+                }
+                values[i] = values[child];
+                sequences[i] = sequences[child];
+                i = child;
+            }
+            values[i] = value;
+            sequences[i] = sequence;
+        }
+
+        private int compareAt(int i, int j) {
+            return compare(values[i], sequences[i], j);
+        }
+
+        private void ensureCapacity() {
+            if (size == values.length) {
+                int capacity = (int) Math.min((long) k, Math.max(16L, values.length * 2L));
+                values = Arrays.copyOf(values, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example;
+
+/**
+ * Политика уменьшения вместимости списка. Вызывается {@link PanfArrList} после удаления элементов и определяет,
+ * нужно ли освободить часть внутреннего массива.
+ * <p>По умолчанию используется {@link #never()} - вместимость при удалении не уменьшается, как и в исходной версии
+ * списка. Политика {@link #halving()} уменьшает массив вдвое, когда он заполнен не более чем на четверть, поэтому
+ * после опустошения большого списка память возвращается, а чередование добавлений и удалений на границе
+ * не приводит к постоянным перевыделениям.
+ * <p>Список никогда не уменьшает вместимость ниже количества элементов и ниже вместимости по умолчанию.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ShrinkPolicy {
+
+    /**
+     * Вычисляет новую вместимость списка после удаления элементов.
+     *
+     * @param currentCapacity текущая вместимость (длина внутреннего массива)
+     * @param size            количество элементов в списке после удаления
+     * @return новая вместимость; значение не меньше {@code currentCapacity} означает, что уменьшать массив не нужно
+     */
+    int shrink(int currentCapacity, int size);
+
+    /**
+     * Возвращает политику, которая никогда не уменьшает вместимость
+     */
+    static ShrinkPolicy never() {
+        return (currentCapacity, size) -> currentCapacity;
+    }
+
+    /**
+     * Возвращает политику, которая уменьшает вместимость вдвое, когда количество элементов не превышает
+     * четверти вместимости
+     */
+    static ShrinkPolicy halving() {
+        return (currentCapacity, size) -> size <= currentCapacity / 4 ? currentCapacity / 2 : currentCapacity;
+    }
+}
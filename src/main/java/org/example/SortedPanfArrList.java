@@ -0,0 +1,359 @@
+package org.example;
+
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+
+/**
+ * Динамический массив, который всегда упорядочен по компаратору (или по естественному порядку элементов).
+ * <p>Так как элементы упорядочены, поиск выполняется двоичным поиском за O(log n): {@link #binarySearch(Object)},
+ * {@link #indexOf(Object)}, {@link #lastIndexOf(Object)}, {@link #contains(Object)}. Добавление
+ * ({@link #insertSorted(Object)}, {@link #add(Object)}) находит позицию двоичным поиском и сдвигает хвост одним
+ * копированием. Равные элементы хранятся в порядке добавления.
+ * <p>Массовые операции не вставляют элементы по одному: конструктор из коллекции сортирует её один раз, а
+ * {@link #mergeSorted(Collection)} и {@link #addAll(Collection)} сливают упорядоченную коллекцию со списком за
+ * O(n + m) (неупорядоченная коллекция предварительно сортируется). {@link #subRange(Object, Object)} возвращает
+ * представление элементов из диапазона значений.
+ * <p>Операции, которые могут нарушить порядок ({@code set}, {@code add(int, T)}, {@code sort}), не поддерживаются.
+ * Элементы {@code null} не допускаются. Компаратор должен быть согласован с {@code equals} в том смысле, что
+ * равные по {@code equals} элементы равны и по компаратору: поиск по {@code equals} выполняется только среди
+ * элементов, равных искомому по компаратору.
+ * <p><strong>Данная реализация не потокобезопасна</strong>.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class SortedPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final Comparator<? super T> comparator;
+
+    private Object[] elements;
+
+    private int size = 0;
+
+    /**
+     * Создает пустой список, упорядоченный по естественному порядку элементов
+     */
+    public SortedPanfArrList() {
+        this((Comparator<? super T>) null);
+    }
+
+    /**
+     * Создает пустой список, упорядоченный компаратором
+     *
+     * @param comparator компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    public SortedPanfArrList(Comparator<? super T> comparator) {
+        this.comparator = comparator != null ? comparator : naturalOrder();
+        this.elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Создает список из элементов коллекции, упорядоченный компаратором. Коллекция сортируется один раз
+     * стабильной сортировкой; уже упорядоченная коллекция обрабатывается за O(n)
+     *
+     * @param comparator компаратор; если {@code null}, используется естественный порядок элементов
+     * @throws NullPointerException если коллекция содержит {@code null}
+     */
+    public SortedPanfArrList(Collection<? extends T> c, Comparator<? super T> comparator) {
+        this.comparator = comparator != null ? comparator : naturalOrder();
+        this.elements = sortedArray(c);
+        this.size = elements.length;
+    }
+
+    /**
+     * Возвращает компаратор, упорядочивающий список
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[index];
+    }
+
+    /**
+     * Ищет элемент двоичным поиском по компаратору.
+     *
+     * @return индекс первого элемента, равного {@code key} по компаратору, или {@code -(точка вставки) - 1},
+     * если такого элемента нет, как в {@link Collections#binarySearch(List, Object, Comparator)}
+     */
+    public int binarySearch(T key) {
+        int index = lowerBound(key);
+        return index < size && compare(elements[index], key) == 0 ? index : -(index + 1);
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного {@code o} по {@code equals}, или -1. Выполняется за O(log n)
+     * плюс количество элементов, равных {@code o} по компаратору
+     */
+    @Override
+    public int indexOf(Object o) {
+        T key = asKey(o);
+        if (key == null) {
+            return -1;
+        }
+        for (int i = lowerBound(key); i < size && compare(elements[i], key) == 0; i++) {
+            if (o.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает индекс последнего элемента, равного {@code o} по {@code equals}, или -1. Выполняется за O(log n)
+     * плюс количество элементов, равных {@code o} по компаратору
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        T key = asKey(o);
+        if (key == null) {
+            return -1;
+        }
+        for (int i = upperBound(key) - 1; i >= 0 && compare(elements[i], key) == 0; i--) {
+            if (o.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Вставляет элемент в позицию, сохраняющую порядок, после всех равных ему элементов
+     *
+     * @return индекс вставленного элемента
+     * @throws NullPointerException если элемент равен {@code null}
+     */
+    public int insertSorted(T t) {
+        Objects.requireNonNull(t, "element");
+        int index = upperBound(t);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = t;
+        size++;
+        modCount++;
+        return index;
+    }
+
+    /**
+     * Вставляет элемент в позицию, сохраняющую порядок (см. {@link #insertSorted(Object)})
+     *
+     * @return всегда {@code true}
+     */
+    @Override
+    public boolean add(T t) {
+        insertSorted(t);
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы коллекции слиянием (см. {@link #mergeSorted(Collection)})
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return mergeSorted(c);
+    }
+
+    /**
+     * Сливает элементы коллекции со списком за O(n + m). Коллекция, упорядоченная тем же компаратором, не
+     * сортируется (проверка порядка стоит O(m)); иначе она сначала сортируется. Слияние выполняется с конца
+     * массива на месте, без промежуточного буфера. При равных элементах элементы списка идут раньше
+     *
+     * @return {@code true}, если список изменился
+     * @throws NullPointerException если коллекция содержит {@code null}
+     */
+    public boolean mergeSorted(Collection<? extends T> other) {
+        Object[] added = sortedArray(other);
+        int m = added.length;
+        if (m == 0) {
+            return false;
+        }
+        if (size + m > elements.length) {
+            grow(size + m);
+        }
+        int i = size - 1;
+        int j = m - 1;
+        int k = size + m - 1;
+        while (j >= 0) {
+            if (i >= 0 && compare(elements[i], added[j]) > 0) {
+                elements[k--] = elements[i--];
+            } else {
+                elements[k--] = added[j--];
+            }
+        }
+        size += m;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Возвращает представление элементов из диапазона значений {@code [fromKey, toKey)} по компаратору.
+     * Границы находятся двоичным поиском; представление поддерживается списком так же, как {@link #subList(int, int)}
+     *
+     * @throws IllegalArgumentException если {@code fromKey} больше {@code toKey}
+     */
+    public List<T> subRange(T fromKey, T toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return subList(lowerBound(fromKey), lowerBound(toKey));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        Objects.checkIndex(index, size);
+        T removed = (T) elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        Arrays.fill(elements, size - (toIndex - fromIndex), size, null);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Не поддерживается: список всегда упорядочен своим компаратором
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void sort(Comparator<? super T> c) {
+        throw new UnsupportedOperationException("SortedPanfArrList is always sorted by its comparator");
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Возвращает индекс первого элемента, не меньшего {@code key}
+     */
+    private int lowerBound(Object key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(elements[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, большего {@code key}
+     */
+    private int upperBound(Object key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(elements[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator.compare((T) a, (T) b);
+    }
+
+    /**
+     * Приводит аргумент поиска к типу элементов. Возвращает {@code null}, если аргумент равен {@code null}
+     * или не сравним компаратором с элементами списка
+     */
+    @SuppressWarnings("unchecked")
+    private T asKey(Object o) {
+        if (o == null || size == 0) {
+            return null;
+        }
+        try {
+            compare(elements[0], o);
+            return (T) o;
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Возвращает элементы коллекции в массиве, упорядоченном компаратором. Упорядоченный вход не сортируется
+     */
+    private Object[] sortedArray(Collection<? extends T> c) {
+        Object[] raw = c.toArray();
+        Object[] a = Arrays.copyOf(raw, raw.length, Object[].class);
+        boolean sorted = true;
+        for (int i = 0; i < a.length; i++) {
+            Objects.requireNonNull(a[i], "element");
+            if (sorted && i > 0 && compare(a[i - 1], a[i]) > 0) {
+                sorted = false;
+            }
+        }
+        if (!sorted) {
+            SortAlgorithm.TIMSORT.sort(a, 0, a.length, comparator);
+        }
+        return a;
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(GrowthPolicy.DEFAULT.grow(oldCapacity, minCapacity), minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<T> naturalOrder() {
+        return (Comparator<T>) Comparator.naturalOrder();
+    }
+}
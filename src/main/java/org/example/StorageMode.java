@@ -0,0 +1,80 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Раскладка элементов во внутреннем массиве списка. Позволяет выбрать реализацию при создании списка в зависимости
+ * от того, где в нём происходят изменения.
+ * <p>Общий API всех раскладок - только {@link List}: {@link #newList} возвращает {@code List<T>}, и расширения
+ * {@link PanfArrList} доступны лишь после приведения к конкретному классу из описания константы. Так,
+ * {@link CircularPanfArrList} и {@link GapPanfArrList} поддерживают {@link ShrinkPolicy} (через свои конструкторы),
+ * {@code ensureCapacity}, {@code trimToSize}, {@code clearTotal}, {@code distinct}, {@code sort()} и
+ * {@code sort(Comparator, SortAlgorithm)}, но не имеют метрик, {@code query} и параллельных операций
+ * {@code parallel*}. {@link ChunkedPanfArrList}
+ * вместо них предоставляет методы с индексами типа {@code long}. Код, которому нужен полный API
+ * {@link PanfArrList}, должен создавать его напрямую, а не через {@link #ARRAY}.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public enum StorageMode {
+
+    /**
+     * Линейная раскладка {@link PanfArrList}: быстрее всего при изменениях в конце списка
+     */
+    ARRAY {
+        @Override
+        public <T> List<T> newList(int capacity, GrowthPolicy growthPolicy) {
+            return new PanfArrList<>(capacity, growthPolicy);
+        }
+    },
+
+    /**
+     * Кольцевая раскладка {@link CircularPanfArrList}: O(1) при изменениях в начале и в конце списка
+     */
+    CIRCULAR {
+        @Override
+        public <T> List<T> newList(int capacity, GrowthPolicy growthPolicy) {
+            return new CircularPanfArrList<>(capacity, growthPolicy);
+        }
+    },
+
+    /**
+     * Буфер с промежутком {@link GapPanfArrList}: амортизированное O(1) при сериях изменений рядом с одной позицией
+     */
+    GAP {
+        @Override
+        public <T> List<T> newList(int capacity, GrowthPolicy growthPolicy) {
+            return new GapPanfArrList<>(capacity, growthPolicy);
+        }
+    },
+
+    /**
+     * Блочная раскладка {@link ChunkedPanfArrList}: рост без копирования элементов и O(√n) при изменениях в середине.
+     * Вместимость используется как ожидаемый размер списка для выбора размера блока, политика роста не
+     * используется - список всегда растёт на один блок
+     */
+    CHUNKED {
+        @Override
+        public <T> List<T> newList(int capacity, GrowthPolicy growthPolicy) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Illegal capacity " + capacity);
+            }
+            return new ChunkedPanfArrList<>(ChunkedPanfArrList.blockSizeFor(capacity));
+        }
+    };
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию и ростом по умолчанию
+     */
+    public <T> List<T> newList() {
+        return newList(10, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public abstract <T> List<T> newList(int capacity, GrowthPolicy growthPolicy);
+}
@@ -14,15 +14,72 @@ public class Car implements Comparable<Car> {
         this.power = power;
     }
 
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public int getPower() {
+        return power;
+    }
+
+    /**
+     * Сравнивает автомобили по марке, затем по модели без учёта регистра, затем по мощности. Порядок согласован с
+     * {@link #equals(Object)}: автомобили равны по compareTo тогда и только тогда, когда они равны по equals
+     */
     @Override
     public int compareTo(Car o) {
-        if (!this.brand.equalsIgnoreCase(o.brand)) {
-            return this.brand.compareTo(o.brand);
-        } else if (!this.model.equalsIgnoreCase(o.model)) {
-            return this.model.compareTo(o.model);
-        } else {
-            return Integer.compare(this.power, o.power);
+        int byBrand = String.CASE_INSENSITIVE_ORDER.compare(this.brand, o.brand);
+        if (byBrand != 0) {
+            return byBrand;
+        }
+        int byModel = String.CASE_INSENSITIVE_ORDER.compare(this.model, o.model);
+        if (byModel != 0) {
+            return byModel;
+        }
+        return Integer.compare(this.power, o.power);
+    }
+
+    /**
+     * Автомобили равны, если у них совпадают марка и модель без учёта регистра и мощность
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Car)) {
+            return false;
+        }
+        Car other = (Car) o;
+        return power == other.power && equalsIgnoreCase(brand, other.brand) && equalsIgnoreCase(model, other.model);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * hashIgnoreCase(brand) + hashIgnoreCase(model)) + power;
+    }
+
+    private static boolean equalsIgnoreCase(String a, String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+
+    /**
+     * Хеш строки, одинаковый для строк, равных по {@link String#equalsIgnoreCase(String)}: каждый символ
+     * нормализуется так же, как при этом сравнении
+     */
+    private static int hashIgnoreCase(String s) {
+        if (s == null) {
+            return 0;
+        }
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
         }
+        return h;
     }
 
     @Override
@@ -0,0 +1,53 @@
+package org.example.cars;
+
+import org.example.io.ElementCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодек {@link Car} для двоичного формата {@link org.example.io.PanfArrListWriter}. В отличие от
+ * {@link CarRecordCodec}, элемент самодостаточен и не требует словаря: марка и модель записываются как длина
+ * ({@code short}, -1 означает {@code null}) и байты UTF-8, затем мощность ({@code int}).
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class CarElementCodec implements ElementCodec<Car> {
+
+    @Override
+    public String id() {
+        return "car";
+    }
+
+    @Override
+    public void encode(Car car, ByteBuffer buffer) {
+        putString(buffer, car.getBrand());
+        putString(buffer, car.getModel());
+        buffer.putInt(car.getPower());
+    }
+
+    @Override
+    public Car decode(ByteBuffer buffer) {
+        String brand = getString(buffer);
+        String model = getString(buffer);
+        return new Car(brand, model, buffer.getInt());
+    }
+
+    private static void putString(ByteBuffer buffer, String s) {
+        if (s == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String is too long: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        return length < 0 ? null : ElementCodec.decodeUtf8(buffer, length);
+    }
+}
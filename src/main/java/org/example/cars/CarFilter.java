@@ -0,0 +1,133 @@
+package org.example.cars;
+
+import java.util.Objects;
+
+/**
+ * Условие отбора строк {@link CarList}. Условие вычисляется сразу для всех строк: оно просматривает примитивный
+ * столбец в плотном цикле и отмечает подходящие строки в битовой маске, не создавая объектов {@link Car}.
+ * <p>Готовые условия создаются фабричными методами ({@link #powerGreaterThan(int)}, {@link #brandIs(String)} и
+ * т.д.) и комбинируются через {@link #and(CarFilter)}, {@link #or(CarFilter)} и {@link #negate()}.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface CarFilter {
+
+    /**
+     * Отмечает строки, удовлетворяющие условию: устанавливает бит {@code i % 64} слова {@code mask[i / 64]} для
+     * каждой подходящей строки {@code i}.
+     *
+     * @param cars список, строки которого проверяются
+     * @param mask маска длиной не меньше {@code (cars.size() + 63) / 64} слов, заполненная нулями
+     */
+    void evaluate(CarList cars, long[] mask);
+
+    /**
+     * Возвращает условие "мощность больше {@code power}"
+     */
+    static CarFilter powerGreaterThan(int power) {
+        return (cars, mask) -> {
+            int[] powers = cars.powers();
+            for (int i = 0, n = cars.size(); i < n; i++) {
+                mask[i >>> 6] |= (powers[i] > power ? 1L : 0L) << i;
+            }
+        };
+    }
+
+    /**
+     * Возвращает условие "мощность меньше {@code power}"
+     */
+    static CarFilter powerLessThan(int power) {
+        return (cars, mask) -> {
+            int[] powers = cars.powers();
+            for (int i = 0, n = cars.size(); i < n; i++) {
+                mask[i >>> 6] |= (powers[i] < power ? 1L : 0L) << i;
+            }
+        };
+    }
+
+    /**
+     * Возвращает условие "мощность в диапазоне {@code [from, to]}" включительно
+     */
+    static CarFilter powerBetween(int from, int to) {
+        return (cars, mask) -> {
+            int[] powers = cars.powers();
+            for (int i = 0, n = cars.size(); i < n; i++) {
+                int p = powers[i];
+                mask[i >>> 6] |= (p >= from && p <= to ? 1L : 0L) << i;
+            }
+        };
+    }
+
+    /**
+     * Возвращает условие "марка равна {@code brand}". Строки сравниваются по коду словаря, то есть с учётом регистра
+     */
+    static CarFilter brandIs(String brand) {
+        return (cars, mask) -> codeIs(cars.brandCodes(), cars.size(), cars.brandDictionary().codeOf(brand), mask);
+    }
+
+    /**
+     * Возвращает условие "модель равна {@code model}". Строки сравниваются по коду словаря, то есть с учётом регистра
+     */
+    static CarFilter modelIs(String model) {
+        return (cars, mask) -> codeIs(cars.modelCodes(), cars.size(), cars.modelDictionary().codeOf(model), mask);
+    }
+
+    /**
+     * Возвращает условие, истинное, когда выполняются оба условия
+     */
+    default CarFilter and(CarFilter other) {
+        Objects.requireNonNull(other);
+        return (cars, mask) -> {
+            evaluate(cars, mask);
+            long[] otherMask = new long[mask.length];
+            other.evaluate(cars, otherMask);
+            for (int w = 0; w < mask.length; w++) {
+                mask[w] &= otherMask[w];
+            }
+        };
+    }
+
+    /**
+     * Возвращает условие, истинное, когда выполняется хотя бы одно из условий
+     */
+    default CarFilter or(CarFilter other) {
+        Objects.requireNonNull(other);
+        return (cars, mask) -> {
+            evaluate(cars, mask);
+            long[] otherMask = new long[mask.length];
+            other.evaluate(cars, otherMask);
+            for (int w = 0; w < mask.length; w++) {
+                mask[w] |= otherMask[w];
+            }
+        };
+    }
+
+    /**
+     * Возвращает отрицание условия
+     */
+    default CarFilter negate() {
+        return (cars, mask) -> {
+            evaluate(cars, mask);
+            int n = cars.size();
+            int words = (n + 63) >>> 6;
+            for (int w = 0; w < words; w++) {
+                mask[w] = ~mask[w];
+            }
+            if ((n & 63) != 0) {
+                mask[words - 1] &= (1L << n) - 1;
+            }
+        };
+    }
+
+    /**
+     * Отмечает строки, код которых в столбце равен {@code code}. Код строки, отсутствующей в словаре, не совпадает
+     * ни с одним значением столбца
+     */
+    private static void codeIs(int[] codes, int size, int code, long[] mask) {
+        for (int i = 0; i < size; i++) {
+            mask[i >>> 6] |= (codes[i] == code ? 1L : 0L) << i;
+        }
+    }
+}
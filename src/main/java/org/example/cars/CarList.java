@@ -0,0 +1,437 @@
+package org.example.cars;
+
+import org.example.GrowthPolicy;
+import org.example.offheap.StringDictionary;
+
+import java.util.*;
+
+/**
+ * Список автомобилей в поколоночном представлении: марки и модели хранятся кодами словарей в массивах {@code int[]},
+ * мощность - в своём массиве {@code int[]}. Объекты {@link Car} создаются только при чтении через {@link #get(int)}.
+ * <p>Такое хранение нужно для аналитики по большому парку: отбор строк ({@link #select(CarFilter)},
+ * {@link #count(CarFilter)}, {@link #filter(CarFilter)}) просматривает примитивные столбцы без разыменования
+ * объектов, сортировка по столбцу ({@link #sortBy(Column)}) выполняется стабильной поразрядной сортировкой по мощности
+ * или сортировкой подсчётом по рангам строк словаря, а {@link #topK(Column, int)} находит k наибольших значений
+ * кучей из примитивов за O(n log k).
+ * <p>Марки и модели упорядочиваются без учёта регистра, поэтому порядок {@link #sort()} (марка, модель, мощность)
+ * совпадает с {@link Car#compareTo(Car)}.
+ * <p>Поддерживаются добавление в конец, замена и очистка; вставка и удаление по индексу не поддерживаются.
+ * Списки, полученные фильтрацией и {@code topK}, используют общие словари с исходным списком.
+ * <p><strong>Данная реализация не потокобезопасна</strong>.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class CarList extends AbstractList<Car> implements List<Car>, RandomAccess {
+
+    /**
+     * Столбец, по которому выполняется сортировка или поиск наибольших значений
+     */
+    public enum Column {
+        BRAND, MODEL, POWER
+    }
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final StringDictionary brands;
+
+    private final StringDictionary models;
+
+    private int[] brandColumn;
+
+    private int[] modelColumn;
+
+    private int[] powerColumn;
+
+    private int size = 0;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию
+     */
+    public CarList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public CarList(int capacity) {
+        this(new StringDictionary(), new StringDictionary(), capacity);
+    }
+
+    /**
+     * Создает список, содержащий автомобили переданной коллекции в порядке её итератора
+     */
+    public CarList(Collection<? extends Car> cars) {
+        this(cars.size());
+        addAll(cars);
+    }
+
+    private CarList(StringDictionary brands, StringDictionary models, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.brands = brands;
+        this.models = models;
+        this.brandColumn = new int[capacity];
+        this.modelColumn = new int[capacity];
+        this.powerColumn = new int[capacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Создает объект {@link Car} из строки с индексом {@code index}
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public Car get(int index) {
+        Objects.checkIndex(index, size);
+        return new Car(brands.decode(brandColumn[index]), models.decode(modelColumn[index]), powerColumn[index]);
+    }
+
+    /**
+     * Возвращает марку автомобиля в строке {@code index}, не создавая объект {@link Car}
+     */
+    public String brand(int index) {
+        Objects.checkIndex(index, size);
+        return brands.decode(brandColumn[index]);
+    }
+
+    /**
+     * Возвращает модель автомобиля в строке {@code index}, не создавая объект {@link Car}
+     */
+    public String model(int index) {
+        Objects.checkIndex(index, size);
+        return models.decode(modelColumn[index]);
+    }
+
+    /**
+     * Возвращает мощность автомобиля в строке {@code index}, не создавая объект {@link Car}
+     */
+    public int power(int index) {
+        Objects.checkIndex(index, size);
+        return powerColumn[index];
+    }
+
+    /**
+     * Заменяет строку {@code index} полями автомобиля и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public Car set(int index, Car car) {
+        Car previous = get(index);
+        brandColumn[index] = brands.encode(car.getBrand());
+        modelColumn[index] = models.encode(car.getModel());
+        powerColumn[index] = car.getPower();
+        return previous;
+    }
+
+    @Override
+    public boolean add(Car car) {
+        add(car.getBrand(), car.getModel(), car.getPower());
+        return true;
+    }
+
+    /**
+     * Добавляет в конец строку с заданными полями, не создавая объект {@link Car}
+     */
+    public void add(String brand, String model, int power) {
+        if (size == powerColumn.length) {
+            grow(size + 1);
+        }
+        brandColumn[size] = brands.encode(brand);
+        modelColumn[size] = models.encode(model);
+        powerColumn[size] = power;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Car> c) {
+        if (size + c.size() > powerColumn.length) {
+            grow(size + c.size());
+        }
+        for (Car car : c) {
+            add(car);
+        }
+        return !c.isEmpty();
+    }
+
+    /**
+     * Удаляет все строки. Словари и вместимость сохраняются
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Возвращает количество строк, удовлетворяющих условию
+     */
+    public int count(CarFilter filter) {
+        long[] mask = evaluate(filter);
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Возвращает индексы строк, удовлетворяющих условию, по возрастанию
+     */
+    public int[] select(CarFilter filter) {
+        long[] mask = evaluate(filter);
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int r = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long word = mask[w]; word != 0; word &= word - 1) {
+                rows[r++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Возвращает новый список из строк, удовлетворяющих условию, в исходном порядке
+     */
+    public CarList filter(CarFilter filter) {
+        return copyRows(select(filter));
+    }
+
+    /**
+     * Возвращает {@code k} строк с наибольшими значениями столбца в порядке убывания; при равных значениях
+     * раньше идёт строка с меньшим индексом
+     *
+     * @throws IllegalArgumentException если {@code k} отрицательное
+     */
+    public CarList topK(Column column, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Illegal k " + k);
+        }
+        int[] keys = keys(column);
+        int limit = Math.min(k, size);
+        // Куча с минимумом в корне из k лучших строк: ключ в старших 32 битах, в младших - инвертированный индекс,
+        // чтобы при равных ключах выигрывала более ранняя строка
+        long[] heap = new long[limit];
+        for (int i = 0; i < size && limit > 0; i++) {
+            long packed = ((long) keys[i] << 32) | (Integer.MAX_VALUE - i);
+            if (i < limit) {
+                heap[i] = packed;
+                if (i == limit - 1) {
+                    for (int parent = (limit >>> 1) - 1; parent >= 0; parent--) {
+                        siftDown(heap, parent, limit);
+                    }
+                }
+            } else if (packed > heap[0]) {
+                heap[0] = packed;
+                siftDown(heap, 0, limit);
+            }
+        }
+        Arrays.sort(heap);
+        int[] rows = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            rows[i] = Integer.MAX_VALUE - (int) heap[limit - 1 - i];
+        }
+        return copyRows(rows);
+    }
+
+    /**
+     * Стабильно сортирует строки по возрастанию значения столбца. Мощность сортируется поразрядно за O(n),
+     * марка и модель - подсчётом по рангам строк словаря за O(n + d), где d - размер словаря
+     */
+    public void sortBy(Column column) {
+        int[] keys = keys(column);
+        int[] order = column == Column.POWER
+                ? radixOrder(keys, size)
+                : countingOrder(keys, size, (column == Column.BRAND ? brands : models).size() + 1);
+        brandColumn = permute(brandColumn, order);
+        modelColumn = permute(modelColumn, order);
+        powerColumn = permute(powerColumn, order);
+        modCount++;
+    }
+
+    /**
+     * Сортирует строки по марке, модели и мощности. Выполняется тремя стабильными сортировками по столбцам,
+     * начиная с младшего
+     */
+    public void sort() {
+        sortBy(Column.POWER);
+        sortBy(Column.MODEL);
+        sortBy(Column.BRAND);
+    }
+
+    /**
+     * Сортирует строки компаратором. Если компаратор равен {@code null}, используется {@link #sort()};
+     * иначе строки материализуются в объекты {@link Car}
+     */
+    @Override
+    public void sort(Comparator<? super Car> c) {
+        if (c == null) {
+            sort();
+        } else {
+            super.sort(c);
+        }
+    }
+
+    int[] brandCodes() {
+        return brandColumn;
+    }
+
+    int[] modelCodes() {
+        return modelColumn;
+    }
+
+    int[] powers() {
+        return powerColumn;
+    }
+
+    StringDictionary brandDictionary() {
+        return brands;
+    }
+
+    StringDictionary modelDictionary() {
+        return models;
+    }
+
+    private long[] evaluate(CarFilter filter) {
+        long[] mask = new long[(size + 63) >>> 6];
+        filter.evaluate(this, mask);
+        return mask;
+    }
+
+    /**
+     * Возвращает ключи строк для столбца: мощность как есть, для марки и модели - ранг строки в словаре без учёта
+     * регистра (начиная с 1, {@code null} имеет ранг 0)
+     */
+    private int[] keys(Column column) {
+        if (column == Column.POWER) {
+            return powerColumn;
+        }
+        StringDictionary dictionary = column == Column.BRAND ? brands : models;
+        int[] codes = column == Column.BRAND ? brandColumn : modelColumn;
+        int[] ranks = dictionary.ranks(String.CASE_INSENSITIVE_ORDER);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = codes[i] < 0 ? 0 : ranks[codes[i]] + 1;
+        }
+        return keys;
+    }
+
+    /**
+     * Возвращает стабильную перестановку, упорядочивающую ключи из диапазона {@code [0, range)}, сортировкой подсчётом
+     */
+    private static int[] countingOrder(int[] keys, int n, int range) {
+        int[] counts = new int[range + 1];
+        for (int i = 0; i < n; i++) {
+            counts[keys[i] + 1]++;
+        }
+        for (int k = 0; k < range; k++) {
+            counts[k + 1] += counts[k];
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[counts[keys[i]]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Возвращает стабильную перестановку, упорядочивающую знаковые ключи, поразрядной сортировкой по байтам
+     * (LSD). Проходы, в которых у всех ключей одинаковый байт, пропускаются
+     */
+    private static int[] radixOrder(int[] keys, int n) {
+        int[] order = new int[n];
+        int[] buffer = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[digit(keys[i], shift) + 1]++;
+            }
+            if (n == 0 || counts[digit(keys[0], shift) + 1] == n) {
+                continue;
+            }
+            for (int d = 0; d < 256; d++) {
+                counts[d + 1] += counts[d];
+            }
+            for (int i = 0; i < n; i++) {
+                int row = order[i];
+                buffer[counts[digit(keys[row], shift)]++] = row;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Возвращает байт ключа; знаковый бит инвертирован, чтобы отрицательные значения шли раньше положительных
+     */
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    private int[] permute(int[] column, int[] order) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    private CarList copyRows(int[] rows) {
+        CarList result = new CarList(brands, models, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            result.brandColumn[i] = brandColumn[rows[i]];
+            result.modelColumn[i] = modelColumn[rows[i]];
+            result.powerColumn[i] = powerColumn[rows[i]];
+        }
+        result.size = rows.length;
+        return result;
+    }
+
+    private static void siftDown(long[] heap, int index, int size) {
+        long value = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = powerColumn.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(GrowthPolicy.DEFAULT.grow(oldCapacity, minCapacity), minCapacity);
+        brandColumn = Arrays.copyOf(brandColumn, newCapacity);
+        modelColumn = Arrays.copyOf(modelColumn, newCapacity);
+        powerColumn = Arrays.copyOf(powerColumn, newCapacity);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.cars;
+
+import org.example.offheap.RecordCodec;
+import org.example.offheap.RecordKey;
+import org.example.offheap.StringDictionary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек {@link Car} для {@link org.example.offheap.OffHeapPanfArrList}. Запись занимает 12 байт: код марки, код
+ * модели и мощность, по {@code int} каждое. Марки и модели кодируются общим для всех записей
+ * {@link StringDictionary}, который сохраняется вместе со списком как метаданные кодека.
+ * <p>Ключи {@link #brand()}, {@link #model()} и {@link #power()} позволяют сортировать список по полю без
+ * декодирования записей. Так как сортировка по ключу стабильна, порядок {@link Car#compareTo(Car)} получается
+ * последовательной сортировкой по мощности, модели и марке.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class CarRecordCodec implements RecordCodec<Car> {
+
+    public static final int BRAND_OFFSET = 0;
+
+    public static final int MODEL_OFFSET = 4;
+
+    public static final int POWER_OFFSET = 8;
+
+    public static final int RECORD_SIZE = 12;
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    @Override
+    public int recordSize() {
+        return RECORD_SIZE;
+    }
+
+    @Override
+    public void write(Car car, ByteBuffer buffer, int offset) {
+        buffer.putInt(offset + BRAND_OFFSET, dictionary.encode(car.getBrand()));
+        buffer.putInt(offset + MODEL_OFFSET, dictionary.encode(car.getModel()));
+        buffer.putInt(offset + POWER_OFFSET, car.getPower());
+    }
+
+    @Override
+    public Car read(ByteBuffer buffer, int offset) {
+        return new Car(dictionary.decode(buffer.getInt(offset + BRAND_OFFSET)),
+                dictionary.decode(buffer.getInt(offset + MODEL_OFFSET)),
+                buffer.getInt(offset + POWER_OFFSET));
+    }
+
+    /**
+     * Возвращает словарь марок и моделей
+     */
+    public StringDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Возвращает ключ сортировки по мощности
+     */
+    public RecordKey power() {
+        return RecordKey.intField(POWER_OFFSET);
+    }
+
+    /**
+     * Возвращает ключ сортировки по марке без учёта регистра, как в {@link Car#compareTo(Car)}. Ключ использует ранги словаря на момент
+     * вызова, поэтому его нужно получать заново после добавления новых марок
+     */
+    public RecordKey brand() {
+        return rankKey(BRAND_OFFSET);
+    }
+
+    /**
+     * Возвращает ключ сортировки по модели без учёта регистра, как в {@link Car#compareTo(Car)}. Ключ использует ранги словаря на момент
+     * вызова, поэтому его нужно получать заново после добавления новых моделей
+     */
+    public RecordKey model() {
+        return rankKey(MODEL_OFFSET);
+    }
+
+    private RecordKey rankKey(int fieldOffset) {
+        int[] ranks = dictionary.ranks(String.CASE_INSENSITIVE_ORDER);
+        return (buffer, offset) -> {
+            int code = buffer.getInt(offset + fieldOffset);
+            return code < 0 ? -1 : ranks[code];
+        };
+    }
+
+    @Override
+    public void writeMetadata(DataOutput out) throws IOException {
+        dictionary.writeTo(out);
+    }
+
+    @Override
+    public void readMetadata(DataInput in) throws IOException {
+        dictionary.readFrom(in);
+    }
+}
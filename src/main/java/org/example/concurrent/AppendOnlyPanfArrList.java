@@ -0,0 +1,263 @@
+package org.example.concurrent;
+
+import org.example.PanfArrList;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Потокобезопасный список только для добавления в конец, без блокировок. Рассчитан на сценарий, когда несколько
+ * потоков-производителей одновременно добавляют элементы, а читатель периодически забирает накопленное.
+ * <p>Добавление резервирует слот атомарным увеличением счётчика {@code reserved} (без повторов при конкуренции),
+ * после чего записывает элемент в свой слот. Элементы хранятся в сегментах фиксированного размера
+ * {@value #SEGMENT_SIZE}, которые выделяются по мере необходимости и никогда не копируются, поэтому расширение
+ * списка не останавливает других производителей. Сегменты адресуются двухуровневым каталогом, так что доступ по
+ * индексу выполняется за O(1).
+ * <p>Читатели видят список до <em>опубликованной границы</em> {@link #size()}: это наибольший индекс, до которого
+ * все зарезервированные слоты уже заполнены. Граница сдвигается вперёд при чтении, а не при записи, так что
+ * производители не конкурируют за неё. Элемент, добавление которого завершилось до вызова {@code size()}, всегда
+ * оказывается ниже границы, если все предшествующие ему резервирования также завершены; производитель, остановленный
+ * между резервированием и записью, задерживает публикацию следующих за ним элементов. Всё, что ниже границы,
+ * неизменно, поэтому итераторы и снимки никогда не выбрасывают {@link ConcurrentModificationException}.
+ * <p>Элементы {@code null} не допускаются: пустой слот означает, что запись ещё не завершена. Операции изменения,
+ * кроме добавления в конец, не поддерживаются.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class AppendOnlyPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int SEGMENT_SHIFT = 10;
+
+    /**
+     * Количество элементов в одном сегменте
+     */
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    private static final int DIRECTORY_SHIFT = 10;
+
+    private static final int DIRECTORY_SIZE = 1 << DIRECTORY_SHIFT;
+
+    /**
+     * Максимальное количество элементов, ограниченное типом индекса
+     */
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Верхний уровень каталога сегментов: элемент с индексом {@code i} лежит в сегменте
+     * {@code directory[i >>> 20][(i >>> 10) & 1023]} по смещению {@code i & 1023}
+     */
+    private final AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>> directory =
+            new AtomicReferenceArray<>(1 << (31 - SEGMENT_SHIFT - DIRECTORY_SHIFT));
+
+    /**
+     * Количество зарезервированных слотов. Может превышать количество заполненных
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /**
+     * Опубликованная граница: все слоты ниже неё заполнены
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Добавляет элемент в конец списка без блокировок
+     *
+     * @return всегда {@code true}
+     * @throws NullPointerException  если элемент равен {@code null}
+     * @throws IllegalStateException если список заполнен до максимального размера
+     */
+    @Override
+    public boolean add(T t) {
+        Objects.requireNonNull(t, "element");
+        int index = reserved.getAndIncrement();
+        if (index < 0) {
+            reserved.set(Integer.MIN_VALUE);
+            throw new IllegalStateException("List is full: " + MAX_SIZE + " elements");
+        }
+        segment(index, true).setRelease(index & (SEGMENT_SIZE - 1), t);
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы коллекции в конец списка. Элементы резервируются одним атомарным действием, поэтому
+     * они идут подряд, не перемежаясь с элементами других производителей
+     *
+     * @throws NullPointerException если коллекция содержит {@code null}
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        for (Object e : added) {
+            Objects.requireNonNull(e, "element");
+        }
+        int from = reserved.getAndAdd(added.length);
+        if (from < 0 || (long) from + added.length > MAX_SIZE) {
+            reserved.set(Integer.MIN_VALUE);
+            throw new IllegalStateException("List is full: " + MAX_SIZE + " elements");
+        }
+        for (int i = 0; i < added.length; i++) {
+            int index = from + i;
+            segment(index, true).setRelease(index & (SEGMENT_SIZE - 1), added[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает опубликованную границу - количество элементов, которые гарантированно видны читателю.
+     * Сдвигает границу за все подряд заполненные слоты
+     */
+    @Override
+    public int size() {
+        int bound = published.get();
+        int limit = reservedCount();
+        int scan = bound;
+        while (scan < limit && slot(scan) != null) {
+            scan++;
+        }
+        while (scan > bound) {
+            if (published.compareAndSet(bound, scan)) {
+                return scan;
+            }
+            bound = published.get();
+        }
+        return bound;
+    }
+
+    /**
+     * Возвращает количество зарезервированных слотов, включая те, запись в которые ещё не завершена
+     */
+    public int reservedCount() {
+        int r = reserved.get();
+        return r < 0 ? (int) MAX_SIZE : r;
+    }
+
+    /**
+     * Возвращает элемент по индексу ниже опубликованной границы
+     *
+     * @throws IndexOutOfBoundsException если индекс не меньше {@link #size()}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= published.get()) {
+            Objects.checkIndex(index, size());
+        }
+        return (T) slot(index);
+    }
+
+    /**
+     * Передаёт действию элементы с индексами {@code [from, size())} и возвращает граничный индекс, с которого
+     * нужно начать следующий вызов. Так читатель забирает накопленное пачками, не копируя список
+     *
+     * @throws IndexOutOfBoundsException если {@code from} больше опубликованной границы
+     */
+    @SuppressWarnings("unchecked")
+    public int forEachFrom(int from, Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int to = size();
+        Objects.checkFromToIndex(from, to, to);
+        int index = from;
+        while (index < to) {
+            AtomicReferenceArray<Object> segment = segment(index, false);
+            int end = Math.min(to, (index & -SEGMENT_SIZE) + SEGMENT_SIZE);
+            for (; index < end; index++) {
+                action.accept((T) segment.getAcquire(index & (SEGMENT_SIZE - 1)));
+            }
+        }
+        return to;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        forEachFrom(0, action);
+    }
+
+    /**
+     * Возвращает копию опубликованной части списка в виде {@link PanfArrList}
+     */
+    public PanfArrList<T> snapshot() {
+        PanfArrList<T> copy = new PanfArrList<>(size());
+        forEachFrom(0, copy::add);
+        return copy;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    /**
+     * Возвращает итератор по элементам ниже опубликованной границы на момент вызова
+     */
+    @Override
+    public Iterator<T> iterator() {
+        int to = size();
+        return new Iterator<T>() {
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < to;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (cursor >= to) {
+                    throw new NoSuchElementException();
+                }
+                return (T) slot(cursor++);
+            }
+        };
+    }
+
+    /**
+     * Возвращает сплитератор по элементам ниже опубликованной границы на момент вызова
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Читает слот с индексом {@code index}; возвращает {@code null}, если запись в него ещё не завершена
+     */
+    private Object slot(int index) {
+        AtomicReferenceArray<Object> segment = segment(index, false);
+        return segment == null ? null : segment.getAcquire(index & (SEGMENT_SIZE - 1));
+    }
+
+    /**
+     * Возвращает сегмент, содержащий индекс {@code index}. Отсутствующие части каталога и сегмент создаются, если
+     * {@code create} равен {@code true}; при гонке нескольких производителей используется сегмент победителя
+     */
+    private AtomicReferenceArray<Object> segment(int index, boolean create) {
+        int top = index >>> (SEGMENT_SHIFT + DIRECTORY_SHIFT);
+        int middle = (index >>> SEGMENT_SHIFT) & (DIRECTORY_SIZE - 1);
+        AtomicReferenceArray<AtomicReferenceArray<Object>> segments = directory.get(top);
+        if (segments == null) {
+            if (!create) {
+                return null;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<Object>> fresh = new AtomicReferenceArray<>(DIRECTORY_SIZE);
+            segments = directory.compareAndSet(top, null, fresh) ? fresh : directory.get(top);
+        }
+        AtomicReferenceArray<Object> segment = segments.get(middle);
+        if (segment == null) {
+            if (!create) {
+                return null;
+            }
+            AtomicReferenceArray<Object> fresh = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            segment = segments.compareAndSet(middle, null, fresh) ? fresh : segments.get(middle);
+        }
+        return segment;
+    }
+}
@@ -0,0 +1,372 @@
+package org.example.concurrent;
+
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Потокобезопасный список с копированием при записи. Элементы хранятся в неизменяемом после публикации массиве;
+ * каждое изменение создаёт новую копию массива под блокировкой и публикует её через volatile-ссылку.
+ * <p>Чтение ({@code get}, {@code size}, {@code indexOf}, {@code contains}, обход) выполняется без блокировок и
+ * никогда не ждёт писателей. Итераторы, сплитераторы и {@code subList} работают со снимком списка на момент их
+ * создания: они не видят последующих изменений, никогда не выбрасывают {@link ConcurrentModificationException}
+ * и не поддерживают изменение списка. Изменение стоит O(n), поэтому список подходит для данных, которые читаются
+ * намного чаще, чем изменяются (например, конфигурации и списки подписчиков).
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class CopyOnWritePanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    /**
+     * Блокировка, упорядочивающая писателей. Читатели её не захватывают
+     */
+    private final transient ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Текущий снимок элементов. Опубликованный массив никогда не изменяется
+     */
+    private volatile Object[] elements;
+
+    /**
+     * Создает пустой список
+     */
+    public CopyOnWritePanfArrList() {
+        elements = new Object[0];
+    }
+
+    /**
+     * Создает список, содержащий элементы переданной коллекции в порядке её итератора
+     */
+    public CopyOnWritePanfArrList(Collection<? extends T> c) {
+        Object[] a = c.toArray();
+        elements = Arrays.copyOf(a, a.length, Object[].class);
+    }
+
+    /**
+     * Возвращает текущий снимок элементов списка. Изменять возвращённый массив нельзя
+     */
+    private Object[] snapshot() {
+        return elements;
+    }
+
+    @Override
+    public int size() {
+        return snapshot().length;
+    }
+
+    /**
+     * Возвращает элемент по индексу без блокировок
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Object[] es = snapshot();
+        Objects.checkIndex(index, es.length);
+        return (T) es[index];
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, snapshot());
+    }
+
+    private static int indexOf(Object o, Object[] es) {
+        for (int i = 0; i < es.length; i++) {
+            if (Objects.equals(o, es[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Object[] es = snapshot();
+        for (int i = es.length - 1; i >= 0; i--) {
+            if (Objects.equals(o, es[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Заменяет элемент по индексу и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Objects.checkIndex(index, es.length);
+            T previous = (T) es[index];
+            if (previous != element) {
+                es = es.clone();
+                es[index] = element;
+                elements = es;
+            }
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(T t) {
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Object[] copy = Arrays.copyOf(es, es.length + 1);
+            copy[es.length] = t;
+            elements = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет элемент по индексу, сдвигая последующие элементы вправо
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    @Override
+    public void add(int index, T element) {
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Objects.checkIndex(index, es.length + 1);
+            Object[] copy = new Object[es.length + 1];
+            System.arraycopy(es, 0, copy, 0, index);
+            System.arraycopy(es, index, copy, index + 1, es.length - index);
+            copy[index] = element;
+            elements = copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет элемент в конец списка, только если его ещё нет в списке. Проверка и добавление выполняются атомарно
+     *
+     * @return true, если элемент был добавлен
+     */
+    public boolean addIfAbsent(T t) {
+        if (indexOf(t, snapshot()) >= 0) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Object[] es = elements;
+            if (indexOf(t, es) >= 0) {
+                return false;
+            }
+            Object[] copy = Arrays.copyOf(es, es.length + 1);
+            copy[es.length] = t;
+            elements = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Object[] copy = Arrays.copyOf(es, es.length + added.length);
+            System.arraycopy(added, 0, copy, es.length, added.length);
+            elements = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Удаляет элемент по индексу и возвращает его
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Objects.checkIndex(index, es.length);
+            T removed = (T) es[index];
+            Object[] copy = new Object[es.length - 1];
+            System.arraycopy(es, 0, copy, 0, index);
+            System.arraycopy(es, index + 1, copy, index, es.length - index - 1);
+            elements = copy;
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            int index = indexOf(o, elements);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, одной публикацией нового массива
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        lock.lock();
+        try {
+            Object[] es = elements;
+            Object[] kept = new Object[es.length];
+            int count = 0;
+            for (Object e : es) {
+                if (!filter.test((T) e)) {
+                    kept[count++] = e;
+                }
+            }
+            if (count == es.length) {
+                return false;
+            }
+            elements = Arrays.copyOf(kept, count);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            elements = new Object[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Стабильно сортирует список: копия текущего массива сортируется и публикуется целиком
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c) {
+        lock.lock();
+        try {
+            Object[] copy = elements.clone();
+            SortAlgorithm.TIMSORT.sort(copy, 0, copy.length,
+                    c != null ? c : (Comparator<? super T>) Comparator.naturalOrder());
+            elements = copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (Object e : snapshot()) {
+            action.accept((T) e);
+        }
+    }
+
+    /**
+     * Возвращает итератор по снимку списка на момент вызова. Итератор не поддерживает {@code remove}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Возвращает итератор по снимку списка на момент вызова, начиная с позиции {@code index}. Итератор не
+     * поддерживает изменяющие операции
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListIterator<T> listIterator(int index) {
+        Object[] es = snapshot();
+        Objects.checkIndex(index, es.length + 1);
+        return Collections.unmodifiableList(Arrays.asList((T[]) es)).listIterator(index);
+    }
+
+    /**
+     * Возвращает сплитератор по снимку списка с характеристиками {@link Spliterator#IMMUTABLE},
+     * {@link Spliterator#ORDERED}, {@link Spliterator#SIZED} и {@link Spliterator#SUBSIZED}
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(snapshot(), Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    /**
+     * Возвращает неизменяемый снимок части списка {@code [fromIndex, toIndex)} на момент вызова
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы списка
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> subList(int fromIndex, int toIndex) {
+        Object[] es = snapshot();
+        Objects.checkFromToIndex(fromIndex, toIndex, es.length);
+        return Collections.unmodifiableList(Arrays.asList((T[]) es).subList(fromIndex, toIndex));
+    }
+}
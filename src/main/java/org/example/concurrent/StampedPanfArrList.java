@@ -0,0 +1,463 @@
+package org.example.concurrent;
+
+import org.example.GrowthPolicy;
+import org.example.sort.SortAlgorithm;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Потокобезопасный динамический массив на {@link StampedLock}.
+ * <p>Операции чтения {@code get}, {@code size}, {@code isEmpty} и {@code indexOf} сначала выполняются оптимистично,
+ * без захвата блокировки: читается ссылка на массив и размер, затем проверяется, не было ли за это время записи.
+ * Только если запись была, чтение повторяется под блокировкой чтения. Поэтому при редких изменениях читатели не
+ * мешают друг другу и не пишут в общую память. Все изменения выполняются под блокировкой записи.
+ * <p>Итераторы, сплитераторы и {@code subList} работают с копией списка, сделанной под блокировкой чтения в момент
+ * их создания, и не поддерживают изменение списка.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class StampedPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Массив элементов. Изменяется только под блокировкой записи
+     */
+    private Object[] elements;
+
+    /**
+     * Количество элементов. Изменяется только под блокировкой записи
+     */
+    private int size = 0;
+
+    /**
+     * Политика увеличения вместимости, используемая при нехватке места во внутреннем массиве
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию
+     */
+    public StampedPanfArrList() {
+        this(DEFAULT_CAPACITY, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public StampedPanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.elements = new Object[capacity];
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+    }
+
+    /**
+     * Возвращает количество элементов. Выполняется оптимистично, без блокировки, если список в это время не изменялся
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Возвращает элемент по индексу. Выполняется оптимистично, без блокировки, если список в это время не изменялся
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elements;
+        int n = size;
+        // Во время оптимистичного чтения массив и размер могут быть несогласованы, поэтому индекс проверяется
+        // и по длине массива; результат используется только после успешной проверки штампа
+        Object element = index >= 0 && index < n && index < es.length ? es[index] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                element = index >= 0 && index < n ? elements[index] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        Objects.checkIndex(index, n);
+        return (T) element;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента по equals или -1. Просмотр выполняется оптимистично; если за время
+     * просмотра список изменился (в том числе если equals выбросил исключение на несогласованных данных), поиск
+     * повторяется под блокировкой чтения
+     */
+    @Override
+    public int indexOf(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] es = elements;
+            int n = Math.min(size, es.length);
+            int found = -1;
+            try {
+                for (int i = 0; i < n; i++) {
+                    if (Objects.equals(o, es[i])) {
+                        found = i;
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Несогласованное оптимистичное чтение могло передать в equals недостроенный элемент. Исключение
+                // выбрасывается, только если чтение было согласованным; иначе поиск повторяется под блокировкой
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+                found = -1;
+            }
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(o, elements[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Заменяет элемент по индексу и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            T previous = (T) elements[index];
+            elements[index] = element;
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(T t) {
+        long stamp = lock.writeLock();
+        try {
+            if (size == elements.length) {
+                grow(size + 1);
+            }
+            elements[size++] = t;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Добавляет элемент по индексу, сдвигая последующие элементы вправо
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    @Override
+    public void add(int index, T element) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size + 1);
+            if (size == elements.length) {
+                grow(size + 1);
+            }
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (size + added.length > elements.length) {
+                grow(size + added.length);
+            }
+            System.arraycopy(added, 0, elements, size, added.length);
+            size += added.length;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет элемент по индексу и возвращает его
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public T remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            return removeAt(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(o, elements[i])) {
+                    removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет последний элемент и возвращает его, или возвращает {@code null}, если список пуст. Проверка размера
+     * и удаление выполняются атомарно
+     */
+    public T pollLast() {
+        long stamp = lock.writeLock();
+        try {
+            return size == 0 ? null : removeAt(size - 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход под блокировкой записи. Условие не должно
+     * обращаться к этому списку. Если условие выбросило исключение, уже проверенные элементы остаются удалёнными,
+     * а непроверенный хвост сохраняется
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        long stamp = lock.writeLock();
+        try {
+            int end = size;
+            int newSize = 0;
+            int i = 0;
+            try {
+                for (; i < end; i++) {
+                    Object e = elements[i];
+                    if (!filter.test((T) e)) {
+                        elements[newSize++] = e;
+                    }
+                }
+            } finally {
+                if (newSize < i) {
+                    System.arraycopy(elements, i, elements, newSize, end - i);
+                    newSize += end - i;
+                    Arrays.fill(elements, newSize, end, null);
+                    size = newSize;
+                    modCount++;
+                }
+            }
+            return newSize < end;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет элементы, содержащиеся в переданной коллекции. Коллекция копируется до захвата блокировки записи,
+     * поэтому ей может быть и сам этот список
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        Set<Object> snapshot = new HashSet<>(Arrays.asList(c.toArray()));
+        return removeIf(snapshot::contains);
+    }
+
+    /**
+     * Оставляет только элементы, содержащиеся в переданной коллекции. Коллекция копируется до захвата блокировки
+     * записи, поэтому ей может быть и сам этот список
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        Set<Object> snapshot = new HashSet<>(Arrays.asList(c.toArray()));
+        return removeIf(e -> !snapshot.contains(e));
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Стабильно сортирует список под блокировкой записи. Компаратор не должен обращаться к этому списку
+     *
+     * @param c компаратор; если {@code null}, используется естественный порядок элементов
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c) {
+        long stamp = lock.writeLock();
+        try {
+            SortAlgorithm.TIMSORT.sort(elements, 0, size,
+                    c != null ? c : (Comparator<? super T>) Comparator.naturalOrder());
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает копию элементов списка, сделанную под блокировкой чтения
+     */
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return Arrays.copyOf(elements, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (Object e : toArray()) {
+            action.accept((T) e);
+        }
+    }
+
+    /**
+     * Возвращает итератор по копии списка на момент вызова. Итератор не поддерживает {@code remove}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Возвращает итератор по копии списка на момент вызова, начиная с позиции {@code index}. Итератор не
+     * поддерживает изменяющие операции
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListIterator<T> listIterator(int index) {
+        Object[] copy = toArray();
+        Objects.checkIndex(index, copy.length + 1);
+        return Collections.unmodifiableList(Arrays.asList((T[]) copy)).listIterator(index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(toArray(), Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    /**
+     * Возвращает неизменяемую копию части списка {@code [fromIndex, toIndex)} на момент вызова
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы списка
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> subList(int fromIndex, int toIndex) {
+        Object[] copy = toArray();
+        Objects.checkFromToIndex(fromIndex, toIndex, copy.length);
+        return Collections.unmodifiableList(Arrays.asList((T[]) copy).subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Удаляет элемент по проверенному индексу. Вызывается только под блокировкой записи
+     */
+    @SuppressWarnings("unchecked")
+    private T removeAt(int index) {
+        T removed = (T) elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Увеличивает вместимость согласно {@code growthPolicy}. Вызывается только под блокировкой записи
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Константы и общие процедуры двоичного формата списка.
+ * <p>Формат файла (все числа big-endian):
+ * <pre>
+ * int   MAGIC ("PANB")
+ * int   длина остатка заголовка в байтах
+ * short версия формата
+ * long  количество элементов (обновляется при flush и close писателя)
+ * short длина идентификатора кодека, затем идентификатор в UTF-8
+ * далее - чанки до конца файла:
+ *   int количество элементов в чанке
+ *   int длина данных чанка в байтах
+ *   элементы: varint (длина элемента + 1, 0 означает null), затем байты элемента
+ * </pre>
+ * Чанки самодостаточны, поэтому к файлу можно дописывать новые чанки, а читатель обрабатывает файл потоково.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x50414E42;
+
+    static final short VERSION = 1;
+
+    /**
+     * Смещение поля количества элементов от начала файла
+     */
+    static final int COUNT_OFFSET = 10;
+
+    static final int CHUNK_HEADER_SIZE = 8;
+
+    /**
+     * Максимальная длина varint для {@code int}
+     */
+    static final int MAX_VARINT_SIZE = 5;
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private BinaryFormat() {
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static int getVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Truncated element length");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed element length");
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодек элементов для двоичного формата {@link PanfArrListWriter} / {@link PanfArrListReader}. Элемент
+ * записывается в буфер в произвольном формате; длину элемента и значение {@code null} кодирует сам формат файла,
+ * поэтому кодек работает только с непустыми значениями и при чтении получает буфер, ограниченный ровно байтами
+ * одного элемента.
+ * <p>Готовые кодеки для строк и чисел возвращают фабричные методы интерфейса, кодек {@link org.example.cars.Car} -
+ * {@link org.example.cars.CarElementCodec}.
+ *
+ * @param <T> тип кодируемого элемента
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public interface ElementCodec<T> {
+
+    /**
+     * Возвращает идентификатор кодека, который записывается в заголовок файла и проверяется при чтении
+     */
+    String id();
+
+    /**
+     * Записывает элемент в буфер начиная с его текущей позиции. Если места не хватает, кодек может выбросить
+     * {@link java.nio.BufferOverflowException}: запись будет повторена с буфером большего размера
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Читает элемент из буфера, позиция которого указывает на начало элемента, а лимит - на его конец
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Возвращает кодек строк в UTF-8
+     */
+    static ElementCodec<String> utf8() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "utf8";
+            }
+
+            @Override
+            public void encode(String value, ByteBuffer buffer) {
+                buffer.put(value.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                return decodeUtf8(buffer, buffer.remaining());
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link Integer} фиксированной длины 4 байта
+     */
+    static ElementCodec<Integer> int32() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "int32";
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer) {
+                buffer.putInt(value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link Long} фиксированной длины 8 байт
+     */
+    static ElementCodec<Long> int64() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "int64";
+            }
+
+            @Override
+            public void encode(Long value, ByteBuffer buffer) {
+                buffer.putLong(value);
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link Double} фиксированной длины 8 байт
+     */
+    static ElementCodec<Double> float64() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "float64";
+            }
+
+            @Override
+            public void encode(Double value, ByteBuffer buffer) {
+                buffer.putDouble(value);
+            }
+
+            @Override
+            public Double decode(ByteBuffer buffer) {
+                return buffer.getDouble();
+            }
+        };
+    }
+
+    /**
+     * Читает {@code length} байт UTF-8 из буфера в строку. Предназначен для кодеков, хранящих строки в составе
+     * элемента
+     */
+    static String decodeUtf8(ByteBuffer buffer, int length) {
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,523 @@
+package org.example.io;
+
+import org.example.PanfArrList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Внешняя сортировка слиянием для данных, не помещающихся в куче.
+ * <p>Входные элементы накапливаются в {@link PanfArrList} до размера серии, определяемого бюджетом памяти; серия
+ * сортируется в памяти ({@link PanfArrList#sort(Comparator)}) и сбрасывается во временный файл в двоичном формате
+ * {@link PanfArrListWriter} с кодеком элементов. Затем серии сливаются деревом проигравших ({@link LoserTree}) с
+ * буферизованным чтением каждой серии через {@link java.nio.channels.FileChannel}. Если серий больше, чем допустимо
+ * сливать за раз ({@code fanIn}), выполняются промежуточные проходы слияния соседних серий. Результат записывается в
+ * файл ({@link #sort(Iterator, Path)}) или читается потоково ({@link #sort(Iterator)}). Если все элементы поместились
+ * в одну серию, временные файлы не создаются.
+ * <p>При {@code parallelism > 1} серии сортируются и сбрасываются на диск в отдельных потоках, пока вызывающий
+ * поток заполняет следующую серию; бюджет памяти делится между всеми сериями, одновременно находящимися в памяти.
+ * <p>Сортировка стабильна: серии сливаются в порядке их поступления, а из равных элементов первым выходит элемент
+ * более ранней серии. Компаратор и кодек должны допускать вызов из нескольких потоков, если {@code parallelism > 1}.
+ * <pre>{@code
+ * ExternalSorter<Car> sorter = ExternalSorter.builder(new CarElementCodec(), Comparator.naturalOrder())
+ *         .memoryBudget(256L << 20)
+ *         .parallelism(4)
+ *         .build();
+ * sorter.sort(PanfArrListReader.open(input, new CarElementCodec()), output);
+ * }</pre>
+ *
+ * @param <T> тип сортируемого элемента
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class ExternalSorter<T> {
+
+    private final ElementCodec<T> codec;
+
+    private final Comparator<? super T> comparator;
+
+    private final int runSize;
+
+    private final int fanIn;
+
+    private final int parallelism;
+
+    private final int bufferSize;
+
+    private final Path tempDirectory;
+
+    private ExternalSorter(Builder<T> builder) {
+        this.codec = builder.codec;
+        this.comparator = builder.comparator;
+        this.fanIn = builder.fanIn;
+        this.parallelism = builder.parallelism;
+        this.bufferSize = builder.bufferSize;
+        this.tempDirectory = builder.tempDirectory;
+        // В памяти одновременно находятся заполняемая серия и до parallelism сортируемых
+        long perRun = builder.memoryBudget / (parallelism + 1) / (builder.elementSize + 8);
+        this.runSize = (int) Math.max(1, Math.min(perRun, Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Возвращает построитель сортировщика
+     *
+     * @param codec      кодек, которым серии записываются во временные файлы
+     * @param comparator порядок сортировки; если {@code null}, используется естественный порядок элементов
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Builder<T> builder(ElementCodec<T> codec, Comparator<? super T> comparator) {
+        return new Builder<>(Objects.requireNonNull(codec, "codec"),
+                comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Возвращает максимальное количество элементов в серии, вычисленное по бюджету памяти
+     */
+    public int runSize() {
+        return runSize;
+    }
+
+    /**
+     * Сортирует элементы и записывает результат в файл формата {@link PanfArrListWriter}
+     *
+     * @return количество отсортированных элементов
+     * @throws IOException при ошибке чтения или записи временных файлов или файла результата
+     */
+    public long sort(Iterator<? extends T> input, Path output) throws IOException {
+        try (SortedIterator<T> sorted = sort(input);
+             PanfArrListWriter<T> writer = PanfArrListWriter.create(output, codec, bufferSize)) {
+            while (sorted.hasNext()) {
+                writer.write(sorted.next());
+            }
+            return writer.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Сортирует элементы и возвращает итератор по результату. Итератор читает временные файлы серий и должен быть
+     * закрыт; при закрытии временные файлы удаляются
+     *
+     * @throws IOException при ошибке записи временных файлов
+     */
+    public SortedIterator<T> sort(Iterator<? extends T> input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            PanfArrList<T> last = generateRuns(input, runs);
+            if (last != null) {
+                return new SortedIterator<>(last.iterator(), List.of(), List.of(), 0);
+            }
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs);
+                passes++;
+            }
+            return openMerge(runs, passes);
+        } catch (IOException | RuntimeException | Error e) {
+            deleteAll(runs, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Делит вход на отсортированные серии и сбрасывает их во временные файлы, добавляя пути в {@code runs} в порядке
+     * поступления. Если весь вход поместился в одну серию, возвращает её отсортированной, не записывая на диск
+     */
+    private PanfArrList<T> generateRuns(Iterator<? extends T> input, List<Path> runs) throws IOException {
+        PanfArrList<T> run = fill(input);
+        if (!input.hasNext()) {
+            run.sort(comparator);
+            return run;
+        }
+        if (parallelism == 1) {
+            do {
+                run.sort(comparator);
+                runs.add(spill(run));
+                run = fill(input);
+            } while (!run.isEmpty());
+            return null;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "external-sort-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Ограничивает количество серий, одновременно сортируемых в фоне, чтобы не выйти за бюджет памяти
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<Path>> pending = new ArrayList<>();
+        boolean completed = false;
+        try {
+            do {
+                PanfArrList<T> full = run;
+                inFlight.acquireUninterruptibly();
+                pending.add(executor.submit(() -> {
+                    try {
+                        full.sort(comparator);
+                        return spill(full);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                run = fill(input);
+            } while (!run.isEmpty());
+            for (Future<Path> future : pending) {
+                runs.add(await(future));
+            }
+            completed = true;
+            return null;
+        } finally {
+            executor.shutdown();
+            if (!completed) {
+                collectSpilled(executor, pending, runs);
+            }
+        }
+    }
+
+    /**
+     * После ошибки снимает ещё не начатые задачи, прерывает выполняющиеся, дожидается их завершения и добавляет
+     * записанные серии в {@code runs}, чтобы их файлы были удалены
+     */
+    private static void collectSpilled(ExecutorService executor, List<Future<Path>> pending, List<Path> runs) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Future<Path> future : pending) {
+            if (future.isDone()) {
+                try {
+                    Path path = future.get();
+                    if (!runs.contains(path)) {
+                        runs.add(path);
+                    }
+                } catch (ExecutionException | InterruptedException ignored) {
+                    // Задача не записала серию
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PanfArrList<T> fill(Iterator<? extends T> input) {
+        PanfArrList<T> run = new PanfArrList<>(Math.min(runSize, 1 << 16));
+        while (run.size() < runSize && input.hasNext()) {
+            run.add(input.next());
+        }
+        return run;
+    }
+
+    private Path spill(Iterable<? extends T> run) throws IOException {
+        Path file = newTempFile();
+        try (PanfArrListWriter<T> writer = PanfArrListWriter.create(file, codec, bufferSize)) {
+            writer.writeAll(run);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Сливает соседние группы по {@code fanIn} серий в новые серии. Сохранение порядка групп сохраняет стабильность
+     */
+    private List<Path> mergePass(List<Path> runs) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+                Path file = newTempFile();
+                merged.add(file);
+                try (SortedIterator<T> sorted = openMerge(group, 0);
+                     PanfArrListWriter<T> writer = PanfArrListWriter.create(file, codec, bufferSize)) {
+                    while (sorted.hasNext()) {
+                        writer.write(sorted.next());
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            List<Path> created = new ArrayList<>(merged);
+            created.removeAll(runs);
+            deleteAll(created, e);
+            throw e;
+        }
+        return merged;
+    }
+
+    /**
+     * Открывает серии, оставшиеся после {@code passes} промежуточных проходов, и возвращает итератор их слияния;
+     * при закрытии итератора файлы серий удаляются
+     */
+    private SortedIterator<T> openMerge(List<Path> runs, int passes) throws IOException {
+        List<PanfArrListReader<T>> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                readers.add(PanfArrListReader.open(run, codec, bufferSize));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (PanfArrListReader<T> reader : readers) {
+                reader.close();
+            }
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        Iterator<T>[] sources = (Iterator<T>[]) readers.toArray(new Iterator<?>[0]);
+        return new SortedIterator<>(new LoserTree<>(sources, comparator), readers, List.copyOf(runs), passes);
+    }
+
+    private Path newTempFile() throws IOException {
+        return tempDirectory != null
+                ? Files.createTempFile(tempDirectory, "panfarrlist-run", ".panb")
+                : Files.createTempFile("panfarrlist-run", ".panb");
+    }
+
+    private static Path await(Future<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting runs", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void deleteAll(List<Path> files, Throwable failure) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Итератор по результату сортировки. Должен быть закрыт: закрытие освобождает каналы серий и удаляет их
+     * временные файлы. Ошибки чтения серий выбрасываются как {@link UncheckedIOException}
+     *
+     * @param <T> тип элемента
+     */
+    public static final class SortedIterator<T> implements Iterator<T>, Closeable {
+
+        private final Iterator<T> source;
+
+        private final List<? extends Closeable> readers;
+
+        private final List<Path> files;
+
+        private final int mergePasses;
+
+        private boolean closed;
+
+        private SortedIterator(Iterator<T> source, List<? extends Closeable> readers, List<Path> files,
+                               int mergePasses) {
+            this.source = source;
+            this.readers = readers;
+            this.files = files;
+            this.mergePasses = mergePasses;
+        }
+
+        /**
+         * Возвращает количество промежуточных проходов слияния, выполненных до открытия итератора. Заключительное
+         * слияние, которое выполняет сам итератор, не учитывается; если вход поместился в одну серию или серий
+         * было не больше {@code fanIn}, возвращает 0
+         */
+        public int mergePasses() {
+            return mergePasses;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !closed && source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (closed) {
+                throw new NoSuchElementException("Iterator is closed");
+            }
+            return source.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            IOException failure = null;
+            for (Closeable reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static IOException addFailure(IOException failure, IOException e) {
+            if (failure == null) {
+                return e;
+            }
+            failure.addSuppressed(e);
+            return failure;
+        }
+    }
+
+    /**
+     * Построитель {@link ExternalSorter}
+     *
+     * @param <T> тип сортируемого элемента
+     */
+    public static final class Builder<T> {
+
+        private final ElementCodec<T> codec;
+
+        private final Comparator<? super T> comparator;
+
+        private long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+
+        private int elementSize = 64;
+
+        private int fanIn = 64;
+
+        private int parallelism = 1;
+
+        private int bufferSize = BinaryFormat.DEFAULT_BUFFER_SIZE;
+
+        private Path tempDirectory;
+
+        private Builder(ElementCodec<T> codec, Comparator<? super T> comparator) {
+            this.codec = codec;
+            this.comparator = comparator;
+        }
+
+        /**
+         * Задаёт объём кучи в байтах, который могут занимать серии в памяти. По умолчанию - четверть
+         * {@link Runtime#maxMemory()}
+         *
+         * @throws IllegalArgumentException если бюджет не положителен
+         */
+        public Builder<T> memoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Illegal memory budget " + bytes);
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Задаёт оценку размера одного элемента в куче в байтах, по которой бюджет памяти переводится в количество
+         * элементов серии. По умолчанию 64 байта
+         *
+         * @throws IllegalArgumentException если размер не положителен
+         */
+        public Builder<T> elementSize(int bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Illegal element size " + bytes);
+            }
+            this.elementSize = bytes;
+            return this;
+        }
+
+        /**
+         * Задаёт максимальное количество серий, сливаемых за один проход. По умолчанию 64
+         *
+         * @throws IllegalArgumentException если значение меньше 2
+         */
+        public Builder<T> fanIn(int fanIn) {
+            if (fanIn < 2) {
+                throw new IllegalArgumentException("Illegal fan-in " + fanIn);
+            }
+            this.fanIn = fanIn;
+            return this;
+        }
+
+        /**
+         * Задаёт количество потоков, сортирующих и сбрасывающих серии на диск. По умолчанию 1 - серии обрабатываются
+         * в вызывающем потоке
+         *
+         * @throws IllegalArgumentException если значение меньше 1
+         */
+        public Builder<T> parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Illegal parallelism " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Задаёт размер прямого буфера чтения и записи каждого файла в байтах. По умолчанию 64 КБ
+         *
+         * @throws IllegalArgumentException если размер меньше 64 байт
+         */
+        public Builder<T> bufferSize(int bytes) {
+            if (bytes < 64) {
+                throw new IllegalArgumentException("Illegal buffer size " + bytes);
+            }
+            this.bufferSize = bytes;
+            return this;
+        }
+
+        /**
+         * Задаёт каталог временных файлов серий. По умолчанию используется системный каталог временных файлов
+         */
+        public Builder<T> tempDirectory(Path directory) {
+            this.tempDirectory = directory;
+            return this;
+        }
+
+        public ExternalSorter<T> build() {
+            return new ExternalSorter<>(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.io;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Класс для внутреннего использования библиотекой. Дерево проигравших для k-путевого слияния упорядоченных
+ * источников: выбор следующего элемента стоит ровно ⌈log<sub>2</sub> k⌉ сравнений - по одному на уровень от листа
+ * выбывшего источника до корня, без сравнения с братом, как в двоичной куче.
+ * <p>Внутренний узел хранит номер источника, проигравшего в нём матч, а {@code tree[0]} - общего победителя. Лист
+ * источника {@code i} - узел {@code k + i} неявного полного двоичного дерева. Исчерпанный источник проигрывает всем,
+ * а из равных элементов побеждает источник с меньшим номером, поэтому слияние стабильно.
+ *
+ * @param <T> тип элемента
+ */
+final class LoserTree<T> implements Iterator<T> {
+
+    private final Iterator<? extends T>[] sources;
+
+    private final Comparator<? super T> comparator;
+
+    private final Object[] heads;
+
+    private final boolean[] exhausted;
+
+    private final int[] tree;
+
+    @SuppressWarnings("unchecked")
+    LoserTree(Iterator<? extends T>[] sources, Comparator<? super T> comparator) {
+        if (sources.length == 0) {
+            throw new IllegalArgumentException("No sources to merge");
+        }
+        this.sources = sources;
+        this.comparator = comparator;
+        int k = sources.length;
+        this.heads = new Object[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[k];
+        for (int i = 0; i < k; i++) {
+            advance(i);
+        }
+        tree[0] = build(1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !exhausted[tree[0]];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        int winner = tree[0];
+        if (exhausted[winner]) {
+            throw new NoSuchElementException();
+        }
+        T result = (T) heads[winner];
+        advance(winner);
+        for (int node = (winner + sources.length) >>> 1; node > 0; node >>>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+        return result;
+    }
+
+    /**
+     * Разыгрывает поддерево с корнем {@code node}, записывая проигравших во внутренние узлы, и возвращает победителя
+     */
+    private int build(int node) {
+        int k = sources.length;
+        if (node >= k) {
+            return node - k;
+        }
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (beats(left, right)) {
+            tree[node] = right;
+            return left;
+        }
+        tree[node] = left;
+        return right;
+    }
+
+    private void advance(int source) {
+        if (sources[source].hasNext()) {
+            heads[source] = sources[source].next();
+        } else {
+            heads[source] = null;
+            exhausted[source] = true;
+        }
+    }
+
+    /**
+     * Проверяет, должен ли элемент источника {@code a} выйти раньше элемента источника {@code b}
+     */
+    @SuppressWarnings("unchecked")
+    private boolean beats(int a, int b) {
+        if (exhausted[a]) {
+            return false;
+        }
+        if (exhausted[b]) {
+            return true;
+        }
+        int c = comparator.compare((T) heads[a], (T) heads[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+}
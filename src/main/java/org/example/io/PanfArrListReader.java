@@ -0,0 +1,265 @@
+package org.example.io;
+
+import org.example.PanfArrList;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Потоковое чтение списка из двоичного файла формата {@link BinaryFormat} через {@link FileChannel}.
+ * <p>Файл читается в прямой буфер порциями, элементы декодируются по одному при обходе, поэтому файл любого
+ * размера читается с постоянным расходом памяти. {@link #readAll()} и {@link #read(Path, ElementCodec)} собирают
+ * элементы в {@link PanfArrList}, выделяя его вместимость сразу по количеству из заголовка.
+ * <p>Читатель не потокобезопасен.
+ *
+ * @param <T> тип читаемого элемента
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class PanfArrListReader<T> implements Iterator<T>, Closeable {
+
+    /**
+     * Результат разбора заголовка файла
+     */
+    static final class Header {
+        final long count;
+        final long dataOffset;
+
+        Header(long count, long dataOffset) {
+            this.count = count;
+            this.dataOffset = dataOffset;
+        }
+    }
+
+    private final FileChannel channel;
+
+    private final ElementCodec<? extends T> codec;
+
+    private final long count;
+
+    private ByteBuffer buffer;
+
+    private boolean endOfFile;
+
+    /**
+     * Количество ещё не прочитанных элементов текущего чанка
+     */
+    private int chunkRemaining;
+
+    private PanfArrListReader(FileChannel channel, ElementCodec<? extends T> codec, long count, int bufferSize) {
+        this.channel = channel;
+        this.codec = codec;
+        this.count = count;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        this.buffer.flip();
+    }
+
+    /**
+     * Открывает файл для чтения и проверяет его заголовок
+     *
+     * @throws IOException если файл не удаётся открыть, он имеет другой формат или записан другим кодеком
+     */
+    public static <T> PanfArrListReader<T> open(Path file, ElementCodec<? extends T> codec) throws IOException {
+        return open(file, codec, BinaryFormat.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Открывает файл для чтения и проверяет его заголовок
+     *
+     * @param bufferSize начальный размер прямого буфера чтения в байтах; буфер увеличивается, если элемент в него
+     *                   не помещается
+     * @throws IOException если файл не удаётся открыть, он имеет другой формат или записан другим кодеком
+     */
+    public static <T> PanfArrListReader<T> open(Path file, ElementCodec<? extends T> codec, int bufferSize)
+            throws IOException {
+        Objects.requireNonNull(codec, "codec");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            Header header = readHeader(channel, codec, file);
+            channel.position(header.dataOffset);
+            return new PanfArrListReader<>(channel, codec, header.count, bufferSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Читает все элементы файла в новый {@link PanfArrList}
+     *
+     * @throws IOException при ошибке чтения или повреждённом файле
+     */
+    public static <T> PanfArrList<T> read(Path file, ElementCodec<? extends T> codec) throws IOException {
+        try (PanfArrListReader<T> reader = open(file, codec)) {
+            return reader.readAll();
+        }
+    }
+
+    /**
+     * Читает и проверяет заголовок файла с начала канала
+     */
+    static Header readHeader(FileChannel channel, ElementCodec<?> codec, Path file) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(8);
+        readFully(channel, prefix, 0);
+        if (prefix.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IOException("Not a PanfArrList binary file: " + file);
+        }
+        int length = prefix.getInt(4);
+        if (length < BinaryFormat.COUNT_OFFSET || length > 1 << 16) {
+            throw new IOException("Corrupted header length " + length + ": " + file);
+        }
+        ByteBuffer header = ByteBuffer.allocate(length);
+        readFully(channel, header, 8);
+        header.flip();
+        short version = header.getShort();
+        if (version != BinaryFormat.VERSION) {
+            throw new IOException("Unsupported format version " + version + ": " + file);
+        }
+        long count = header.getLong();
+        byte[] id = new byte[header.getShort()];
+        header.get(id);
+        String codecId = new String(id, StandardCharsets.UTF_8);
+        if (!codecId.equals(codec.id())) {
+            throw new IOException("File is written with codec " + codecId + ", not " + codec.id() + ": " + file);
+        }
+        return new Header(count, 8L + length);
+    }
+
+    /**
+     * Возвращает количество элементов, записанное в заголовке при последнем сбросе писателя
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Проверяет, есть ли в файле ещё элементы
+     *
+     * @throws UncheckedIOException при ошибке чтения
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (chunkRemaining == 0) {
+                if (!fill(BinaryFormat.CHUNK_HEADER_SIZE)) {
+                    if (buffer.hasRemaining()) {
+                        throw new EOFException("Truncated chunk header");
+                    }
+                    return false;
+                }
+                chunkRemaining = buffer.getInt();
+                buffer.getInt();
+                if (chunkRemaining < 0) {
+                    throw new IOException("Corrupted chunk header");
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Читает и декодирует следующий элемент
+     *
+     * @throws NoSuchElementException если элементы закончились
+     * @throws UncheckedIOException   при ошибке чтения или повреждённом файле
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            // Последний элемент файла может занимать меньше байт, чем максимальная длина varint
+            fill(BinaryFormat.MAX_VARINT_SIZE);
+            int length = BinaryFormat.getVarint(buffer) - 1;
+            chunkRemaining--;
+            if (length < 0) {
+                return null;
+            }
+            if (!fill(length)) {
+                throw new EOFException("Truncated element");
+            }
+            int limit = buffer.limit();
+            int end = buffer.position() + length;
+            buffer.limit(end);
+            T value = codec.decode(buffer);
+            buffer.limit(limit).position(end);
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        while (hasNext()) {
+            action.accept(next());
+        }
+    }
+
+    /**
+     * Читает все оставшиеся элементы в новый {@link PanfArrList}
+     *
+     * @throws IOException при ошибке чтения или повреждённом файле
+     */
+    public PanfArrList<T> readAll() throws IOException {
+        PanfArrList<T> list = new PanfArrList<>((int) Math.min(count, Integer.MAX_VALUE - 8));
+        try {
+            forEachRemaining(list::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return list;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Гарантирует, что в буфере доступно не меньше {@code bytes} байт, дочитывая файл и при необходимости
+     * увеличивая буфер. Возвращает {@code false}, если файл закончился раньше
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (bytes > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(bytes, buffer.capacity() * 2));
+            larger.put(buffer).flip();
+            buffer = larger;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes && !endOfFile) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                throw new EOFException("Truncated header");
+            }
+        }
+    }
+}
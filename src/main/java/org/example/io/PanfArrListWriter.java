@@ -0,0 +1,243 @@
+package org.example.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Потоковая запись списка в двоичный файл формата {@link BinaryFormat} через {@link FileChannel}.
+ * <p>Элементы кодируются {@link ElementCodec} и накапливаются в прямом буфере; заполненный буфер записывается в
+ * канал одним чанком. Поэтому список любого размера записывается с постоянным расходом памяти, а элементы можно
+ * добавлять по одному по мере их появления. {@link #flush()} записывает накопленный чанк и обновляет количество
+ * элементов в заголовке; {@link #append(Path, ElementCodec)} открывает существующий файл для дописывания.
+ * <p>Элементы {@code null} поддерживаются. Писатель не потокобезопасен.
+ *
+ * @param <T> тип записываемого элемента
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class PanfArrListWriter<T> implements Closeable {
+
+    private final FileChannel channel;
+
+    private final ElementCodec<? super T> codec;
+
+    /**
+     * Чанк, накапливаемый для записи; первые {@link BinaryFormat#CHUNK_HEADER_SIZE} байт зарезервированы под
+     * заголовок чанка
+     */
+    private final ByteBuffer chunk;
+
+    /**
+     * Буфер для кодирования одного элемента; увеличивается, если элемент в него не помещается
+     */
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+    private int chunkCount = 0;
+
+    private long count;
+
+    private boolean closed;
+
+    private PanfArrListWriter(FileChannel channel, ElementCodec<? super T> codec, long count, int bufferSize) {
+        this.channel = channel;
+        this.codec = codec;
+        this.count = count;
+        this.chunk = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        this.chunk.position(BinaryFormat.CHUNK_HEADER_SIZE);
+    }
+
+    /**
+     * Создает файл (или перезаписывает существующий) и записывает заголовок
+     *
+     * @throws IOException если файл не удаётся создать
+     */
+    public static <T> PanfArrListWriter<T> create(Path file, ElementCodec<? super T> codec) throws IOException {
+        return create(file, codec, BinaryFormat.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Создает файл (или перезаписывает существующий) и записывает заголовок
+     *
+     * @param bufferSize размер прямого буфера и, соответственно, максимальный размер чанка в байтах
+     * @throws IOException если файл не удаётся создать
+     */
+    public static <T> PanfArrListWriter<T> create(Path file, ElementCodec<? super T> codec, int bufferSize)
+            throws IOException {
+        Objects.requireNonNull(codec, "codec");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            byte[] id = codec.id().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(BinaryFormat.COUNT_OFFSET + 8 + 2 + id.length);
+            header.putInt(BinaryFormat.MAGIC)
+                    .putInt(header.capacity() - 8)
+                    .putShort(BinaryFormat.VERSION)
+                    .putLong(0)
+                    .putShort((short) id.length)
+                    .put(id)
+                    .flip();
+            writeFully(channel, header);
+            return new PanfArrListWriter<>(channel, codec, 0, bufferSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Открывает существующий файл для дописывания элементов в конец
+     *
+     * @throws IOException если файл не удаётся открыть, он имеет другой формат или записан другим кодеком
+     */
+    public static <T> PanfArrListWriter<T> append(Path file, ElementCodec<? super T> codec) throws IOException {
+        Objects.requireNonNull(codec, "codec");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long count = PanfArrListReader.readHeader(channel, codec, file).count;
+            channel.position(channel.size());
+            return new PanfArrListWriter<>(channel, codec, count, BinaryFormat.DEFAULT_BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Создает файл и записывает в него все элементы
+     *
+     * @throws IOException при ошибке записи
+     */
+    public static <T> void write(Path file, Iterable<? extends T> elements, ElementCodec<? super T> codec)
+            throws IOException {
+        try (PanfArrListWriter<T> writer = create(file, codec)) {
+            writer.writeAll(elements);
+        }
+    }
+
+    /**
+     * Возвращает количество элементов в файле, включая ещё не сброшенные на диск
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Добавляет элемент. Элемент записывается в файл, когда заполнится текущий чанк, или при {@link #flush()}
+     *
+     * @throws IOException при ошибке записи
+     */
+    public void write(T value) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        int length = value == null ? -1 : encode(value);
+        int frameSize = BinaryFormat.varintSize(length + 1) + Math.max(length, 0);
+        if (frameSize > chunk.remaining()) {
+            flushChunk();
+            if (frameSize > chunk.remaining()) {
+                writeOversized(length, frameSize);
+                return;
+            }
+        }
+        BinaryFormat.putVarint(chunk, length + 1);
+        if (length > 0) {
+            chunk.put(scratch.flip());
+        }
+        chunkCount++;
+        count++;
+    }
+
+    /**
+     * Добавляет все элементы
+     *
+     * @throws IOException при ошибке записи
+     */
+    public void writeAll(Iterable<? extends T> elements) throws IOException {
+        for (T element : elements) {
+            write(element);
+        }
+    }
+
+    /**
+     * Записывает накопленный чанк и обновляет количество элементов в заголовке файла
+     *
+     * @throws IOException при ошибке записи
+     */
+    public void flush() throws IOException {
+        flushChunk();
+        ByteBuffer countField = ByteBuffer.allocate(8).putLong(0, count);
+        while (countField.hasRemaining()) {
+            channel.write(countField, BinaryFormat.COUNT_OFFSET + countField.position());
+        }
+    }
+
+    /**
+     * Сбрасывает накопленные элементы и закрывает файл
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    /**
+     * Кодирует элемент в {@code scratch} и возвращает его длину в байтах
+     */
+    private int encode(T value) {
+        while (true) {
+            scratch.clear();
+            try {
+                codec.encode(value, scratch);
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        if (chunkCount == 0) {
+            return;
+        }
+        chunk.putInt(0, chunkCount);
+        chunk.putInt(4, chunk.position() - BinaryFormat.CHUNK_HEADER_SIZE);
+        chunk.flip();
+        writeFully(channel, chunk);
+        chunk.clear();
+        chunk.position(BinaryFormat.CHUNK_HEADER_SIZE);
+        chunkCount = 0;
+    }
+
+    /**
+     * Записывает элемент, не помещающийся в буфер чанка, отдельным чанком из одного элемента
+     */
+    private void writeOversized(int length, int frameSize) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(BinaryFormat.CHUNK_HEADER_SIZE + frameSize);
+        frame.putInt(1).putInt(frameSize);
+        BinaryFormat.putVarint(frame, length + 1);
+        frame.put(scratch.flip()).flip();
+        writeFully(channel, frame);
+        count++;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
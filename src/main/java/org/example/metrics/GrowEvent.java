@@ -0,0 +1,29 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR: изменение вместимости внутреннего массива списка с копированием элементов
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@Name("org.example.PanfArrList.Resize")
+@Label("PanfArrList Resize")
+@Category("PanfArrList")
+@Description("Backing array of a PanfArrList was reallocated and copied")
+public class GrowEvent extends Event {
+
+    @Label("Old Capacity")
+    public int oldCapacity;
+
+    @Label("New Capacity")
+    public int newCapacity;
+
+    @Label("Copied Elements")
+    public int copiedElements;
+}
@@ -0,0 +1,241 @@
+package org.example.metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики событий на горячих путях списка: увеличение и уменьшение внутреннего массива, сдвиги элементов при
+ * вставке и удалении, сортировки и очистки. Подключаются к списку методом
+ * {@link org.example.PanfArrList#setMetrics(ListMetrics)}; без подключения список не выполняет никакой работы по их
+ * учёту, кроме одной проверки поля на {@code null}.
+ * <p>Счётчики - {@link LongAdder}, распределённые по ячейкам, поэтому один экземпляр метрик можно разделить между
+ * многими списками в разных потоках без конкуренции за одну ячейку памяти. Значения доступны через геттеры,
+ * через JMX после {@link #register(String)} и в виде событий JFR {@link GrowEvent} и {@link SortEvent}. Сдвиги
+ * слишком часты для отдельных событий JFR и только подсчитываются.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class ListMetrics implements ListMetricsMXBean {
+
+    /**
+     * Оценка размера ссылки в байтах: 4 при сжатых указателях в 64-битной JVM, иначе размер указателя
+     */
+    static final int REFERENCE_SIZE = referenceSize();
+
+    private final LongAdder growCount = new LongAdder();
+    private final LongAdder growCopiedElements = new LongAdder();
+    private final LongAdder shrinkCount = new LongAdder();
+    private final LongAdder shiftCount = new LongAdder();
+    private final LongAdder shiftedElements = new LongAdder();
+    private final LongAccumulator maxShiftedElements = new LongAccumulator(Math::max, 0);
+    private final LongAdder sortCount = new LongAdder();
+    private final LongAdder sortedElements = new LongAdder();
+    private final LongAdder sortNanos = new LongAdder();
+    private final LongAdder clearCount = new LongAdder();
+    private final LongAdder unusedSlotsAfterClear = new LongAdder();
+
+    private ObjectName objectName;
+
+    /**
+     * Учитывает увеличение внутреннего массива с {@code oldCapacity} до {@code newCapacity} ячеек
+     */
+    public void recordGrow(int oldCapacity, int newCapacity) {
+        growCount.increment();
+        growCopiedElements.add(oldCapacity);
+        GrowEvent event = new GrowEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedElements = oldCapacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * Учитывает уменьшение внутреннего массива с {@code oldCapacity} до {@code newCapacity} ячеек
+     */
+    public void recordShrink(int oldCapacity, int newCapacity) {
+        shrinkCount.increment();
+        GrowEvent event = new GrowEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedElements = newCapacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * Учитывает сдвиг {@code elements} элементов одной вставкой или удалением
+     */
+    public void recordShift(int elements) {
+        if (elements > 0) {
+            shiftCount.increment();
+            shiftedElements.add(elements);
+            maxShiftedElements.accumulate(elements);
+        }
+    }
+
+    /**
+     * Начинает учёт сортировки: возвращает событие JFR, которое нужно передать в
+     * {@link #recordSort(SortEvent, int, String)} после её окончания
+     */
+    public SortEvent beginSort() {
+        SortEvent event = new SortEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Учитывает сортировку {@code size} элементов, начатую {@link #beginSort()}
+     */
+    public void recordSort(SortEvent event, int size, String algorithm) {
+        event.end();
+        sortCount.increment();
+        sortedElements.add(size);
+        sortNanos.add(System.nanoTime() - event.startNanos);
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.algorithm = algorithm;
+            event.commit();
+        }
+    }
+
+    /**
+     * Учитывает очистку списка, после которой {@code capacity} ячеек внутреннего массива остались неиспользованными
+     */
+    public void recordClear(int capacity) {
+        clearCount.increment();
+        unusedSlotsAfterClear.add(capacity);
+    }
+
+    @Override
+    public long getGrowCount() {
+        return growCount.sum();
+    }
+
+    @Override
+    public long getGrowCopiedElements() {
+        return growCopiedElements.sum();
+    }
+
+    @Override
+    public long getGrowCopiedBytes() {
+        return growCopiedElements.sum() * REFERENCE_SIZE;
+    }
+
+    @Override
+    public long getShrinkCount() {
+        return shrinkCount.sum();
+    }
+
+    @Override
+    public long getShiftCount() {
+        return shiftCount.sum();
+    }
+
+    @Override
+    public long getShiftedElements() {
+        return shiftedElements.sum();
+    }
+
+    @Override
+    public long getMaxShiftedElements() {
+        return maxShiftedElements.get();
+    }
+
+    @Override
+    public long getSortCount() {
+        return sortCount.sum();
+    }
+
+    @Override
+    public long getSortedElements() {
+        return sortedElements.sum();
+    }
+
+    @Override
+    public long getSortNanos() {
+        return sortNanos.sum();
+    }
+
+    @Override
+    public long getClearCount() {
+        return clearCount.sum();
+    }
+
+    @Override
+    public long getUnusedSlotsAfterClear() {
+        return unusedSlotsAfterClear.sum();
+    }
+
+    @Override
+    public void reset() {
+        growCount.reset();
+        growCopiedElements.reset();
+        shrinkCount.reset();
+        shiftCount.reset();
+        shiftedElements.reset();
+        maxShiftedElements.reset();
+        sortCount.reset();
+        sortedElements.reset();
+        sortNanos.reset();
+        clearCount.reset();
+        unusedSlotsAfterClear.reset();
+    }
+
+    /**
+     * Регистрирует метрики в платформенном {@link MBeanServer} под именем
+     * {@code org.example:type=PanfArrList,name=<name>}
+     *
+     * @return имя зарегистрированного MBean
+     * @throws IllegalStateException если метрики уже зарегистрированы или имя занято
+     */
+    public synchronized ObjectName register(String name) {
+        if (objectName != null) {
+            throw new IllegalStateException("Metrics are already registered as " + objectName);
+        }
+        try {
+            ObjectName candidate = ObjectName.getInstance("org.example:type=PanfArrList,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            objectName = candidate;
+            return candidate;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics " + name, e);
+        }
+    }
+
+    /**
+     * Снимает регистрацию метрик в {@link MBeanServer}, если они были зарегистрированы
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics " + objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    private static int referenceSize() {
+        String model = System.getProperty("sun.arch.data.model", "64");
+        if (!"64".equals(model)) {
+            return 4;
+        }
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean hotSpot =
+                    ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            return hotSpot != null && Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+        } catch (RuntimeException | LinkageError e) {
+            return 8;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.metrics;
+
+/**
+ * Интерфейс управления {@link ListMetrics} для JMX. Все значения накапливаются с момента создания метрик или
+ * последнего вызова {@link #reset()}.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public interface ListMetricsMXBean {
+
+    /**
+     * Количество увеличений внутреннего массива
+     */
+    long getGrowCount();
+
+    /**
+     * Количество ссылок, скопированных при увеличениях внутреннего массива
+     */
+    long getGrowCopiedElements();
+
+    /**
+     * Оценка количества байт, скопированных при увеличениях внутреннего массива
+     */
+    long getGrowCopiedBytes();
+
+    /**
+     * Количество уменьшений внутреннего массива политикой {@link org.example.ShrinkPolicy} или {@code trimToSize}
+     */
+    long getShrinkCount();
+
+    /**
+     * Количество вставок и удалений, сдвинувших элементы
+     */
+    long getShiftCount();
+
+    /**
+     * Суммарное количество сдвинутых элементов
+     */
+    long getShiftedElements();
+
+    /**
+     * Наибольшее количество элементов, сдвинутых одной операцией
+     */
+    long getMaxShiftedElements();
+
+    /**
+     * Количество сортировок
+     */
+    long getSortCount();
+
+    /**
+     * Суммарное количество отсортированных элементов
+     */
+    long getSortedElements();
+
+    /**
+     * Суммарное время сортировок в наносекундах
+     */
+    long getSortNanos();
+
+    /**
+     * Количество вызовов {@code clear()}
+     */
+    long getClearCount();
+
+    /**
+     * Суммарная вместимость, оставшаяся неиспользованной после {@code clear()}, в элементах
+     */
+    long getUnusedSlotsAfterClear();
+
+    /**
+     * Сбрасывает все счётчики
+     */
+    void reset();
+}
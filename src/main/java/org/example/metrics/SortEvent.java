@@ -0,0 +1,33 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: сортировка списка. Длительность события равна времени сортировки
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@Name("org.example.PanfArrList.Sort")
+@Label("PanfArrList Sort")
+@Category("PanfArrList")
+@Description("PanfArrList was sorted")
+@StackTrace(false)
+public class SortEvent extends Event {
+
+    @Label("Size")
+    public int size;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    /**
+     * Время начала сортировки для счётчика {@link ListMetrics#getSortNanos()}; не записывается в JFR
+     */
+    transient long startNanos;
+}
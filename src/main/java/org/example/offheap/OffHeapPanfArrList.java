@@ -0,0 +1,398 @@
+package org.example.offheap;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Список записей фиксированного размера, хранящихся вне кучи. Каждый элемент раскладывается {@link RecordCodec} в
+ * {@code recordSize} байт, поэтому список не держит ссылок на объекты: нет заголовков объектов, отдельных строк и
+ * работы сборщика мусора по их обходу. Объекты создаются только при чтении через {@link #get(int)}.
+ * <p>Записи лежат в чанках фиксированного размера: прямых {@link ByteBuffer} ({@link #allocateDirect(RecordCodec)})
+ * или отображённых в память участках файла ({@link #open(Path, RecordCodec)}). Запись никогда не пересекает
+ * границу чанка, поэтому объём списка не ограничен размером одного буфера в 2 ГБ.
+ * <p>В файловом режиме файл начинается с заголовка из {@value #HEADER_SIZE} байт (сигнатура, версия формата, размер
+ * записи и количество элементов), за ним подряд идут записи. Повторное открытие читает только заголовок и
+ * метаданные кодека из файла {@code <имя>.meta}; чанки отображаются лениво при первом обращении, поэтому список
+ * любого размера открывается мгновенно. Содержимое гарантированно согласовано после {@link #flush()} или
+ * {@link #close()}.
+ * <p>{@link #sortBy(RecordKey)} сортирует записи по целочисленному ключу, извлекаемому прямо из байтов, без
+ * декодирования объектов. Элементы {@code null} поддерживаются только если их поддерживает кодек.
+ * <p><strong>Данная реализация не потокобезопасна</strong>.
+ *
+ * @param <T> тип элемента, используемого в данной коллекции
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class OffHeapPanfArrList<T> extends AbstractList<T> implements List<T>, RandomAccess, Closeable {
+
+    /**
+     * Сигнатура файла: байты {@code PANF}
+     */
+    static final int MAGIC = 0x50414E46;
+
+    static final int VERSION = 1;
+
+    /**
+     * Размер заголовка файла в байтах
+     */
+    public static final int HEADER_SIZE = 64;
+
+    private static final int RECORD_SIZE_OFFSET = 8;
+
+    private static final int SIZE_OFFSET = 16;
+
+    private static final int DEFAULT_DIRECT_CHUNK_BYTES = 1 << 20;
+
+    private static final int DEFAULT_MAPPED_CHUNK_BYTES = 1 << 28;
+
+    private final RecordCodec<T> codec;
+
+    private final int recordSize;
+
+    /**
+     * Количество записей в одном чанке
+     */
+    private final int chunkRecords;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+
+    private int size;
+
+    /**
+     * Файл, канал и отображённый заголовок; равны {@code null} в режиме прямых буферов
+     */
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer header;
+
+    private boolean closed;
+
+    private OffHeapPanfArrList(RecordCodec<T> codec, int chunkBytes, Path file, FileChannel channel,
+                               MappedByteBuffer header) {
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.recordSize = codec.recordSize();
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Illegal record size " + recordSize);
+        }
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Illegal chunk size " + chunkBytes);
+        }
+        this.chunkRecords = Math.max(1, chunkBytes / recordSize);
+        this.file = file;
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     * Создает пустой список в прямых буферах вне кучи с размером чанка 1 МБ
+     */
+    public static <T> OffHeapPanfArrList<T> allocateDirect(RecordCodec<T> codec) {
+        return allocateDirect(codec, DEFAULT_DIRECT_CHUNK_BYTES);
+    }
+
+    /**
+     * Создает пустой список в прямых буферах вне кучи
+     *
+     * @param chunkBytes размер одного буфера в байтах; округляется вниз до целого числа записей
+     * @throws IllegalArgumentException если размер записи или чанка не больше 0
+     */
+    public static <T> OffHeapPanfArrList<T> allocateDirect(RecordCodec<T> codec, int chunkBytes) {
+        return new OffHeapPanfArrList<>(codec, chunkBytes, null, null, null);
+    }
+
+    /**
+     * Открывает список в файле, создавая файл, если его нет, с размером отображаемого чанка 256 МБ
+     *
+     * @throws IOException если файл не удаётся открыть или он имеет другой формат или размер записи
+     */
+    public static <T> OffHeapPanfArrList<T> open(Path file, RecordCodec<T> codec) throws IOException {
+        return open(file, codec, DEFAULT_MAPPED_CHUNK_BYTES);
+    }
+
+    /**
+     * Открывает список в файле, создавая файл, если его нет
+     *
+     * @param chunkBytes размер отображаемого участка файла в байтах; округляется вниз до целого числа записей
+     *                   и не обязан совпадать с использованным при создании файла
+     * @throws IOException если файл не удаётся открыть или он имеет другой формат или размер записи
+     */
+    public static <T> OffHeapPanfArrList<T> open(Path file, RecordCodec<T> codec, int chunkBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            OffHeapPanfArrList<T> list = new OffHeapPanfArrList<>(codec, chunkBytes, file, channel, header);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(RECORD_SIZE_OFFSET, list.recordSize);
+                header.putLong(SIZE_OFFSET, 0);
+            } else {
+                list.readHeader();
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a PanfArrList file: " + file);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported file version " + header.getInt(4) + ": " + file);
+        }
+        int storedRecordSize = header.getInt(RECORD_SIZE_OFFSET);
+        if (storedRecordSize != recordSize) {
+            throw new IOException("File record size " + storedRecordSize + " does not match codec record size "
+                    + recordSize + ": " + file);
+        }
+        long storedSize = header.getLong(SIZE_OFFSET);
+        if (storedSize < 0 || storedSize > Integer.MAX_VALUE) {
+            throw new IOException("Corrupted list size " + storedSize + ": " + file);
+        }
+        size = (int) storedSize;
+        Path meta = metadataFile();
+        if (Files.exists(meta)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(meta)))) {
+                codec.readMetadata(in);
+            }
+        }
+    }
+
+    private Path metadataFile() {
+        return file.resolveSibling(file.getFileName() + ".meta");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Декодирует и возвращает элемент по индексу
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return codec.read(chunk(index / chunkRecords), offset(index));
+    }
+
+    /**
+     * Кодирует элемент в запись с индексом {@code index} и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size);
+        ByteBuffer chunk = chunk(index / chunkRecords);
+        T previous = codec.read(chunk, offset(index));
+        codec.write(element, chunk, offset(index));
+        return previous;
+    }
+
+    @Override
+    public boolean add(T t) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        codec.write(t, chunk(size / chunkRecords), offset(size));
+        setSize(size + 1);
+        return true;
+    }
+
+    /**
+     * Добавляет элемент по индексу, сдвигая последующие записи. Выполняется за O(n - index)
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    @Override
+    public void add(int index, T element) {
+        Objects.checkIndex(index, size + 1);
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        byte[] buffer = new byte[recordSize];
+        for (int i = size; i > index; i--) {
+            copyRecord(i - 1, i, buffer);
+        }
+        codec.write(element, chunk(index / chunkRecords), offset(index));
+        setSize(size + 1);
+    }
+
+    /**
+     * Удаляет запись по индексу, сдвигая последующие записи, и возвращает удалённый элемент.
+     * Выполняется за O(n - index)
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    @Override
+    public T remove(int index) {
+        T removed = get(index);
+        byte[] buffer = new byte[recordSize];
+        for (int i = index + 1; i < size; i++) {
+            copyRecord(i, i - 1, buffer);
+        }
+        setSize(size - 1);
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы. Выделенные чанки сохраняются и переиспользуются
+     */
+    @Override
+    public void clear() {
+        setSize(0);
+    }
+
+    /**
+     * Стабильно сортирует записи по возрастанию ключа, не декодируя объекты. Во время сортировки в куче
+     * используется массив из 8 байт на запись; сами записи переставляются на месте
+     */
+    public void sortBy(RecordKey key) {
+        Objects.requireNonNull(key, "key");
+        int n = size;
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            int k = key.extract(chunk(i / chunkRecords), offset(i));
+            // Ключ в старших 32 битах, исходный индекс в младших: порядок long совпадает со стабильным порядком
+            order[i] = ((long) k << 32) | i;
+        }
+        Arrays.parallelSort(order);
+        BitSet placed = new BitSet(n);
+        byte[] saved = new byte[recordSize];
+        byte[] buffer = new byte[recordSize];
+        for (int start = 0; start < n; start++) {
+            if (placed.get(start) || (int) order[start] == start) {
+                continue;
+            }
+            // Перестановка раскладывается на циклы: запись start откладывается, остальные сдвигаются по циклу
+            readRecord(start, saved);
+            int j = start;
+            while (true) {
+                placed.set(j);
+                int source = (int) order[j];
+                if (source == start) {
+                    writeRecord(j, saved);
+                    break;
+                }
+                copyRecord(source, j, buffer);
+                j = source;
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Сбрасывает изменения на диск: количество элементов, содержимое отображённых чанков и метаданные кодека.
+     * В режиме прямых буферов ничего не делает
+     *
+     * @throws IOException если метаданные не удаётся записать
+     */
+    public void flush() throws IOException {
+        if (channel == null || closed) {
+            return;
+        }
+        header.putLong(SIZE_OFFSET, size);
+        for (ByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+        header.force();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(metadataFile())))) {
+            codec.writeMetadata(out);
+        }
+    }
+
+    /**
+     * Сбрасывает изменения на диск и закрывает файл. После закрытия обращение к элементам выбрасывает
+     * {@link IllegalStateException}. Отображённые участки освобождаются сборщиком мусора
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            chunks = new ByteBuffer[0];
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void setSize(int newSize) {
+        size = newSize;
+        modCount++;
+        if (header != null) {
+            header.putLong(SIZE_OFFSET, newSize);
+        }
+    }
+
+    private int offset(int index) {
+        return (index % chunkRecords) * recordSize;
+    }
+
+    /**
+     * Возвращает чанк с номером {@code number}, выделяя или отображая его при первом обращении
+     */
+    private ByteBuffer chunk(int number) {
+        if (closed) {
+            throw new IllegalStateException("List is closed");
+        }
+        if (number >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(number + 1, chunks.length * 2));
+        }
+        ByteBuffer chunk = chunks[number];
+        if (chunk == null) {
+            int chunkBytes = chunkRecords * recordSize;
+            if (channel == null) {
+                chunk = ByteBuffer.allocateDirect(chunkBytes);
+            } else {
+                long position = HEADER_SIZE + (long) number * chunkBytes;
+                try {
+                    chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            chunks[number] = chunk;
+        }
+        return chunk;
+    }
+
+    private void readRecord(int index, byte[] destination) {
+        ByteBuffer view = chunk(index / chunkRecords).duplicate();
+        view.position(offset(index));
+        view.get(destination);
+    }
+
+    private void writeRecord(int index, byte[] source) {
+        ByteBuffer view = chunk(index / chunkRecords).duplicate();
+        view.position(offset(index));
+        view.put(source);
+    }
+
+    private void copyRecord(int from, int to, byte[] buffer) {
+        readRecord(from, buffer);
+        writeRecord(to, buffer);
+    }
+}
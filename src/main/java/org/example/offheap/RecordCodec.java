@@ -0,0 +1,48 @@
+package org.example.offheap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек записей фиксированного размера для {@link OffHeapPanfArrList}. Определяет, как объект раскладывается в
+ * {@link #recordSize()} байтах буфера и как восстанавливается из них.
+ * <p>Методы чтения и записи используют абсолютную адресацию: они не должны менять позицию и лимит буфера.
+ * Если кодеку нужно состояние помимо самих записей (например, словарь строк), он сохраняет его в
+ * {@link #writeMetadata(DataOutput)} и восстанавливает в {@link #readMetadata(DataInput)}; список вызывает эти
+ * методы при сбросе на диск и при повторном открытии файла.
+ *
+ * @param <T> тип кодируемого объекта
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Возвращает размер одной записи в байтах, больше 0
+     */
+    int recordSize();
+
+    /**
+     * Записывает объект в буфер, начиная с позиции {@code offset}
+     */
+    void write(T value, ByteBuffer buffer, int offset);
+
+    /**
+     * Читает объект из буфера, начиная с позиции {@code offset}
+     */
+    T read(ByteBuffer buffer, int offset);
+
+    /**
+     * Сохраняет состояние кодека, необходимое для чтения уже записанных записей. По умолчанию ничего не делает
+     */
+    default void writeMetadata(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Восстанавливает состояние кодека, сохранённое {@link #writeMetadata(DataOutput)}. По умолчанию ничего не делает
+     */
+    default void readMetadata(DataInput in) throws IOException {
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Ключ сортировки записей {@link OffHeapPanfArrList}: извлекает целочисленное значение поля прямо из байтов записи,
+ * без создания объекта.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RecordKey {
+
+    /**
+     * Возвращает ключ записи, начинающейся в буфере с позиции {@code offset}
+     */
+    int extract(ByteBuffer buffer, int offset);
+
+    /**
+     * Возвращает ключ для поля типа {@code int}, расположенного со смещением {@code fieldOffset} от начала записи
+     */
+    static RecordKey intField(int fieldOffset) {
+        return (buffer, offset) -> buffer.getInt(offset + fieldOffset);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.offheap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Словарь строк: сопоставляет каждой различной строке целочисленный код в порядке первого появления. Позволяет
+ * хранить повторяющиеся строки (марки, модели) в записи фиксированного размера как {@code int}.
+ * <p>Код {@code -1} обозначает {@code null}. Словарь не потокобезопасен.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Возвращает код строки, добавляя её в словарь, если её там ещё нет
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Возвращает код строки или -2, если её нет в словаре
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return -1;
+        }
+        return codes.getOrDefault(value, -2);
+    }
+
+    /**
+     * Возвращает строку по коду
+     *
+     * @throws IndexOutOfBoundsException если код не выдан этим словарём
+     */
+    public String decode(int code) {
+        return code == -1 ? null : values.get(code);
+    }
+
+    /**
+     * Возвращает количество строк в словаре
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Возвращает массив рангов: {@code ranks[code]} - позиция строки с этим кодом среди всех различных по
+     * компаратору строк словаря, упорядоченных компаратором. Строки, равные по компаратору, получают одинаковый ранг.
+     * Позволяет сортировать записи по строковому полю, сравнивая только числа
+     */
+    public int[] ranks(Comparator<? super String> comparator) {
+        Integer[] order = new Integer[values.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> comparator.compare(values.get(a), values.get(b)));
+        int[] ranks = new int[order.length];
+        int rank = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && comparator.compare(values.get(order[i - 1]), values.get(order[i])) != 0) {
+                rank++;
+            }
+            ranks[order[i]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Записывает словарь в поток
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Заменяет содержимое словаря прочитанным из потока, записанного {@link #writeTo(DataOutput)}
+     */
+    public void readFrom(DataInput in) throws IOException {
+        codes.clear();
+        values.clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            encode(in.readUTF());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.primitive;
+
+import org.example.GrowthPolicy;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Реализация динамического массива для хранения значений примитивного типа {@code int} без упаковки в {@code Integer}.
+ * <p>Повторяет API {@link org.example.PanfArrList}: {@code add}, {@code get}, {@code set}, {@code remove},
+ * {@code indexOf}, {@code contains}, {@code clear}, {@code trimToSize}, {@code sort}. Элементы хранятся в массиве
+ * {@code int[]}, поэтому список занимает в несколько раз меньше памяти, чем {@code PanfArrList<Integer>},
+ * а сортировка и поиск не разыменовывают ссылки.
+ * <p>Дополнительно содержит массовые операции без промежуточных аллокаций: {@code addAll(int[])},
+ * {@code toArray}, {@code forEach} и {@code stream}. Удаление по значению вынесено в отдельный метод
+ * {@code removeValue}, так как {@code remove(int)} удаляет элемент по индексу.
+ * <p>Значения сравниваются оператором {@code ==}.
+ * <p><strong>Данная реализация не потокобезопасна.</strong>
+ * <p>Класс сгенерирован из шаблона {@code src/main/templates/PrimitivePanfArrList.java.template} скриптом
+ * {@code src/main/templates/generate.sh}; изменения нужно вносить в шаблон.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class IntPanfArrList {
+
+    /**
+     * Размер массива при создании списка конструктором по умолчанию
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Пустой массив для списков нулевой вместимости
+     */
+    private static final int[] EMPTY_LIST = {};
+
+    /**
+     * Массив, используемый для хранения элементов. Вместимость списка - это длина массива
+     */
+    private int[] elements;
+
+    /**
+     * Количество хранимых в списке элементов
+     */
+    private int size = 0;
+
+    /**
+     * Политика увеличения вместимости, используемая при нехватке места во внутреннем массиве
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию == {@code DEFAULT_CAPACITY}
+     */
+    public IntPanfArrList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public IntPanfArrList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public IntPanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.elements = capacity == 0 ? EMPTY_LIST : new int[capacity];
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+    }
+
+    /**
+     * Создает список, содержащий копию переданных значений
+     */
+    public static IntPanfArrList of(int... values) {
+        IntPanfArrList list = new IntPanfArrList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    /**
+     * Добавляет значение в конец списка
+     */
+    public boolean add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+        return true;
+    }
+
+    /**
+     * Добавляет значение в список по индексу, сдвигая последующие элементы вправо
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    public void add(int index, int value) {
+        Objects.checkIndex(index, size + 1);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Добавляет все переданные значения в конец списка. Вместимость увеличивается не более одного раза
+     */
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Добавляет в конец списка значения из диапазона {@code [from, to)} переданного массива
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     */
+    public void addAll(int[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        int count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(values, from, elements, size, count);
+        size += count;
+    }
+
+    /**
+     * Возвращает значение по индексу
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Заменяет значение по индексу и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public int set(int index, int value) {
+        Objects.checkIndex(index, size);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Удаляет значение по индексу, сдвигая последующие элементы влево, и возвращает удалённое значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public int remove(int index) {
+        Objects.checkIndex(index, size);
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Удаляет первое вхождение значения. Возвращает false, если значение в списке отсутствует
+     */
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения значения или -1, если значение в списке отсутствует
+     */
+    public int indexOf(int value) {
+        int[] es = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, содержится ли значение в списке
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает true, если список не содержит элементов
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Вместимость не уменьшается
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Увеличивает вместимость списка, если это необходимо, так чтобы он мог вместить не менее
+     * {@code minCapacity} элементов без перевыделения массива
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает внутренний массив до количества элементов в списке
+     */
+    public void trimToSize() {
+        if (elements.length > size) {
+            elements = size == 0 ? EMPTY_LIST : Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * Сортирует список по возрастанию значений
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Возвращает новый массив, содержащий элементы списка
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка по порядку, без упаковки значений
+     */
+    public void forEach(IntConsumer action) {
+        Objects.requireNonNull(action);
+        int[] es = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            action.accept(es[i]);
+        }
+    }
+
+    /**
+     * Возвращает поток значений списка без копирования массива. Список не должен изменяться, пока поток используется
+     */
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    /**
+     * Метод для внутреннего использования. Увеличивает вместимость согласно {@code growthPolicy} так, чтобы в списке
+     * поместилось не менее {@code minCapacity} элементов
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        // Размер заготовки ограничен: при сотнях миллионов элементов size * 4 переполнило бы int
+        StringBuilder sb = new StringBuilder((int) Math.min(4L * size, 1 << 20)).append('[').append(elements[0]);
+        for (int i = 1; i < size; i++) {
+            sb.append(", ").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.primitive;
+
+import org.example.GrowthPolicy;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Реализация динамического массива для хранения значений примитивного типа {@code long} без упаковки в {@code Long}.
+ * <p>Повторяет API {@link org.example.PanfArrList}: {@code add}, {@code get}, {@code set}, {@code remove},
+ * {@code indexOf}, {@code contains}, {@code clear}, {@code trimToSize}, {@code sort}. Элементы хранятся в массиве
+ * {@code long[]}, поэтому список занимает в несколько раз меньше памяти, чем {@code PanfArrList<Long>},
+ * а сортировка и поиск не разыменовывают ссылки.
+ * <p>Дополнительно содержит массовые операции без промежуточных аллокаций: {@code addAll(long[])},
+ * {@code toArray}, {@code forEach} и {@code stream}. Удаление по значению вынесено в отдельный метод
+ * {@code removeValue}, так как {@code remove(int)} удаляет элемент по индексу.
+ * <p>Значения сравниваются оператором {@code ==}.
+ * <p><strong>Данная реализация не потокобезопасна.</strong>
+ * <p>Класс сгенерирован из шаблона {@code src/main/templates/PrimitivePanfArrList.java.template} скриптом
+ * {@code src/main/templates/generate.sh}; изменения нужно вносить в шаблон.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public class LongPanfArrList {
+
+    /**
+     * Размер массива при создании списка конструктором по умолчанию
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Пустой массив для списков нулевой вместимости
+     */
+    private static final long[] EMPTY_LIST = {};
+
+    /**
+     * Массив, используемый для хранения элементов. Вместимость списка - это длина массива
+     */
+    private long[] elements;
+
+    /**
+     * Количество хранимых в списке элементов
+     */
+    private int size = 0;
+
+    /**
+     * Политика увеличения вместимости, используемая при нехватке места во внутреннем массиве
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Создает пустой список с вместимостью по умолчанию == {@code DEFAULT_CAPACITY}
+     */
+    public LongPanfArrList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public LongPanfArrList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Создает пустой список с заданной вместимостью и политикой её увеличения
+     *
+     * @throws IllegalArgumentException если вместимость отрицательная
+     */
+    public LongPanfArrList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity " + capacity);
+        }
+        this.elements = capacity == 0 ? EMPTY_LIST : new long[capacity];
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+    }
+
+    /**
+     * Создает список, содержащий копию переданных значений
+     */
+    public static LongPanfArrList of(long... values) {
+        LongPanfArrList list = new LongPanfArrList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    /**
+     * Добавляет значение в конец списка
+     */
+    public boolean add(long value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+        return true;
+    }
+
+    /**
+     * Добавляет значение в список по индексу, сдвигая последующие элементы вправо
+     *
+     * @throws IndexOutOfBoundsException если индекс меньше 0 или больше размера списка
+     */
+    public void add(int index, long value) {
+        Objects.checkIndex(index, size + 1);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Добавляет все переданные значения в конец списка. Вместимость увеличивается не более одного раза
+     */
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Добавляет в конец списка значения из диапазона {@code [from, to)} переданного массива
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     */
+    public void addAll(long[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        int count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(values, from, elements, size, count);
+        size += count;
+    }
+
+    /**
+     * Возвращает значение по индексу
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public long get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Заменяет значение по индексу и возвращает прежнее значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public long set(int index, long value) {
+        Objects.checkIndex(index, size);
+        long previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Удаляет значение по индексу, сдвигая последующие элементы влево, и возвращает удалённое значение
+     *
+     * @throws IndexOutOfBoundsException при некорректном индексе
+     */
+    public long remove(int index) {
+        Objects.checkIndex(index, size);
+        long removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Удаляет первое вхождение значения. Возвращает false, если значение в списке отсутствует
+     */
+    public boolean removeValue(long value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения значения или -1, если значение в списке отсутствует
+     */
+    public int indexOf(long value) {
+        long[] es = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, содержится ли значение в списке
+     */
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает true, если список не содержит элементов
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Вместимость не уменьшается
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Увеличивает вместимость списка, если это необходимо, так чтобы он мог вместить не менее
+     * {@code minCapacity} элементов без перевыделения массива
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает внутренний массив до количества элементов в списке
+     */
+    public void trimToSize() {
+        if (elements.length > size) {
+            elements = size == 0 ? EMPTY_LIST : Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * Сортирует список по возрастанию значений
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Возвращает новый массив, содержащий элементы списка
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка по порядку, без упаковки значений
+     */
+    public void forEach(LongConsumer action) {
+        Objects.requireNonNull(action);
+        long[] es = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            action.accept(es[i]);
+        }
+    }
+
+    /**
+     * Возвращает поток значений списка без копирования массива. Список не должен изменяться, пока поток используется
+     */
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    /**
+     * Метод для внутреннего использования. Увеличивает вместимость согласно {@code growthPolicy} так, чтобы в списке
+     * поместилось не менее {@code minCapacity} элементов
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity == 0
+                ? Math.max(DEFAULT_CAPACITY, minCapacity)
+                : Math.max(growthPolicy.grow(oldCapacity, minCapacity), minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "[]";
+        }
+        // Размер заготовки ограничен: при сотнях миллионов элементов size * 4 переполнило бы int
+        StringBuilder sb = new StringBuilder((int) Math.min(4L * size, 1 << 20)).append('[').append(elements[0]);
+        for (int i = 1; i < size; i++) {
+            sb.append(", ").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.sort;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Нестабильная гибридная сортировка диапазона массива (introsort).
+ * <p>Основа - быстрая сортировка с трёхсторонним разбиением (элементы меньше, равные и больше опорного), поэтому
+ * вход с большим количеством повторов сортируется за O(n log k), где k - количество различных значений.
+ * Опорный элемент выбирается медианой трёх (для больших диапазонов - медианой трёх медиан), что исключает
+ * квадратичное время на уже отсортированном и обратном входе. Если глубина рекурсии превышает 2·log₂n, диапазон
+ * досортировывается пирамидальной сортировкой, так что время работы в худшем случае - O(n log n). Короткие
+ * диапазоны сортируются вставками. Рекурсия выполняется только для меньшей части разбиения, поэтому глубина стека
+ * не превышает O(log n).
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class IntroSort {
+
+    /**
+     * Диапазоны не длиннее этого порога сортируются вставками
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Диапазоны длиннее этого порога выбирают опорный элемент медианой трёх медиан
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    private IntroSort() {
+    }
+
+    /**
+     * Сортирует элементы массива в диапазоне {@code [from, to)} в порядке, заданном компаратором.
+     *
+     * @param a    сортируемый массив
+     * @param from индекс первого элемента диапазона (включительно)
+     * @param to   индекс конца диапазона (не включительно)
+     * @param c    компаратор, определяющий порядок
+     * @param <T>  тип элементов массива
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     * @throws ClassCastException        если компаратор не может сравнить элементы массива
+     */
+    public static <T> void sort(Object[] a, int from, int to, Comparator<? super T> c) {
+        Objects.checkFromToIndex(from, to, a.length);
+        Objects.requireNonNull(c);
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        introSort(a, from, to, 2 * (31 - Integer.numberOfLeadingZeros(length)), c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void introSort(Object[] a, int lo, int hi, int depthLimit, Comparator<? super T> c) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(a, lo, hi, c);
+                return;
+            }
+            T pivot = (T) a[choosePivot(a, lo, hi, c)];
+            // Трёхстороннее разбиение: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi) > pivot
+            int lt = lo;
+            int i = lo;
+            int gt = hi - 1;
+            while (i <= gt) {
+                int cmp = c.compare((T) a[i], pivot);
+                if (cmp < 0) {
+                    swap(a, lt++, i++);
+                } else if (cmp > 0) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt - 1) {
+                introSort(a, lo, lt, depthLimit, c);
+                lo = gt + 1;
+            } else {
+                introSort(a, gt + 1, hi, depthLimit, c);
+                hi = lt;
+            }
+        }
+        insertionSort(a, lo, hi, c);
+    }
+
+    /**
+     * Возвращает индекс опорного элемента: медиану первого, среднего и последнего элементов диапазона, а для
+     * длинных диапазонов - медиану медиан трёх равноотстоящих троек (ninther Тьюки)
+     */
+    private static <T> int choosePivot(Object[] a, int lo, int hi, Comparator<? super T> c) {
+        int last = hi - 1;
+        int mid = (lo + last) >>> 1;
+        if (hi - lo > NINTHER_THRESHOLD) {
+            int step = (hi - lo) / 8;
+            int first = medianOfThree(a, lo, lo + step, lo + 2 * step, c);
+            int middle = medianOfThree(a, mid - step, mid, mid + step, c);
+            int end = medianOfThree(a, last - 2 * step, last - step, last, c);
+            return medianOfThree(a, first, middle, end, c);
+        }
+        return medianOfThree(a, lo, mid, last, c);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> int medianOfThree(Object[] a, int i, int j, int k, Comparator<? super T> c) {
+        T x = (T) a[i];
+        T y = (T) a[j];
+        T z = (T) a[k];
+        if (c.compare(x, y) < 0) {
+            if (c.compare(y, z) < 0) {
+                return j;
+            }
+            return c.compare(x, z) < 0 ? k : i;
+        }
+        if (c.compare(x, z) < 0) {
+            return i;
+        }
+        return c.compare(y, z) < 0 ? k : j;
+    }
+
+    /**
+     * Сортировка вставками диапазона {@code [lo, hi)}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void insertionSort(Object[] a, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i < hi; i++) {
+            T current = (T) a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare((T) a[j], current) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = current;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона {@code [lo, hi)}. Используется, когда быстрая сортировка
+     * превысила допустимую глубину рекурсии
+     */
+    static <T> void heapSort(Object[] a, int lo, int hi, Comparator<? super T> c) {
+        int n = hi - lo;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end, c);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void siftDown(Object[] a, int base, int node, int n, Comparator<? super T> c) {
+        T value = (T) a[base + node];
+        int half = n >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            int right = child + 1;
+            if (right < n && c.compare((T) a[base + child], (T) a[base + right]) < 0) {
+                child = right;
+            }
+            if (c.compare(value, (T) a[base + child]) >= 0) {
+                break;
+            }
+            a[base + node] = a[base + child];
+            node = child;
+        }
+        a[base + node] = value;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        Object tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.sort;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Стабильная параллельная сортировка слиянием на {@link ForkJoinPool}.
+ * <p>Диапазон рекурсивно делится пополам до порога последовательной сортировки; фрагменты сортируются
+ * {@link TimSort} параллельно, затем соседние фрагменты сливаются через временный буфер. Слияние тоже
+ * параллельное: больший из двух фрагментов делится пополам, позиция его среднего элемента во втором фрагменте
+ * находится бинарным поиском, и две половины сливаются независимо.
+ * <p>Задачи выполняются в пуле, из которого вызвана сортировка (если вызов сделан из потока {@link ForkJoinPool}),
+ * иначе - в общем пуле {@link ForkJoinPool#commonPool()}. Если диапазон меньше порога или пул однопоточный,
+ * сортировка выполняется последовательно в вызывающем потоке.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class ParallelMergeSort {
+
+    /**
+     * Минимальный размер фрагмента, который сортируется или сливается одной задачей
+     */
+    public static final int MIN_GRANULARITY = 1 << 13;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Стабильно сортирует элементы массива в диапазоне {@code [from, to)} с порогом последовательной сортировки,
+     * выбранным по размеру диапазона и параллелизму пула.
+     *
+     * @param a    сортируемый массив
+     * @param from индекс первого элемента диапазона (включительно)
+     * @param to   индекс конца диапазона (не включительно)
+     * @param c    компаратор, определяющий порядок
+     * @param <T>  тип элементов массива
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     */
+    public static <T> void sort(Object[] a, int from, int to, Comparator<? super T> c) {
+        int parallelism = ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+        sort(a, from, to, c, Math.max(MIN_GRANULARITY, (to - from) / (parallelism << 2)), parallelism);
+    }
+
+    /**
+     * Стабильно сортирует элементы массива в диапазоне {@code [from, to)} с заданным порогом последовательной
+     * сортировки.
+     *
+     * @param a         сортируемый массив
+     * @param from      индекс первого элемента диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param c         компаратор, определяющий порядок
+     * @param threshold фрагменты не длиннее порога сортируются последовательно, больше 0
+     * @param <T>       тип элементов массива
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     * @throws IllegalArgumentException  если порог не больше 0
+     */
+    public static <T> void sort(Object[] a, int from, int to, Comparator<? super T> c, int threshold) {
+        sort(a, from, to, c, threshold, Integer.MAX_VALUE);
+    }
+
+    private static <T> void sort(Object[] a, int from, int to, Comparator<? super T> c, int threshold, int parallelism) {
+        Objects.checkFromToIndex(from, to, a.length);
+        Objects.requireNonNull(c);
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Illegal threshold " + threshold);
+        }
+        if (to - from <= threshold || parallelism <= 1) {
+            TimSort.sort(a, from, to, c);
+            return;
+        }
+        new SortTask<>(a, new Object[to - from], from, from, to, c, threshold).invoke();
+    }
+
+    /**
+     * Сортирует {@code a[lo, hi)}, используя {@code tmp[lo - base, hi - base)} как буфер для слияния
+     */
+    private static final class SortTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] a;
+        private final Object[] tmp;
+        private final int base;
+        private final int lo;
+        private final int hi;
+        private final Comparator<? super T> c;
+        private final int threshold;
+
+        SortTask(Object[] a, Object[] tmp, int base, int lo, int hi, Comparator<? super T> c, int threshold) {
+            this.a = a;
+            this.tmp = tmp;
+            this.base = base;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                TimSort.sort(a, lo, hi, c);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, tmp, base, lo, mid, c, threshold),
+                    new SortTask<>(a, tmp, base, mid, hi, c, threshold));
+            new MergeTask<>(a, lo, mid, mid, hi, tmp, lo - base, c, threshold).invoke();
+            System.arraycopy(tmp, lo - base, a, lo, hi - lo);
+        }
+    }
+
+    /**
+     * Сливает отсортированные {@code src[lo1, hi1)} и {@code src[lo2, hi2)} в {@code dest}, начиная с {@code destLo}.
+     * При равенстве элементов первым идёт элемент из первого фрагмента
+     */
+    private static final class MergeTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] src;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final Object[] dest;
+        private final int destLo;
+        private final Comparator<? super T> c;
+        private final int threshold;
+
+        MergeTask(Object[] src, int lo1, int hi1, int lo2, int hi2, Object[] dest, int destLo,
+                  Comparator<? super T> c, int threshold) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dest = dest;
+            this.destLo = destLo;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            int len1 = hi1 - lo1;
+            int len2 = hi2 - lo2;
+            if (len1 + len2 <= Math.max(threshold, 2)) {
+                mergeSequentially();
+                return;
+            }
+            int split1;
+            int split2;
+            if (len1 >= len2) {
+                split1 = (lo1 + hi1) >>> 1;
+                // Равные элементы второго фрагмента должны оказаться после элемента первого
+                split2 = lowerBound(src, lo2, hi2, (T) src[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                // Равные элементы первого фрагмента должны оказаться перед элементом второго
+                split1 = upperBound(src, lo1, hi1, (T) src[split2]);
+            }
+            int destSplit = destLo + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask<>(src, lo1, split1, lo2, split2, dest, destLo, c, threshold),
+                    new MergeTask<>(src, split1, hi1, split2, hi2, dest, destSplit, c, threshold));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void mergeSequentially() {
+            int i = lo1;
+            int j = lo2;
+            int d = destLo;
+            while (i < hi1 && j < hi2) {
+                if (c.compare((T) src[j], (T) src[i]) < 0) {
+                    dest[d++] = src[j++];
+                } else {
+                    dest[d++] = src[i++];
+                }
+            }
+            System.arraycopy(src, i, dest, d, hi1 - i);
+            System.arraycopy(src, j, dest, d + (hi1 - i), hi2 - j);
+        }
+
+        @SuppressWarnings("unchecked")
+        private int lowerBound(Object[] a, int lo, int hi, T key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (c.compare((T) a[mid], key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int upperBound(Object[] a, int lo, int hi, T key) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (c.compare(key, (T) a[mid]) < 0) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.sort;
+
+import java.util.Comparator;
+
+/**
+ * Алгоритмы сортировки, доступные спискам библиотеки.
+ * <p>{@link #INTROSORT} - самый быстрый вариант для произвольного входа, но нестабильный: равные элементы могут
+ * поменяться местами. {@link #TIMSORT} - стабильный вариант, который особенно быстр на частично упорядоченном входе.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public enum SortAlgorithm {
+
+    /**
+     * Нестабильная гибридная сортировка, см. {@link IntroSort}
+     */
+    INTROSORT {
+        @Override
+        public <T> void sort(Object[] a, int from, int to, Comparator<? super T> c) {
+            IntroSort.sort(a, from, to, c);
+        }
+    },
+
+    /**
+     * Стабильная сортировка слиянием естественных серий, см. {@link TimSort}
+     */
+    TIMSORT {
+        @Override
+        public <T> void sort(Object[] a, int from, int to, Comparator<? super T> c) {
+            TimSort.sort(a, from, to, c);
+        }
+    };
+
+    /**
+     * Сортирует элементы массива в диапазоне {@code [from, to)} в порядке, заданном компаратором.
+     *
+     * @param a    сортируемый массив
+     * @param from индекс первого элемента диапазона (включительно)
+     * @param to   индекс конца диапазона (не включительно)
+     * @param c    компаратор, определяющий порядок
+     * @param <T>  тип элементов массива
+     */
+    public abstract <T> void sort(Object[] a, int from, int to, Comparator<? super T> c);
+}
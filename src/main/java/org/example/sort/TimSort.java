@@ -0,0 +1,312 @@
+package org.example.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Стабильная сортировка слиянием естественных серий (в стиле TimSort).
+ * <p>Массив разбивается на уже упорядоченные серии (строго убывающие серии разворачиваются), короткие серии
+ * дополняются до минимальной длины бинарными вставками, после чего серии сливаются с соблюдением инвариантов
+ * стека серий TimSort. Перед каждым слиянием бинарным поиском отбрасываются элементы, уже стоящие на своих местах,
+ * поэтому почти отсортированный вход (например, поставка, дописанная в конец отсортированного каталога)
+ * сортируется за время, близкое к линейному. Худший случай - O(n log n), дополнительная память - не более n/2 ссылок.
+ * <p>Равные по компаратору элементы сохраняют исходный взаимный порядок.
+ *
+ * @author Алексей Панфилов
+ * @version 1.0
+ */
+public final class TimSort<T> {
+
+    /**
+     * Диапазоны короче этого порога сортируются бинарными вставками без слияний
+     */
+    private static final int MIN_MERGE = 32;
+
+    private final Object[] a;
+
+    private final Comparator<? super T> c;
+
+    /**
+     * Временный буфер для слияний, выделяется по мере необходимости
+     */
+    private Object[] tmp = new Object[0];
+
+    /**
+     * Стек ещё не слитых серий: начало и длина каждой серии
+     */
+    private final int[] runBase = new int[49];
+
+    private final int[] runLen = new int[49];
+
+    private int stackSize = 0;
+
+    private TimSort(Object[] a, Comparator<? super T> c) {
+        this.a = a;
+        this.c = c;
+    }
+
+    /**
+     * Стабильно сортирует элементы массива в диапазоне {@code [from, to)} в порядке, заданном компаратором.
+     *
+     * @param a    сортируемый массив
+     * @param from индекс первого элемента диапазона (включительно)
+     * @param to   индекс конца диапазона (не включительно)
+     * @param c    компаратор, определяющий порядок
+     * @param <T>  тип элементов массива
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     * @throws ClassCastException        если компаратор не может сравнить элементы массива
+     */
+    public static <T> void sort(Object[] a, int from, int to, Comparator<? super T> c) {
+        Objects.checkFromToIndex(from, to, a.length);
+        Objects.requireNonNull(c);
+        int remaining = to - from;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initRunLen = countRunAndMakeAscending(a, from, to, c);
+            binaryInsertionSort(a, from, to, from + initRunLen, c);
+            return;
+        }
+        TimSort<T> ts = new TimSort<>(a, c);
+        int minRun = minRunLength(remaining);
+        int lo = from;
+        do {
+            int length = countRunAndMakeAscending(a, lo, to, c);
+            if (length < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(a, lo, lo + force, lo + length, c);
+                length = force;
+            }
+            ts.pushRun(lo, length);
+            ts.mergeCollapse();
+            lo += length;
+            remaining -= length;
+        } while (remaining != 0);
+        ts.mergeForceCollapse();
+    }
+
+    /**
+     * Находит длину серии, начинающейся с {@code lo}. Строго убывающая серия разворачивается, чтобы стать
+     * возрастающей (строгость нужна для сохранения стабильности)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> int countRunAndMakeAscending(Object[] a, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (c.compare((T) a[runHi++], (T) a[lo]) < 0) {
+            while (runHi < hi && c.compare((T) a[runHi], (T) a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            reverseRange(a, lo, runHi);
+        } else {
+            while (runHi < hi && c.compare((T) a[runHi], (T) a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    private static void reverseRange(Object[] a, int lo, int hi) {
+        hi--;
+        while (lo < hi) {
+            Object t = a[lo];
+            a[lo++] = a[hi];
+            a[hi--] = t;
+        }
+    }
+
+    /**
+     * Сортирует диапазон {@code [lo, hi)}, в котором {@code [lo, start)} уже отсортирован, бинарными вставками.
+     * Равный элемент вставляется после существующих, что сохраняет стабильность
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void binaryInsertionSort(Object[] a, int lo, int hi, int start, Comparator<? super T> c) {
+        for (; start < hi; start++) {
+            T pivot = (T) a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, (T) a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * Возвращает минимальную длину серии для массива длины {@code n}: число из диапазона
+     * [MIN_MERGE / 2, MIN_MERGE], при котором количество серий близко к степени двойки
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Сливает серии на вершине стека, пока не будут выполнены инварианты:
+     * {@code runLen[i - 2] > runLen[i - 1] + runLen[i]} и {@code runLen[i - 1] > runLen[i]}
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает все оставшиеся серии в одну
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает серии с номерами {@code i} и {@code i + 1} в стеке
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // Элементы первой серии, не превосходящие первый элемент второй серии, уже на своих местах
+        int k = upperBound(a, base1, base1 + len1, (T) a[base2]);
+        len1 -= k - base1;
+        base1 = k;
+        if (len1 == 0) {
+            return;
+        }
+        // Элементы второй серии, не меньшие последнего элемента первой серии, тоже на своих местах
+        len2 = lowerBound(a, base2, base2 + len2, (T) a[base1 + len1 - 1]) - base2;
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(base1, len1, base2, len2);
+        } else {
+            mergeHi(base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * Возвращает первый индекс в отсортированном диапазоне, элемент по которому больше {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    private int upperBound(Object[] a, int lo, int hi, T key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(key, (T) a[mid]) < 0) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Возвращает первый индекс в отсортированном диапазоне, элемент по которому не меньше {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(Object[] a, int lo, int hi, T key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare((T) a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Слияние слева направо, когда первая серия не длиннее второй: первая серия копируется во временный буфер
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        Object[] buf = ensureCapacity(len1);
+        System.arraycopy(a, base1, buf, 0, len1);
+        int i = 0;
+        int j = base2;
+        int end2 = base2 + len2;
+        int dest = base1;
+        while (i < len1 && j < end2) {
+            if (c.compare((T) a[j], (T) buf[i]) < 0) {
+                a[dest++] = a[j++];
+            } else {
+                a[dest++] = buf[i++];
+            }
+        }
+        System.arraycopy(buf, i, a, dest, len1 - i);
+        Arrays.fill(buf, 0, len1, null);
+    }
+
+    /**
+     * Слияние справа налево, когда вторая серия короче первой: вторая серия копируется во временный буфер
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        Object[] buf = ensureCapacity(len2);
+        System.arraycopy(a, base2, buf, 0, len2);
+        int i = base1 + len1 - 1;
+        int j = len2 - 1;
+        int dest = base2 + len2 - 1;
+        while (i >= base1 && j >= 0) {
+            if (c.compare((T) buf[j], (T) a[i]) < 0) {
+                a[dest--] = a[i--];
+            } else {
+                a[dest--] = buf[j--];
+            }
+        }
+        System.arraycopy(buf, 0, a, dest - j, j + 1);
+        Arrays.fill(buf, 0, len2, null);
+    }
+
+    private Object[] ensureCapacity(int minCapacity) {
+        if (tmp.length < minCapacity) {
+            tmp = new Object[Math.max(minCapacity, Math.min(tmp.length * 2, a.length >>> 1))];
+        }
+        return tmp;
+    }
+}
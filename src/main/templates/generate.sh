@@ -0,0 +1,14 @@
+#!/bin/sh
+# Генерирует IntPanfArrList, LongPanfArrList и DoublePanfArrList из общего шаблона.
+# Запуск из корня проекта: sh src/main/templates/generate.sh
+set -e
+TEMPLATE=src/main/templates/PrimitivePanfArrList.java.template
+TARGET=src/main/java/org/example/primitive
+
+generate() {
+    sed -e "s/@type@/$1/g" -e "s/@Name@/$2/g" -e "s/@Boxed@/$3/g" "$TEMPLATE" > "$TARGET/$2PanfArrList.java"
+}
+
+generate int Int Integer
+generate long Long Long
+generate double Double Double
@@ -0,0 +1,114 @@
+import org.example.concurrent.AppendOnlyPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AppendOnlyPanfArrListTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PER_PRODUCER = 100_000;
+
+    @Test
+    @DisplayName(value = "append-only basic operations test")
+    void basicOperations() {
+        AppendOnlyPanfArrList<String> list = new AppendOnlyPanfArrList<>();
+        Assertions.assertTrue(list.isEmpty());
+        list.add("a");
+        list.addAll(List.of("b", "c"));
+        Assertions.assertEquals(List.of("a", "b", "c"), list);
+        Assertions.assertEquals("c", list.get(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        Assertions.assertThrows(NullPointerException.class, () -> list.add(null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "x"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        List<String> drained = new ArrayList<>();
+        int next = list.forEachFrom(1, drained::add);
+        Assertions.assertEquals(3, next);
+        Assertions.assertEquals(List.of("b", "c"), drained);
+    }
+
+    @Test
+    @DisplayName(value = "append-only segment boundaries test")
+    void segmentBoundaries() {
+        AppendOnlyPanfArrList<Integer> list = new AppendOnlyPanfArrList<>();
+        int size = 5_000;
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(size, list.size());
+        for (int i = 0; i < size; i++) {
+            Assertions.assertEquals(i, list.get(i));
+        }
+        Assertions.assertEquals(size, list.snapshot().size());
+        Assertions.assertEquals((long) size * (size - 1) / 2,
+                list.stream().mapToLong(Integer::longValue).sum());
+    }
+
+    /**
+     * Производители одновременно добавляют свои последовательности, а читатель в это время забирает опубликованные
+     * элементы пачками. Проверяется, что ниже границы нет пустых слотов, граница не уменьшается, каждый элемент
+     * присутствует ровно один раз, а элементы одного производителя идут в порядке их добавления
+     */
+    @Test
+    @DisplayName(value = "append-only concurrent producers stress test")
+    void concurrentProducers() throws Exception {
+        AppendOnlyPanfArrList<long[]> list = new AppendOnlyPanfArrList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        list.add(new long[]{producer, i});
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                long[] lastSeen = new long[PRODUCERS];
+                Arrays.fill(lastSeen, -1);
+                int from = 0;
+                boolean finished;
+                do {
+                    finished = done.get();
+                    int previous = from;
+                    from = list.forEachFrom(from, e -> {
+                        int producer = (int) e[0];
+                        if (e[1] != lastSeen[producer] + 1) {
+                            failure.compareAndSet(null, "producer " + producer + " order broken at " + e[1]);
+                        }
+                        lastSeen[producer] = e[1];
+                    });
+                    if (from < previous) {
+                        failure.compareAndSet(null, "watermark moved back");
+                    }
+                } while (!finished);
+                return from;
+            });
+            start.countDown();
+            for (Future<?> producer : producers) {
+                producer.get(60, TimeUnit.SECONDS);
+            }
+            done.set(true);
+            Assertions.assertEquals(PRODUCERS * PER_PRODUCER, reader.get(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertNull(failure.get());
+        Assertions.assertEquals(PRODUCERS * PER_PRODUCER, list.size());
+        Assertions.assertEquals(list.size(), list.reservedCount());
+    }
+}
@@ -0,0 +1,131 @@
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarElementCodec;
+import org.example.io.ElementCodec;
+import org.example.io.PanfArrListReader;
+import org.example.io.PanfArrListWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BinaryIOTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName(value = "binary round trip with nulls and several chunks test")
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("strings.panb");
+        Random random = new Random(17);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i % 97 == 0 ? null : i % 89 == 0 ? "" : "строка-" + random.nextInt());
+        }
+        // Маленький буфер, чтобы элементы распределялись по многим чанкам
+        try (PanfArrListWriter<String> writer = PanfArrListWriter.create(file, ElementCodec.utf8(), 256)) {
+            writer.writeAll(expected);
+            Assertions.assertEquals(expected.size(), writer.count());
+        }
+        PanfArrList<String> actual = PanfArrListReader.read(file, ElementCodec.utf8());
+        Assertions.assertEquals(expected, actual);
+
+        try (PanfArrListReader<String> reader = PanfArrListReader.open(file, ElementCodec.utf8())) {
+            Assertions.assertEquals(expected.size(), reader.count());
+            List<String> streamed = new ArrayList<>();
+            reader.forEachRemaining(streamed::add);
+            Assertions.assertEquals(expected, streamed);
+            Assertions.assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "elements larger than the buffer test")
+    void oversizedElements() throws IOException {
+        Path file = dir.resolve("large.panb");
+        char[] chars = new char[200_000];
+        Arrays.fill(chars, 'x');
+        List<String> expected = Arrays.asList("a", new String(chars), "b", null, new String(chars, 0, 70_000));
+        try (PanfArrListWriter<String> writer = PanfArrListWriter.create(file, ElementCodec.utf8(), 1024)) {
+            writer.writeAll(expected);
+        }
+        Assertions.assertEquals(expected, PanfArrListReader.read(file, ElementCodec.utf8()));
+    }
+
+    @Test
+    @DisplayName(value = "append to existing file test")
+    void append() throws IOException {
+        Path file = dir.resolve("ints.panb");
+        PanfArrListWriter.write(file, Arrays.asList(1, 2, 3), ElementCodec.int32());
+        try (PanfArrListWriter<Integer> writer = PanfArrListWriter.append(file, ElementCodec.int32())) {
+            Assertions.assertEquals(3, writer.count());
+            writer.write(null);
+            writer.write(5);
+        }
+        try (PanfArrListReader<Integer> reader = PanfArrListReader.open(file, ElementCodec.int32())) {
+            Assertions.assertEquals(5, reader.count());
+            Assertions.assertEquals(Arrays.asList(1, 2, 3, null, 5), reader.readAll());
+        }
+        Assertions.assertThrows(IOException.class, () -> PanfArrListReader.read(file, ElementCodec.int64()));
+        Assertions.assertThrows(IOException.class, () -> PanfArrListWriter.append(file, ElementCodec.utf8()));
+    }
+
+    @Test
+    @DisplayName(value = "car codec round trip test")
+    void cars() throws IOException {
+        Path file = dir.resolve("cars.panb");
+        List<Car> expected = Arrays.asList(new Car("Audi", "A6", 250), new Car("Лада", "Веста", 106),
+                new Car(null, "X5", 340), null);
+        PanfArrListWriter.write(file, expected, new CarElementCodec());
+        Assertions.assertEquals(expected, PanfArrListReader.read(file, new CarElementCodec()));
+    }
+
+    @Test
+    @DisplayName(value = "corrupted files test")
+    void corruptedFiles() throws IOException {
+        Path notList = dir.resolve("text.txt");
+        Files.writeString(notList, "just some text, not a list");
+        Assertions.assertThrows(IOException.class, () -> PanfArrListReader.read(notList, ElementCodec.utf8()));
+
+        Path truncated = dir.resolve("truncated.panb");
+        PanfArrListWriter.write(truncated, Arrays.asList("one", "two", "three"), ElementCodec.utf8());
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+        Assertions.assertThrows(IOException.class, () -> PanfArrListReader.read(truncated, ElementCodec.utf8()));
+    }
+
+    @Test
+    @DisplayName(value = "toString and appendTo test")
+    void toStringAndAppendTo() throws IOException {
+        PanfArrList<Object> list = new PanfArrList<>();
+        Assertions.assertEquals("[]", list.toString());
+        Assertions.assertEquals("[]", list.toString(0));
+        list.add(1);
+        list.add(null);
+        list.add("three");
+        Assertions.assertEquals(Arrays.asList(1, null, "three").toString(), list.toString());
+        list.add(list);
+        Assertions.assertEquals("[1, null, three, (this Collection)]", list.toString());
+        Assertions.assertEquals("[1, null, ... (2 more)]", list.toString(2));
+        Assertions.assertEquals("[... (4 more)]", list.toString(0));
+        Assertions.assertEquals(list.toString(), list.toString(4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> list.toString(-1));
+
+        StringWriter out = new StringWriter();
+        list.appendTo(out, 1);
+        Assertions.assertEquals("[1, ... (3 more)]", out.toString());
+    }
+}
@@ -0,0 +1,91 @@
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarFilter;
+import org.example.cars.CarList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CarListTest {
+
+    private static final Cars CARS = new Cars(30, -500, 1500);
+
+    private List<String> strings(List<Car> cars) {
+        return cars.stream().map(Car::toString).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName(value = "columnar list add, get and set test")
+    void addGetSet() {
+        CarList list = new CarList();
+        list.add(new Car("Audi", "A6", 250));
+        list.add("BMW", "X5", 340);
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals("BMW X5, 340 hp", list.get(1).toString());
+        Assertions.assertEquals("Audi", list.brand(0));
+        Assertions.assertEquals(340, list.power(1));
+        Assertions.assertEquals("Audi A6, 250 hp", list.set(0, new Car("Lada", "Vesta", 106)).toString());
+        Assertions.assertEquals("Lada", list.brand(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    }
+
+    @Test
+    @DisplayName(value = "columnar list filter test")
+    void filter() {
+        PanfArrList<Car> cars = CARS.list(1000, 42);
+        CarList list = new CarList(cars);
+        CarFilter filter = CarFilter.powerGreaterThan(300).and(CarFilter.brandIs("Audi"))
+                .or(CarFilter.modelIs("M7").negate().and(CarFilter.powerBetween(-10, 10)));
+        List<Car> expected = cars.stream()
+                .filter(c -> c.getPower() > 300 && c.getBrand().equals("Audi")
+                        || !c.getModel().equals("M7") && c.getPower() >= -10 && c.getPower() <= 10)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expected.size(), list.count(filter));
+        Assertions.assertEquals(strings(expected), strings(list.filter(filter)));
+        Assertions.assertEquals(0, list.count(CarFilter.brandIs("Ferrari")));
+        Assertions.assertEquals(list.size(), list.count(CarFilter.brandIs("Ferrari").negate()));
+        int[] rows = list.select(CarFilter.powerLessThan(0));
+        for (int row : rows) {
+            Assertions.assertTrue(list.power(row) < 0);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "columnar list sort by column test")
+    void sortByColumn() {
+        PanfArrList<Car> cars = CARS.list(5000, 42);
+        CarList list = new CarList(cars);
+
+        list.sortBy(CarList.Column.POWER);
+        cars.sort(Comparator.comparingInt(Car::getPower));
+        Assertions.assertEquals(strings(cars), strings(list));
+
+        list.sortBy(CarList.Column.BRAND);
+        cars.sort(Comparator.comparing(Car::getBrand));
+        Assertions.assertEquals(strings(cars), strings(list));
+
+        list.sort();
+        cars.sort();
+        Assertions.assertEquals(strings(cars), strings(list));
+    }
+
+    @Test
+    @DisplayName(value = "columnar list top-k test")
+    void topK() {
+        PanfArrList<Car> cars = CARS.list(3000, 42);
+        CarList list = new CarList(cars);
+        List<Car> expected = cars.stream()
+                .sorted(Comparator.comparingInt(Car::getPower).reversed())
+                .limit(25)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(strings(expected), strings(list.topK(CarList.Column.POWER, 25)));
+        Assertions.assertEquals(3000, list.topK(CarList.Column.MODEL, 5000).size());
+        Assertions.assertTrue(list.topK(CarList.Column.BRAND, 0).isEmpty());
+        Assertions.assertEquals("Volvo", list.topK(CarList.Column.BRAND, 1).get(0).getBrand());
+    }
+}
@@ -0,0 +1,77 @@
+import org.example.PanfArrList;
+import org.example.cars.Car;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Генератор случайных автомобилей для тестов: марка из {@link #BRANDS}, модель {@code "M0"}..{@code "M<models - 1>"}
+ * и мощность из заданного диапазона. Генерация детерминирована зерном, чтобы падения тестов воспроизводились.
+ */
+final class Cars {
+
+    static final String[] BRANDS = {"Audi", "BMW", "Citroen", "Lada", "Volvo"};
+
+    private final int models;
+
+    private final int minPower;
+
+    private final int maxPower;
+
+    /**
+     * @param models   количество различных моделей
+     * @param minPower наименьшая мощность (включительно)
+     * @param maxPower наибольшая мощность (не включительно)
+     */
+    Cars(int models, int minPower, int maxPower) {
+        this.models = models;
+        this.minPower = minPower;
+        this.maxPower = maxPower;
+    }
+
+    /**
+     * Создает автомобиль по следующим значениям генератора {@code random}
+     */
+    Car next(Random random) {
+        return new Car(BRANDS[random.nextInt(BRANDS.length)], "M" + random.nextInt(models),
+                minPower + random.nextInt(maxPower - minPower));
+    }
+
+    /**
+     * Создает список из {@code size} случайных автомобилей
+     */
+    PanfArrList<Car> list(int size, long seed) {
+        Random random = new Random(seed);
+        PanfArrList<Car> cars = new PanfArrList<>(size);
+        for (int i = 0; i < size; i++) {
+            cars.add(next(random));
+        }
+        return cars;
+    }
+
+    /**
+     * Потоково генерирует {@code size} случайных автомобилей, не держа их в памяти. Для того же зерна выдаёт те же
+     * автомобили, что и {@link #list(int, long)}
+     */
+    Iterator<Car> iterator(long size, long seed) {
+        Random random = new Random(seed);
+        return new Iterator<>() {
+            private long generated = 0;
+
+            @Override
+            public boolean hasNext() {
+                return generated < size;
+            }
+
+            @Override
+            public Car next() {
+                if (generated >= size) {
+                    throw new NoSuchElementException();
+                }
+                generated++;
+                return Cars.this.next(random);
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+import org.example.ChunkedPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class ChunkedPanfArrListTest {
+
+    @Test
+    @DisplayName(value = "chunked list with illegal block size test")
+    void illegalBlockSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedPanfArrList<>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkedPanfArrList<>(24));
+    }
+
+    @Test
+    @DisplayName(value = "chunked list long index operations test")
+    void longIndexes() {
+        ChunkedPanfArrList<Integer> list = new ChunkedPanfArrList<>(8);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(100L, list.longSize());
+        Assertions.assertEquals(42, list.get(42L));
+        Assertions.assertEquals(42, list.set(42L, -42));
+        Assertions.assertEquals(42L, list.longIndexOf(-42));
+        list.add(3L, 1000);
+        Assertions.assertEquals(1000, list.get(3L));
+        Assertions.assertEquals(99, list.get(100L));
+        Assertions.assertEquals(1000, list.remove(3L));
+        Assertions.assertEquals(-1L, list.longIndexOf(1000));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(100L));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1L));
+    }
+
+    @Test
+    @DisplayName(value = "chunked list middle edits across blocks test")
+    void middleEdits() {
+        ChunkedPanfArrList<Integer> list = new ChunkedPanfArrList<>(4);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(5);
+        for (int step = 0; step < 5000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        Assertions.assertEquals(expected, list);
+        Assertions.assertArrayEquals(expected.toArray(), list.toArray());
+        List<Integer> visited = new ArrayList<>();
+        list.forEach(visited::add);
+        Assertions.assertEquals(expected, visited);
+        while (!list.isEmpty()) {
+            Assertions.assertEquals(expected.remove(0), list.remove(0));
+        }
+        Assertions.assertEquals(0L, list.longSize());
+    }
+
+    @Test
+    @DisplayName(value = "chunked list iterator test")
+    void iterator() {
+        ChunkedPanfArrList<Integer> list = new ChunkedPanfArrList<>(16);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.removeIf(v -> v % 3 == 0);
+        Assertions.assertEquals(66, list.size());
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        list.add(7);
+        Assertions.assertThrows(ConcurrentModificationException.class, it::next);
+        Assertions.assertThrows(IllegalStateException.class, () -> list.iterator().remove());
+    }
+}
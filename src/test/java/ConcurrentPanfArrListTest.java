@@ -0,0 +1,250 @@
+import org.example.concurrent.CopyOnWritePanfArrList;
+import org.example.concurrent.StampedPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentPanfArrListTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 5_000;
+
+    /**
+     * Запускает задачу одновременно в нескольких потоках и пробрасывает первую возникшую в них ошибку
+     */
+    private void runConcurrently(int threads, ThrowingTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingTask {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Проверяет, что при одновременном добавлении из нескольких потоков ни один элемент не потерян и не продублирован
+     */
+    private void concurrentAdds(List<Integer> list) throws Exception {
+        runConcurrently(THREADS, id -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                list.add(id * PER_THREAD + i);
+            }
+        });
+        Assertions.assertEquals(THREADS * PER_THREAD, list.size());
+        Set<Integer> unique = new HashSet<>(list);
+        Assertions.assertEquals(THREADS * PER_THREAD, unique.size());
+    }
+
+    @Test
+    @DisplayName(value = "copy-on-write concurrent add test")
+    void copyOnWriteConcurrentAdd() throws Exception {
+        concurrentAdds(new CopyOnWritePanfArrList<>());
+    }
+
+    @Test
+    @DisplayName(value = "stamped concurrent add test")
+    void stampedConcurrentAdd() throws Exception {
+        concurrentAdds(new StampedPanfArrList<>());
+    }
+
+    /**
+     * Писатели переставляют пары одинаковых значений, читатели проверяют, что никогда не видят разорванного
+     * состояния: размер не меняется, а значения по индексам 2k и 2k+1 всегда совпадают у снимка
+     */
+    private void readersSeeConsistentState(List<Integer> list, boolean snapshotReads) throws Exception {
+        int size = 1_000;
+        for (int i = 0; i < size; i++) {
+            list.add(i / 2);
+        }
+        AtomicReference<String> failure = new AtomicReference<>();
+        runConcurrently(THREADS, id -> {
+            Random random = new Random(id);
+            for (int i = 0; i < PER_THREAD; i++) {
+                if (id == 0) {
+                    int index = random.nextInt(size);
+                    list.set(index, list.get(index));
+                    list.add(size / 2, -1);
+                    list.remove(size / 2);
+                } else if (snapshotReads) {
+                    Object[] snapshot = list.toArray();
+                    if (snapshot.length != size && snapshot.length != size + 1) {
+                        failure.compareAndSet(null, "unexpected size " + snapshot.length);
+                    }
+                    int count = 0;
+                    for (Integer value : list) {
+                        Objects.requireNonNull(value);
+                        count++;
+                    }
+                    if (count != size && count != size + 1) {
+                        failure.compareAndSet(null, "iterator returned " + count + " elements");
+                    }
+                } else {
+                    int n = list.size();
+                    if (n != size && n != size + 1) {
+                        failure.compareAndSet(null, "unexpected size " + n);
+                    }
+                    Integer value = list.get(random.nextInt(size / 2));
+                    if (value == null) {
+                        failure.compareAndSet(null, "null element");
+                    }
+                    int found = list.indexOf(size / 2 - 1);
+                    if (found < size - 3 || found > size - 1) {
+                        failure.compareAndSet(null, "indexOf returned " + found);
+                    }
+                }
+            }
+        });
+        Assertions.assertNull(failure.get());
+        Assertions.assertEquals(size, list.size());
+        for (int i = 0; i < size; i++) {
+            Assertions.assertEquals(i / 2, list.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName(value = "copy-on-write readers stress test")
+    void copyOnWriteReaders() throws Exception {
+        readersSeeConsistentState(new CopyOnWritePanfArrList<>(), false);
+        readersSeeConsistentState(new CopyOnWritePanfArrList<>(), true);
+    }
+
+    @Test
+    @DisplayName(value = "stamped readers stress test")
+    void stampedReaders() throws Exception {
+        readersSeeConsistentState(new StampedPanfArrList<>(), false);
+        readersSeeConsistentState(new StampedPanfArrList<>(), true);
+    }
+
+    @Test
+    @DisplayName(value = "copy-on-write snapshot iteration test")
+    void copyOnWriteSnapshotIteration() {
+        CopyOnWritePanfArrList<String> list = new CopyOnWritePanfArrList<>(List.of("a", "b", "c"));
+        Iterator<String> it = list.iterator();
+        list.add("d");
+        list.remove("a");
+        List<String> seen = new ArrayList<>();
+        it.forEachRemaining(seen::add);
+        Assertions.assertEquals(List.of("a", "b", "c"), seen);
+        Assertions.assertEquals(List.of("b", "c", "d"), list);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.iterator().remove());
+        Assertions.assertTrue(list.addIfAbsent("e"));
+        Assertions.assertFalse(list.addIfAbsent("e"));
+    }
+
+    @Test
+    @DisplayName(value = "stamped list operations test")
+    void stampedOperations() {
+        StampedPanfArrList<Integer> list = new StampedPanfArrList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 10);
+        }
+        Assertions.assertEquals(3, list.indexOf(3));
+        Assertions.assertTrue(list.removeIf(v -> v >= 5));
+        Assertions.assertEquals(50, list.size());
+        list.sort(null);
+        Assertions.assertEquals(0, list.get(0));
+        Assertions.assertEquals(4, list.get(49));
+        Assertions.assertEquals(4, list.pollLast());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(49));
+        list.clear();
+        Assertions.assertNull(list.pollLast());
+        Assertions.assertTrue(list.isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "stamped indexOf retries when equals fails on an inconsistent read test")
+    void stampedIndexOfRetriesAfterFailedEquals() {
+        StampedPanfArrList<Object> list = new StampedPanfArrList<>();
+        Object target = "target";
+        list.add("a");
+        list.add(target);
+        // Первый вызов equals имитирует запись, случившуюся во время оптимистичного чтения, и падает, как на
+        // недостроенном элементе; повторный просмотр под блокировкой чтения должен ответить штатно
+        Object probe = new Object() {
+            private boolean first = true;
+
+            @Override
+            public boolean equals(Object element) {
+                if (first) {
+                    first = false;
+                    list.add("written concurrently");
+                    throw new IllegalStateException("inconsistent element");
+                }
+                return element == target;
+            }
+
+            @Override
+            public int hashCode() {
+                return target.hashCode();
+            }
+        };
+        Assertions.assertEquals(1, list.indexOf(probe));
+
+        // Без одновременных изменений исключение equals относится к самим данным и пробрасывается
+        Object failing = new Object() {
+            @Override
+            public boolean equals(Object element) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        };
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.indexOf(failing));
+    }
+
+    @Test
+    @DisplayName(value = "stamped list removeIf keeps unchecked tail when predicate throws test")
+    void stampedRemoveIfWithThrowingPredicate() {
+        StampedPanfArrList<Integer> list = new StampedPanfArrList<>();
+        list.addAll(List.of(1, 2, 3, 4));
+        Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+            if (i == 4) {
+                throw new IllegalStateException();
+            }
+            return i == 2;
+        }));
+        Assertions.assertEquals(List.of(1, 3, 4), list);
+        Assertions.assertTrue(list.removeIf(i -> i == 3));
+        Assertions.assertFalse(list.removeIf(i -> i == 3));
+        Assertions.assertEquals(List.of(1, 4), list);
+    }
+
+    @Test
+    @DisplayName(value = "stamped list removeAll and retainAll with itself test")
+    void stampedBulkRemoveWithItself() {
+        StampedPanfArrList<Integer> list = new StampedPanfArrList<>();
+        list.addAll(List.of(1, 2, 3));
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            Assertions.assertFalse(list.retainAll(list));
+            Assertions.assertEquals(List.of(1, 2, 3), list);
+            Assertions.assertTrue(list.removeAll(list));
+        });
+        Assertions.assertTrue(list.isEmpty());
+    }
+}
@@ -0,0 +1,190 @@
+import org.example.cars.Car;
+import org.example.cars.CarElementCodec;
+import org.example.io.ElementCodec;
+import org.example.io.ExternalSorter;
+import org.example.io.PanfArrListReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class ExternalSorterTest {
+
+    private static final Cars CARS = new Cars(100_000, 0, 1000);
+
+    private static final Comparator<Car> BY_POWER = Comparator.comparingInt(Car::getPower);
+
+    @TempDir
+    Path dir;
+
+    private List<Car> expectedSorted(int size, long seed) {
+        List<Car> expected = CARS.list(size, seed);
+        expected.sort(BY_POWER);
+        return expected;
+    }
+
+    private long tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("panfarrlist-run")).count();
+        }
+    }
+
+    private ExternalSorter.Builder<Car> sorter(int runSize, int parallelism) {
+        // Бюджет, при котором серия содержит runSize элементов размером 64 байта
+        return ExternalSorter.builder(new CarElementCodec(), BY_POWER)
+                .memoryBudget((long) runSize * 72 * (parallelism + 1))
+                .parallelism(parallelism)
+                .bufferSize(512)
+                .tempDirectory(dir);
+    }
+
+    @Test
+    @DisplayName(value = "external sort with several merge passes is stable test")
+    void multiPassMerge() throws IOException {
+        ExternalSorter<Car> sorter = sorter(1000, 1).fanIn(3).build();
+        Assertions.assertEquals(1000, sorter.runSize());
+        List<Car> actual = new ArrayList<>();
+        // 50 серий при слиянии по 3: 50 -> 17 -> 6 -> 2 - три промежуточных прохода и заключительное слияние двух серий
+        try (ExternalSorter.SortedIterator<Car> sorted = sorter.sort(CARS.iterator(50_000, 1))) {
+            Assertions.assertEquals(3, sorted.mergePasses());
+            Assertions.assertEquals(2, tempFiles());
+            sorted.forEachRemaining(actual::add);
+        }
+        // Мощностей всего 1000, поэтому равных по компаратору много: порядок совпадает только при стабильном слиянии
+        Assertions.assertEquals(expectedSorted(50_000, 1), actual);
+        Assertions.assertEquals(0, tempFiles());
+    }
+
+    @Test
+    @DisplayName(value = "parallel run generation to file test")
+    void parallelToFile() throws IOException {
+        Path output = dir.resolve("sorted.panb");
+        ExternalSorter<Car> sorter = sorter(2000, 4).fanIn(8).build();
+        Assertions.assertEquals(30_001, sorter.sort(CARS.iterator(30_001, 2), output));
+        Assertions.assertEquals(expectedSorted(30_001, 2), PanfArrListReader.read(output, new CarElementCodec()));
+        Assertions.assertEquals(0, tempFiles());
+    }
+
+    @Test
+    @DisplayName(value = "input fitting one run is sorted in memory test")
+    void singleRun() throws IOException {
+        ExternalSorter<Car> sorter = sorter(1000, 1).build();
+        List<Car> actual = new ArrayList<>();
+        try (ExternalSorter.SortedIterator<Car> sorted = sorter.sort(CARS.iterator(1000, 3))) {
+            Assertions.assertEquals(0, tempFiles());
+            Assertions.assertEquals(0, sorted.mergePasses());
+            sorted.forEachRemaining(actual::add);
+        }
+        Assertions.assertEquals(expectedSorted(1000, 3), actual);
+
+        try (ExternalSorter.SortedIterator<Car> empty = sorter.sort(List.<Car>of().iterator())) {
+            Assertions.assertFalse(empty.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "nulls and natural order test")
+    void naturalOrderWithNulls() throws IOException {
+        List<String> input = new ArrayList<>();
+        Random random = new Random(4);
+        for (int i = 0; i < 5000; i++) {
+            input.add(i % 100 == 0 ? null : Integer.toString(random.nextInt()));
+        }
+        ExternalSorter<String> sorter = ExternalSorter
+                .builder(ElementCodec.utf8(), Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .memoryBudget(300 * 72)
+                .fanIn(2)
+                .tempDirectory(dir)
+                .build();
+        List<String> actual = new ArrayList<>();
+        try (ExternalSorter.SortedIterator<String> sorted = sorter.sort(input.iterator())) {
+            sorted.forEachRemaining(actual::add);
+        }
+        input.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        Assertions.assertEquals(input, actual);
+    }
+
+    @Test
+    @DisplayName(value = "temporary files are deleted on failure test")
+    void failureCleansUp() throws IOException {
+        ElementCodec<Integer> failing = new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "failing";
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer) {
+                if (value == 7777) {
+                    throw new IllegalStateException("Cannot encode " + value);
+                }
+                buffer.putInt(value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+        List<Integer> input = new ArrayList<>();
+        for (int i = 10_000; i > 0; i--) {
+            input.add(i);
+        }
+        for (int parallelism : new int[]{1, 3}) {
+            ExternalSorter<Integer> sorter = ExternalSorter.builder(failing, null)
+                    .memoryBudget(500L * 72 * (parallelism + 1))
+                    .parallelism(parallelism)
+                    .tempDirectory(dir)
+                    .build();
+            Assertions.assertThrows(IllegalStateException.class, () -> sorter.sort(input.iterator()));
+            Assertions.assertEquals(0, tempFiles());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ExternalSorter.builder(ElementCodec.int32(), null).fanIn(1));
+    }
+
+    /**
+     * Сортировка нескольких гигабайт на локальном диске. Выключена по умолчанию; запуск:
+     * {@code mvn test -Dtest=ExternalSorterTest -Dpanfarrlist.largeTests=true [-Dpanfarrlist.largeTests.elements=N]}
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "panfarrlist.largeTests", matches = "true")
+    @DisplayName(value = "multi-gigabyte external sort test")
+    void multiGigabyte() throws IOException {
+        // 100 млн автомобилей занимают около 2 ГБ в двоичном формате
+        long size = Long.getLong("panfarrlist.largeTests.elements", 100_000_000L);
+        Path output = dir.resolve("large-sorted.panb");
+        ExternalSorter<Car> sorter = ExternalSorter.builder(new CarElementCodec(), BY_POWER)
+                .memoryBudget(Runtime.getRuntime().maxMemory() / 3)
+                .elementSize(96)
+                .parallelism(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))
+                .tempDirectory(dir)
+                .build();
+        Assertions.assertEquals(size, sorter.sort(CARS.iterator(size, 5), output));
+
+        long count = 0;
+        int previous = Integer.MIN_VALUE;
+        try (PanfArrListReader<Car> reader = PanfArrListReader.open(output, new CarElementCodec(), 1 << 20)) {
+            Assertions.assertEquals(size, reader.count());
+            while (reader.hasNext()) {
+                int power = reader.next().getPower();
+                Assertions.assertTrue(power >= previous, "order is broken at " + count);
+                previous = power;
+                count++;
+            }
+        }
+        Assertions.assertEquals(size, count);
+        Assertions.assertEquals(0, tempFiles());
+    }
+}
@@ -0,0 +1,93 @@
+import org.example.IndexedPanfArrList;
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class IndexedPanfArrListTest {
+
+    @Test
+    @DisplayName(value = "indexed list stays consistent with ArrayList test")
+    void randomOperations() {
+        IndexedPanfArrList<Integer> list = new IndexedPanfArrList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 20_000; step++) {
+            Integer value = random.nextInt(200) == 0 ? null : random.nextInt(300);
+            switch (random.nextInt(8)) {
+                case 0:
+                case 1:
+                case 2:
+                    list.add(value);
+                    expected.add(value);
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        Assertions.assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                    break;
+                case 4:
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                    break;
+                case 5:
+                    Assertions.assertEquals(expected.remove(value), list.remove(value));
+                    break;
+                case 6:
+                    if (random.nextInt(50) == 0) {
+                        list.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+                        expected.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Assertions.assertEquals(expected.indexOf(value), list.indexOf(value));
+            Assertions.assertEquals(expected.contains(value), list.contains(value));
+        }
+        Assertions.assertEquals(expected, list);
+    }
+
+    @Test
+    @DisplayName(value = "distinct keeps first occurrences test")
+    void distinct() {
+        PanfArrList<String> list = new PanfArrList<>(Arrays.asList("b", "a", null, "b", "c", "a", null, "d"));
+        Assertions.assertEquals(Arrays.asList("b", "a", null, "c", "d"), list.distinct());
+        Assertions.assertEquals(8, list.size());
+        Assertions.assertTrue(new PanfArrList<>().distinct().isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "car equals, hashCode and compareTo consistency test")
+    void carEquality() {
+        Car audi = new Car("Audi", "A6", 250);
+        Car sameAudi = new Car("AUDI", "a6", 250);
+        Car weakerAudi = new Car("audi", "A6", 200);
+        Assertions.assertEquals(audi, sameAudi);
+        Assertions.assertEquals(audi.hashCode(), sameAudi.hashCode());
+        Assertions.assertEquals(0, audi.compareTo(sameAudi));
+        Assertions.assertNotEquals(audi, weakerAudi);
+        Assertions.assertTrue(weakerAudi.compareTo(audi) < 0);
+        // Порядок без учёта регистра транзитивен
+        Car a = new Car("a", "x", 1);
+        Car b = new Car("B", "x", 1);
+        Assertions.assertTrue(a.compareTo(b) < 0);
+        Assertions.assertTrue(b.compareTo(a) > 0);
+
+        IndexedPanfArrList<Car> cars = new IndexedPanfArrList<>();
+        cars.add(audi);
+        cars.add(weakerAudi);
+        Assertions.assertTrue(cars.contains(new Car("audi", "a6", 250)));
+        Assertions.assertEquals(1, cars.indexOf(new Car("Audi", "A6", 200)));
+        Assertions.assertEquals(2, new PanfArrList<>(Arrays.asList(audi, sameAudi, weakerAudi)).distinct().size());
+    }
+}
@@ -0,0 +1,108 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.GrowthPolicy;
+import org.example.PanfArrList;
+import org.example.ShrinkPolicy;
+import org.example.metrics.ListMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ListMetricsTest {
+
+    @Test
+    @DisplayName(value = "metrics count hot path events test")
+    void counters() {
+        ListMetrics metrics = new ListMetrics();
+        PanfArrList<Integer> list = new PanfArrList<>(10, GrowthPolicy.geometric(2), ShrinkPolicy.halving());
+        list.setMetrics(metrics);
+        for (int i = 0; i < 40; i++) {
+            list.add(i);
+        }
+        // 10 -> 20 -> 40: два увеличения, скопировано 10 + 20 ссылок
+        Assertions.assertEquals(2, metrics.getGrowCount());
+        Assertions.assertEquals(30, metrics.getGrowCopiedElements());
+        Assertions.assertTrue(metrics.getGrowCopiedBytes() >= 30 * 4);
+
+        list.add(0, -1);
+        list.remove(0);
+        list.remove(39);
+        Assertions.assertEquals(2, metrics.getShiftCount());
+        Assertions.assertEquals(80, metrics.getShiftedElements());
+        Assertions.assertEquals(40, metrics.getMaxShiftedElements());
+
+        list.sort();
+        list.sort(null);
+        Assertions.assertEquals(2, metrics.getSortCount());
+        Assertions.assertEquals(78, metrics.getSortedElements());
+        Assertions.assertTrue(metrics.getSortNanos() > 0);
+
+        list.removeRange(0, 30);
+        Assertions.assertEquals(1, metrics.getShrinkCount());
+        list.clear();
+        Assertions.assertEquals(1, metrics.getClearCount());
+        Assertions.assertEquals(40, metrics.getUnusedSlotsAfterClear());
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getGrowCount());
+        list.setMetrics(null);
+        list.add(1);
+        list.sort();
+        Assertions.assertEquals(0, metrics.getSortCount());
+    }
+
+    @Test
+    @DisplayName(value = "metrics are exposed via JMX test")
+    void jmx() throws Exception {
+        ListMetrics metrics = new ListMetrics();
+        ObjectName name = metrics.register("jmx-test");
+        try {
+            PanfArrList<Integer> list = new PanfArrList<>(1);
+            list.setMetrics(metrics);
+            list.add(1);
+            list.add(2);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assertions.assertEquals(1L, server.getAttribute(name, "GrowCount"));
+            Assertions.assertThrows(IllegalStateException.class, () -> metrics.register("jmx-test"));
+        } finally {
+            metrics.unregister();
+        }
+        Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    @DisplayName(value = "metrics emit JFR events test")
+    void jfr(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.PanfArrList.Resize");
+            recording.enable("org.example.PanfArrList.Sort");
+            recording.start();
+            PanfArrList<Integer> list = new PanfArrList<>(1);
+            list.setMetrics(new ListMetrics());
+            for (int i = 0; i < 5; i++) {
+                list.add(5 - i);
+            }
+            list.sort();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toList());
+        Assertions.assertTrue(names.contains("org.example.PanfArrList.Resize"));
+        RecordedEvent sort = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.example.PanfArrList.Sort"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(5, sort.getInt("size"));
+        Assertions.assertEquals("INTROSORT", sort.getString("algorithm"));
+    }
+}
@@ -0,0 +1,164 @@
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarRecordCodec;
+import org.example.offheap.OffHeapPanfArrList;
+import org.example.offheap.RecordCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class OffHeapPanfArrListTest {
+
+    private static final Cars CARS = new Cars(20, 0, 500);
+
+    @Test
+    @DisplayName(value = "off-heap list operations test")
+    void operations() {
+        // Маленький чанк, чтобы записи распределялись по нескольким буферам
+        OffHeapPanfArrList<Car> list = OffHeapPanfArrList.allocateDirect(new CarRecordCodec(), 100);
+        List<Car> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            Car car = CARS.next(random);
+            int operation = random.nextInt(10);
+            if (operation < 6 || expected.isEmpty()) {
+                list.add(car);
+                expected.add(car);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                list.set(index, car);
+                expected.set(index, car);
+            } else if (operation == 8) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, car);
+                expected.add(index, car);
+            } else {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        Assertions.assertEquals(expected, list);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+        list.clear();
+        Assertions.assertTrue(list.isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "off-heap sort by field test")
+    void sortByField() {
+        CarRecordCodec codec = new CarRecordCodec();
+        OffHeapPanfArrList<Car> list = OffHeapPanfArrList.allocateDirect(codec, 120);
+        PanfArrList<Car> expected = new PanfArrList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            Car car = CARS.next(random);
+            list.add(car);
+            expected.add(car);
+        }
+        list.sortBy(codec.power());
+        expected.sort(Comparator.comparingInt(Car::getPower));
+        Assertions.assertEquals(expected, list);
+
+        list.sortBy(codec.model());
+        list.sortBy(codec.brand());
+        expected.sort(Comparator.comparing(Car::getModel, String.CASE_INSENSITIVE_ORDER));
+        expected.sort(Comparator.comparing(Car::getBrand, String.CASE_INSENSITIVE_ORDER));
+        Assertions.assertEquals(expected, list);
+        for (int i = 1; i < list.size(); i++) {
+            Assertions.assertTrue(list.get(i - 1).compareTo(list.get(i)) <= 0);
+        }
+
+        // Унаследованный List.sort(Comparator) доступен наравне с sortBy(RecordKey)
+        list.sort((a, b) -> Integer.compare(b.getPower(), a.getPower()));
+        expected.sort(Comparator.comparingInt(Car::getPower).reversed());
+        Assertions.assertEquals(expected, list);
+        list.sort(null);
+        for (int i = 1; i < list.size(); i++) {
+            Assertions.assertTrue(list.get(i - 1).compareTo(list.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "off-heap sort matches Car.compareTo on mixed-case names test")
+    void sortByFieldIgnoresCase() {
+        String[] brands = {"audi", "BMW", "Audi", "bmw", "citroen", "Citroen"};
+        String[] models = {"a6", "X5", "A6", "x5", "c5"};
+        CarRecordCodec codec = new CarRecordCodec();
+        OffHeapPanfArrList<Car> list = OffHeapPanfArrList.allocateDirect(codec);
+        PanfArrList<Car> expected = new PanfArrList<>();
+        Random random = new Random(14);
+        for (int i = 0; i < 1000; i++) {
+            Car car = new Car(brands[random.nextInt(brands.length)], models[random.nextInt(models.length)],
+                    random.nextInt(5));
+            list.add(car);
+            expected.add(car);
+        }
+        list.sortBy(codec.power());
+        list.sortBy(codec.model());
+        list.sortBy(codec.brand());
+        expected.sort(null);
+        Assertions.assertEquals(expected, list);
+        // Совпадают и регистры: равные без учёта регистра записи сохраняют исходный порядок в обоих списках
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals(expected.get(i).toString(), list.get(i).toString(), "index " + i);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "file-backed list reopen test")
+    void reopen(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("cars.panf");
+        List<Car> expected = new ArrayList<>();
+        Random random = new Random(3);
+        try (OffHeapPanfArrList<Car> list = OffHeapPanfArrList.open(file, new CarRecordCodec(), 1200)) {
+            for (int i = 0; i < 500; i++) {
+                Car car = CARS.next(random);
+                list.add(car);
+                expected.add(car);
+            }
+        }
+        CarRecordCodec codec = new CarRecordCodec();
+        try (OffHeapPanfArrList<Car> list = OffHeapPanfArrList.open(file, codec, 600)) {
+            Assertions.assertEquals(expected, list);
+            list.sortBy(codec.power());
+            list.add(new Car("Ferrari", "Testarossa", 390));
+        }
+        expected.sort(Comparator.comparingInt(Car::getPower));
+        expected.add(new Car("Ferrari", "Testarossa", 390));
+        try (OffHeapPanfArrList<Car> list = OffHeapPanfArrList.open(file, new CarRecordCodec())) {
+            Assertions.assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "file-backed list with another record size test")
+    void reopenWithWrongCodec(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("cars.panf");
+        OffHeapPanfArrList.open(file, new CarRecordCodec()).close();
+        Assertions.assertThrows(IOException.class, () -> OffHeapPanfArrList.open(file, new RecordCodec<Integer>() {
+            @Override
+            public int recordSize() {
+                return 4;
+            }
+
+            @Override
+            public void write(Integer value, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, value);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        }));
+    }
+}
@@ -0,0 +1,197 @@
+import org.example.PanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PanfArrListCollectionTest {
+
+    private PanfArrList<Integer> range(int size) {
+        PanfArrList<Integer> list = new PanfArrList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    @DisplayName(value = "list interface and equality with ArrayList test")
+    void listInterface() {
+        List<Integer> list = range(5);
+        Assertions.assertTrue(list instanceof RandomAccess);
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4), list);
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4).hashCode(), list.hashCode());
+        Assertions.assertEquals(new PanfArrList<>(List.of(0, 1, 2, 3, 4)), list);
+        Assertions.assertEquals(Integer.valueOf(4), Collections.max(list));
+        Assertions.assertArrayEquals(new Integer[]{0, 1, 2, 3, 4}, list.toArray(new Integer[0]));
+        Assertions.assertArrayEquals(new Object[]{0, 1, 2, 3, 4}, list.toArray());
+    }
+
+    @Test
+    @DisplayName(value = "null elements test")
+    void nullElements() {
+        PanfArrList<String> list = new PanfArrList<>();
+        list.add("a");
+        list.add(null);
+        list.add("b");
+        list.add(null);
+        Assertions.assertEquals(1, list.indexOf(null));
+        Assertions.assertEquals(3, list.lastIndexOf(null));
+        Assertions.assertTrue(list.contains(null));
+        Assertions.assertTrue(list.remove(null));
+        Assertions.assertEquals(Arrays.asList("a", "b", null), list);
+    }
+
+    @Test
+    @DisplayName(value = "remove by index shifts all following elements test")
+    void removeShifts() {
+        PanfArrList<Integer> list = range(6);
+        list.remove(1);
+        Assertions.assertEquals(List.of(0, 2, 3, 4, 5), list);
+        list.remove(4);
+        Assertions.assertEquals(List.of(0, 2, 3, 4), list);
+    }
+
+    @Test
+    @DisplayName(value = "for-each and iterator remove test")
+    void iterator() {
+        PanfArrList<Integer> list = range(10);
+        int sum = 0;
+        for (int value : list) {
+            sum += value;
+        }
+        Assertions.assertEquals(45, sum);
+        Iterator<Integer> it = list.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        Assertions.assertEquals(List.of(1, 3, 5, 7, 9), list);
+        Assertions.assertThrows(NoSuchElementException.class, it::next);
+        it.remove();
+        Assertions.assertEquals(List.of(1, 3, 5, 7), list);
+        Assertions.assertThrows(IllegalStateException.class, it::remove);
+    }
+
+    @Test
+    @DisplayName(value = "fail-fast iterator test")
+    void failFastIterator() {
+        PanfArrList<Integer> list = range(10);
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> {
+            for (Integer value : list) {
+                if (value == 3) {
+                    list.add(100);
+                }
+            }
+        });
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        list.remove(0);
+        Assertions.assertThrows(ConcurrentModificationException.class, it::next);
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> list.forEach(x -> list.add(x)));
+    }
+
+    @Test
+    @DisplayName(value = "subList view test")
+    void subList() {
+        PanfArrList<Integer> list = range(10);
+        List<Integer> view = list.subList(2, 6);
+        Assertions.assertEquals(List.of(2, 3, 4, 5), view);
+        view.set(0, 20);
+        Assertions.assertEquals(20, list.get(2));
+        view.remove(1);
+        Assertions.assertEquals(9, list.size());
+        view.add(30);
+        Assertions.assertEquals(List.of(0, 1, 20, 4, 5, 30, 6, 7, 8, 9), list);
+        view.clear();
+        Assertions.assertEquals(List.of(0, 1, 6, 7, 8, 9), list);
+        list.add(10);
+        Assertions.assertThrows(ConcurrentModificationException.class, view::size);
+    }
+
+    @Test
+    @DisplayName(value = "spliterator and streams test")
+    void streams() {
+        PanfArrList<Integer> list = range(100_000);
+        Spliterator<Integer> spliterator = list.spliterator();
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Assertions.assertEquals(100_000, spliterator.estimateSize());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        Assertions.assertEquals(50_000, prefix.estimateSize());
+        Assertions.assertEquals(50_000, spliterator.estimateSize());
+        long expected = 100_000L * 99_999 / 2;
+        Assertions.assertEquals(expected, list.stream().mapToLong(Integer::longValue).sum());
+        Assertions.assertEquals(expected, list.parallelStream().mapToLong(Integer::longValue).sum());
+        Assertions.assertEquals(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()),
+                list.parallelStream().collect(Collectors.toList()));
+        List<Integer> copy = new ArrayList<>(list);
+        Assertions.assertEquals(copy, list);
+        Assertions.assertThrows(ConcurrentModificationException.class,
+                () -> list.stream().forEach(x -> list.add(1)));
+    }
+
+    @Test
+    @DisplayName(value = "addAll by index test")
+    void addAllByIndex() {
+        PanfArrList<Integer> list = new PanfArrList<>(2);
+        list.add(1);
+        list.add(5);
+        Assertions.assertTrue(list.addAll(1, List.of(2, 3, 4)));
+        Assertions.assertTrue(list.addAll(0, List.of(-1, 0)));
+        Assertions.assertTrue(list.addAll(list.size(), List.of(6)));
+        Assertions.assertFalse(list.addAll(3, List.of()));
+        Assertions.assertEquals(List.of(-1, 0, 1, 2, 3, 4, 5, 6), list);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(9, List.of(1)));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(-1, List.of(1)));
+    }
+
+    @Test
+    @DisplayName(value = "removeAll, retainAll and removeIf test")
+    void bulkRemove() {
+        PanfArrList<Integer> list = range(20);
+        Assertions.assertTrue(list.removeIf(x -> x % 2 == 0));
+        Assertions.assertFalse(list.removeIf(x -> x % 2 == 0));
+        Assertions.assertEquals(List.of(1, 3, 5, 7, 9, 11, 13, 15, 17, 19), list);
+        Assertions.assertTrue(list.removeAll(Set.of(1, 19, 100)));
+        Assertions.assertEquals(List.of(3, 5, 7, 9, 11, 13, 15, 17), list);
+        Assertions.assertTrue(list.retainAll(Set.of(5, 9, 17)));
+        Assertions.assertEquals(List.of(5, 9, 17), list);
+        Assertions.assertFalse(list.retainAll(Set.of(5, 9, 17)));
+    }
+
+    @Test
+    @DisplayName(value = "removeIf keeps the list consistent when the predicate throws test")
+    void removeIfWithFailingPredicate() {
+        PanfArrList<Integer> list = range(10);
+        Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(x -> {
+            if (x == 6) {
+                throw new IllegalStateException();
+            }
+            return x % 2 == 0;
+        }));
+        Assertions.assertEquals(List.of(1, 3, 5, 6, 7, 8, 9), list);
+    }
+
+    @Test
+    @DisplayName(value = "removeRange via subList clear test")
+    void removeRange() {
+        PanfArrList<Integer> list = range(10);
+        list.subList(0, 3).clear();
+        list.subList(4, 7).clear();
+        list.subList(1, 1).clear();
+        Assertions.assertEquals(List.of(3, 4, 5, 6), list);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,14 @@
+import org.example.GrowthPolicy;
 import org.example.PanfArrList;
+import org.example.ShrinkPolicy;
 import org.example.cars.Car;
+import org.example.metrics.ListMetrics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 public class PanfArrListTest<T> {
 
@@ -193,4 +197,140 @@ public class PanfArrListTest<T> {
         Assertions.assertEquals(cars.get(2).toString(), "Citroen C5, 204 hp");
         Assertions.assertEquals(cars.get(3).toString(), "Ferrati Testarossa, 450 hp");
     }
-}
+
+    @Test
+    @DisplayName(value = "growth policies test")
+    void growthPolicies() {
+        Assertions.assertEquals(15, GrowthPolicy.geometric(1.5).grow(10, 11));
+        Assertions.assertEquals(20, GrowthPolicy.geometric(2).grow(10, 11));
+        Assertions.assertEquals(2, GrowthPolicy.geometric(1.5).grow(1, 2));
+        Assertions.assertEquals(20, GrowthPolicy.fixed(10).grow(10, 11));
+        Assertions.assertEquals(100, GrowthPolicy.fixed(10).grow(10, 100));
+        GrowthPolicy capped = GrowthPolicy.capped(2, 100, 10);
+        Assertions.assertEquals(80, capped.grow(40, 41));
+        Assertions.assertEquals(100, capped.grow(80, 81));
+        Assertions.assertEquals(110, capped.grow(100, 101));
+        Assertions.assertEquals(GrowthPolicy.MAX_ARRAY_SIZE, GrowthPolicy.geometric(2).grow(Integer.MAX_VALUE / 2 + 1, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.geometric(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixed(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.capped(2, 0, 10));
+    }
+
+    @Test
+    @DisplayName(value = "shrink policies test")
+    void shrinkPolicies() {
+        Assertions.assertEquals(100, ShrinkPolicy.never().shrink(100, 0));
+        Assertions.assertEquals(50, ShrinkPolicy.halving().shrink(100, 25));
+        Assertions.assertEquals(100, ShrinkPolicy.halving().shrink(100, 26));
+    }
+
+    @Test
+    @DisplayName(value = "fill with every growth policy test")
+    void fillWithPolicies() {
+        List<GrowthPolicy> policies = List.of(GrowthPolicy.geometric(1.5), GrowthPolicy.geometric(2),
+                GrowthPolicy.fixed(1), GrowthPolicy.capped(1.5, 64, 7));
+        for (GrowthPolicy policy : policies) {
+            PanfArrList<Integer> ints = new PanfArrList<>(0, policy);
+            for (int i = 0; i < 1000; i++) {
+                ints.add(i);
+            }
+            ints.add(0, -1);
+            Assertions.assertEquals(1001, ints.size());
+            Assertions.assertEquals(-1, ints.get(0));
+            Assertions.assertEquals(999, ints.get(1000));
+        }
+    }
+
+    @Test
+    @DisplayName(value = "drain with halving shrink policy test")
+    void drainWithShrinkPolicy() {
+        PanfArrList<Integer> ints = new PanfArrList<>(0, GrowthPolicy.geometric(2), ShrinkPolicy.halving());
+        CapacityMetrics metrics = new CapacityMetrics();
+        ints.setMetrics(metrics);
+        for (int i = 0; i < 1000; i++) {
+            ints.add(i);
+        }
+        Assertions.assertTrue(metrics.capacity >= 1000);
+        Assertions.assertEquals(0, metrics.getShrinkCount());
+        while (ints.size() > 1) {
+            ints.remove(ints.size() - 1);
+            // Массив уменьшается вдвое, как только заполнен не более чем на четверть
+            Assertions.assertTrue(ints.size() > metrics.capacity / 4 || metrics.capacity == 10,
+                    "size " + ints.size() + ", capacity " + metrics.capacity);
+        }
+        Assertions.assertTrue(metrics.getShrinkCount() > 0);
+        Assertions.assertEquals(10, metrics.capacity);
+        Assertions.assertEquals(0, ints.get(0));
+        ints.add(1);
+        Assertions.assertEquals(2, ints.size());
+        Assertions.assertEquals(1, ints.get(1));
+
+        // clear() не обращается к политике уменьшения и сохраняет вместимость
+        long shrinks = metrics.getShrinkCount();
+        ints.clear();
+        Assertions.assertEquals(shrinks, metrics.getShrinkCount());
+        Assertions.assertEquals(10, metrics.clearedCapacity);
+    }
+
+    /**
+     * Метрики, запоминающие текущую вместимость списка по событиям увеличения и уменьшения массива
+     */
+    private static class CapacityMetrics extends ListMetrics {
+
+        private int capacity;
+
+        private int clearedCapacity;
+
+        @Override
+        public void recordGrow(int oldCapacity, int newCapacity) {
+            super.recordGrow(oldCapacity, newCapacity);
+            capacity = newCapacity;
+        }
+
+        @Override
+        public void recordShrink(int oldCapacity, int newCapacity) {
+            super.recordShrink(oldCapacity, newCapacity);
+            capacity = newCapacity;
+        }
+
+        @Override
+        public void recordClear(int capacity) {
+            super.recordClear(capacity);
+            clearedCapacity = capacity;
+        }
+    }
+
+    @Test
+    @DisplayName(value = "ensureCapacity and addAll test")
+    void ensureCapacityAndAddAll() {
+        PanfArrList<String> strings = new PanfArrList<>(0);
+        strings.ensureCapacity(100);
+        Assertions.assertTrue(strings.isEmpty());
+        strings.add("a");
+        Assertions.assertTrue(strings.addAll(List.of("b", "c", "d")));
+        Assertions.assertFalse(strings.addAll(List.of()));
+        Assertions.assertEquals(4, strings.size());
+        Assertions.assertEquals("d", strings.get(3));
+    }
+
+    @Test
+    @DisplayName(value = "add after clearTotal test")
+    void addAfterClearTotal() {
+        fillList();
+        list.clearTotal();
+        Assertions.assertEquals(0, list.size());
+        list.add(ITEM);
+        Assertions.assertEquals(ITEM, list.get(0));
+    }
+
+    @Test
+    @DisplayName(value = "empty and single element sort test")
+    void sortEmptyAndSingle() {
+        PanfArrList<Integer> ints = new PanfArrList<>();
+        ints.sort();
+        Assertions.assertTrue(ints.isEmpty());
+        ints.add(1);
+        ints.sort();
+        Assertions.assertEquals(1, ints.get(0));
+    }
+}
\ No newline at end of file
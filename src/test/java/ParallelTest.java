@@ -0,0 +1,114 @@
+import org.example.PanfArrList;
+import org.example.sort.ParallelMergeSort;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParallelTest {
+
+    private static final int SIZE = 200_000;
+
+    private PanfArrList<Integer> randomList(int size) {
+        Random random = new Random(42);
+        PanfArrList<Integer> list = new PanfArrList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(1000));
+        }
+        return list;
+    }
+
+    private Integer[] toArray(PanfArrList<Integer> list) {
+        Integer[] result = new Integer[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName(value = "parallel sort test")
+    void parallelSort() {
+        PanfArrList<Integer> list = randomList(SIZE);
+        Integer[] expected = toArray(list);
+        Arrays.sort(expected, Comparator.reverseOrder());
+        list.parallelSort(Comparator.reverseOrder());
+        Assertions.assertArrayEquals(expected, toArray(list));
+    }
+
+    @Test
+    @DisplayName(value = "parallel sort in a custom pool test")
+    void parallelSortInCustomPool() {
+        PanfArrList<Integer> list = randomList(SIZE);
+        Integer[] expected = toArray(list);
+        Arrays.sort(expected);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> list.parallelSort(null)).join();
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertArrayEquals(expected, toArray(list));
+    }
+
+    @Test
+    @DisplayName(value = "parallel merge sort stability test")
+    void parallelSortStability() {
+        Random random = new Random(7);
+        int[][] pairs = new int[SIZE][];
+        for (int i = 0; i < SIZE; i++) {
+            pairs[i] = new int[]{random.nextInt(10), i};
+        }
+        ParallelMergeSort.sort(pairs, 0, SIZE, Comparator.<int[]>comparingInt(p -> p[0]), 1000);
+        for (int i = 1; i < SIZE; i++) {
+            Assertions.assertTrue(pairs[i - 1][0] < pairs[i][0]
+                    || pairs[i - 1][0] == pairs[i][0] && pairs[i - 1][1] < pairs[i][1]);
+        }
+        Integer[] tiny = {3, 1, 2};
+        ParallelMergeSort.sort(tiny, 0, 3, Comparator.<Integer>naturalOrder(), 1);
+        Assertions.assertArrayEquals(new Integer[]{1, 2, 3}, tiny);
+    }
+
+    @Test
+    @DisplayName(value = "parallel forEach and replaceAll test")
+    void parallelForEachAndReplaceAll() {
+        PanfArrList<Integer> list = randomList(SIZE);
+        long expected = 0;
+        for (int i = 0; i < list.size(); i++) {
+            expected += list.get(i);
+        }
+        list.parallelReplaceAll(x -> x * 2);
+        LongAdder sum = new LongAdder();
+        list.parallelForEach(sum::add);
+        Assertions.assertEquals(expected * 2, sum.sum());
+    }
+
+    @Test
+    @DisplayName(value = "parallel removeIf test")
+    void parallelRemoveIf() {
+        PanfArrList<Integer> list = randomList(SIZE);
+        Integer[] expected = Arrays.stream(toArray(list)).filter(x -> x % 3 != 0).toArray(Integer[]::new);
+        Assertions.assertTrue(list.parallelRemoveIf(x -> x % 3 == 0));
+        Assertions.assertArrayEquals(expected, toArray(list));
+        Assertions.assertFalse(list.parallelRemoveIf(x -> x % 3 == 0));
+    }
+
+    @Test
+    @DisplayName(value = "parallel indexOf and contains test")
+    void parallelSearch() {
+        PanfArrList<Integer> list = new PanfArrList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i % 50_000);
+        }
+        Assertions.assertEquals(49_999, list.parallelIndexOf(49_999));
+        Assertions.assertEquals(0, list.parallelIndexOf(0));
+        Assertions.assertEquals(-1, list.parallelIndexOf(-5));
+        Assertions.assertTrue(list.parallelContains(123));
+        Assertions.assertFalse(list.parallelContains(null));
+    }
+}
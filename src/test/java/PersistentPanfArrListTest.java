@@ -0,0 +1,120 @@
+import org.example.PersistentPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class PersistentPanfArrListTest {
+
+    private List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    @DisplayName(value = "persistent versions are independent test")
+    void versionsAreIndependent() {
+        // Размеры охватывают хвост, один и несколько уровней дерева (32, 32 * 32 + 32, 32 * 32 * 32 + 32)
+        for (int size : new int[]{0, 1, 31, 32, 33, 1056, 1057, 32_800, 40_000}) {
+            List<Integer> expected = range(size);
+            PersistentPanfArrList<Integer> list = PersistentPanfArrList.empty();
+            for (int i = 0; i < size; i++) {
+                list = list.append(i);
+            }
+            Assertions.assertEquals(expected, list);
+            Assertions.assertEquals(list, PersistentPanfArrList.copyOf(expected));
+            Assertions.assertArrayEquals(expected.toArray(), list.toArray());
+
+            PersistentPanfArrList<Integer> original = list;
+            PersistentPanfArrList<Integer> popped = list;
+            for (int i = size - 1; i >= 0; i--) {
+                popped = popped.pop();
+                Assertions.assertEquals(i, popped.size());
+                if (i % 997 == 0) {
+                    Assertions.assertEquals(expected.subList(0, i), popped);
+                }
+            }
+            Assertions.assertTrue(popped.isEmpty());
+            Assertions.assertEquals(expected, original);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "random operations behave like ArrayList test")
+    void randomOperations() {
+        Random random = new Random(19);
+        PersistentPanfArrList<Integer> list = PersistentPanfArrList.empty();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentPanfArrList<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expectedVersions = new ArrayList<>();
+        for (int step = 0; step < 50_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                list = list.append(step);
+                expected.add(step);
+            } else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                list = list.update(index, -step);
+                expected.set(index, -step);
+            } else {
+                list = list.pop();
+                expected.remove(expected.size() - 1);
+            }
+            if (step % 5000 == 0) {
+                versions.add(list);
+                expectedVersions.add(new ArrayList<>(expected));
+            }
+        }
+        Assertions.assertEquals(expected, list);
+        Assertions.assertEquals(expectedVersions, versions);
+        Assertions.assertEquals(expected.indexOf(-7), list.indexOf(-7));
+        List<Integer> iterated = new ArrayList<>();
+        list.forEach(iterated::add);
+        Assertions.assertEquals(expected, iterated);
+    }
+
+    @Test
+    @DisplayName(value = "builder snapshots test")
+    void builderSnapshots() {
+        PersistentPanfArrList.Builder<Integer> builder = PersistentPanfArrList.builder();
+        builder.addAll(range(5000));
+        PersistentPanfArrList<Integer> first = builder.build();
+        builder.set(10, -10).set(4990, -4990).add(5000);
+        PersistentPanfArrList<Integer> second = builder.build();
+        builder.set(10, 10);
+
+        Assertions.assertEquals(range(5000), first);
+        Assertions.assertEquals(-10, second.get(10));
+        Assertions.assertEquals(-4990, second.get(4990));
+        Assertions.assertEquals(5001, second.size());
+        Assertions.assertEquals(10, builder.get(10));
+
+        PersistentPanfArrList<Integer> extended = first.toBuilder().add(-1).build();
+        Assertions.assertEquals(5001, extended.size());
+        Assertions.assertEquals(5000, first.size());
+        Assertions.assertEquals(first.appendAll(List.of(-1)), extended);
+    }
+
+    @Test
+    @DisplayName(value = "persistent list rejects mutation test")
+    void immutability() {
+        PersistentPanfArrList<String> list = PersistentPanfArrList.of("a", null, "c");
+        Assertions.assertEquals(Arrays.asList("a", null, "c"), list);
+        Assertions.assertEquals(1, list.indexOf(null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add("d"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "d"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.update(3, "d"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> PersistentPanfArrList.empty().pop());
+        Assertions.assertSame(list, PersistentPanfArrList.copyOf(list));
+    }
+}
@@ -0,0 +1,93 @@
+import org.example.GrowthPolicy;
+import org.example.primitive.DoublePanfArrList;
+import org.example.primitive.IntPanfArrList;
+import org.example.primitive.LongPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PrimitivePanfArrListTest {
+
+    @Test
+    @DisplayName(value = "int list add, get, set and remove test")
+    void intBasicOperations() {
+        IntPanfArrList ints = new IntPanfArrList(0, GrowthPolicy.geometric(2));
+        for (int i = 0; i < 100; i++) {
+            ints.add(i);
+        }
+        Assertions.assertEquals(100, ints.size());
+        Assertions.assertEquals(42, ints.get(42));
+        Assertions.assertEquals(42, ints.set(42, -42));
+        Assertions.assertEquals(-42, ints.get(42));
+        ints.add(0, 1000);
+        Assertions.assertEquals(1000, ints.get(0));
+        Assertions.assertEquals(0, ints.get(1));
+        Assertions.assertEquals(1000, ints.remove(0));
+        Assertions.assertEquals(99, ints.remove(99));
+        Assertions.assertEquals(99, ints.size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ints.get(99));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ints.get(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ints.add(100, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IntPanfArrList(-1));
+    }
+
+    @Test
+    @DisplayName(value = "int list search and removeValue test")
+    void intSearch() {
+        IntPanfArrList ints = IntPanfArrList.of(5, 3, 5, 7);
+        Assertions.assertEquals(0, ints.indexOf(5));
+        Assertions.assertTrue(ints.contains(7));
+        Assertions.assertFalse(ints.contains(4));
+        Assertions.assertTrue(ints.removeValue(5));
+        Assertions.assertFalse(ints.removeValue(4));
+        Assertions.assertEquals("[3, 5, 7]", ints.toString());
+    }
+
+    @Test
+    @DisplayName(value = "int list bulk operations test")
+    void intBulkOperations() {
+        IntPanfArrList ints = new IntPanfArrList();
+        ints.addAll(new int[]{9, 8, 7, 6});
+        ints.addAll(new int[]{1, 2, 3, 4}, 1, 3);
+        Assertions.assertArrayEquals(new int[]{9, 8, 7, 6, 2, 3}, ints.toArray());
+        ints.sort();
+        Assertions.assertArrayEquals(new int[]{2, 3, 6, 7, 8, 9}, ints.toArray());
+        Assertions.assertEquals(35, ints.stream().sum());
+        AtomicLong sum = new AtomicLong();
+        ints.forEach(sum::addAndGet);
+        Assertions.assertEquals(35, sum.get());
+        ints.trimToSize();
+        ints.clear();
+        Assertions.assertTrue(ints.isEmpty());
+        Assertions.assertEquals("[]", ints.toString());
+        ints.add(1);
+        Assertions.assertEquals(1, ints.size());
+    }
+
+    @Test
+    @DisplayName(value = "long list test")
+    void longList() {
+        LongPanfArrList longs = LongPanfArrList.of(3_000_000_000L, 1L, 2L);
+        longs.add(1, -5L);
+        longs.sort();
+        Assertions.assertArrayEquals(new long[]{-5L, 1L, 2L, 3_000_000_000L}, longs.toArray());
+        Assertions.assertEquals(3, longs.indexOf(3_000_000_000L));
+        Assertions.assertEquals(-5L, longs.remove(0));
+        Assertions.assertEquals(3_000_000_003L, longs.stream().sum());
+    }
+
+    @Test
+    @DisplayName(value = "double list test")
+    void doubleList() {
+        DoublePanfArrList doubles = DoublePanfArrList.of(2.5, -1.0, 0.5);
+        doubles.add(4.0);
+        doubles.sort();
+        Assertions.assertArrayEquals(new double[]{-1.0, 0.5, 2.5, 4.0}, doubles.toArray());
+        Assertions.assertEquals(2, doubles.indexOf(2.5));
+        Assertions.assertEquals(6.0, doubles.stream().sum());
+        Assertions.assertTrue(doubles.removeValue(0.5));
+        Assertions.assertEquals("[-1.0, 2.5, 4.0]", doubles.toString());
+    }
+}
@@ -0,0 +1,105 @@
+import org.example.PanfArrList;
+import org.example.Query;
+import org.example.cars.Car;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class QueryTest {
+
+    private static final Cars CARS = new Cars(1000, 0, 500);
+
+    @Test
+    @DisplayName(value = "fused filter, map and limit test")
+    void filterMapLimit() {
+        PanfArrList<Car> cars = CARS.list(10_000, 1);
+        for (boolean parallel : new boolean[]{false, true}) {
+            Query<Car> query = parallel ? cars.query().parallel() : cars.query();
+            List<String> expected = cars.stream().filter(c -> c.getPower() > 300).map(Car::getModel).limit(50)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected,
+                    query.filter(c -> c.getPower() > 300).map(Car::getModel).limit(50).toList());
+            Assertions.assertEquals(cars.stream().filter(c -> c.getPower() > 300).count(),
+                    query.filter(c -> c.getPower() > 300).count());
+            Assertions.assertEquals(List.of(), query.limit(0).toList());
+            Assertions.assertEquals(cars, query.toList());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "limit stops the pass test")
+    void limitShortCircuits() {
+        PanfArrList<Integer> ints = new PanfArrList<>();
+        for (int i = 0; i < 1000; i++) {
+            ints.add(i);
+        }
+        AtomicInteger tested = new AtomicInteger();
+        PanfArrList<Integer> result = ints.query().filter(i -> {
+            tested.incrementAndGet();
+            return i % 2 == 0;
+        }).limit(5).toList();
+        Assertions.assertEquals(List.of(0, 2, 4, 6, 8), result);
+        Assertions.assertEquals(9, tested.get());
+    }
+
+    @Test
+    @DisplayName(value = "sorted and topK are stable and match full sort test")
+    void sortedAndTopK() {
+        PanfArrList<Car> cars = CARS.list(200_000, 2);
+        Comparator<Car> byPower = Comparator.comparingInt(Car::getPower).reversed();
+        for (boolean parallel : new boolean[]{false, true}) {
+            Query<Car> query = parallel ? cars.query().parallel() : cars.query();
+            List<Car> sorted = new ArrayList<>(cars);
+            sorted.sort(byPower);
+            Assertions.assertEquals(sorted, query.sorted(byPower).toList());
+            // Мощностей всего 500, поэтому среди первых 1000 много равных по компаратору: порядок должен быть стабильным
+            Assertions.assertEquals(sorted.subList(0, 1000), query.sorted(byPower).limit(1000).toList());
+            Assertions.assertEquals(sorted.subList(0, 10), query.topK(1000, byPower).limit(10).toList());
+            Assertions.assertEquals(List.of(), query.topK(0, byPower).toList());
+
+            List<Integer> expected = cars.stream().filter(c -> c.getBrand().equals("BMW")).map(Car::getPower)
+                    .sorted().limit(20).map(p -> p * 2).collect(Collectors.toList());
+            Assertions.assertEquals(expected, query.filter(c -> c.getBrand().equals("BMW")).map(Car::getPower)
+                    .sorted().limit(20).map(p -> p * 2).toList());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "reduce and forEach test")
+    void reduceAndForEach() {
+        PanfArrList<Car> cars = CARS.list(100_000, 3);
+        long expected = cars.stream().mapToLong(Car::getPower).sum();
+        Assertions.assertEquals(expected, cars.query().map(c -> (long) c.getPower()).reduce(0L, Long::sum));
+        Assertions.assertEquals(expected,
+                cars.query().parallel().map(c -> (long) c.getPower()).reduce(0L, Long::sum));
+        Assertions.assertEquals("ab", new PanfArrList<>(List.of("a", "b")).query().reduce("", String::concat));
+
+        LongAdder sum = new LongAdder();
+        cars.query().parallel().forEach(c -> sum.add(c.getPower()));
+        Assertions.assertEquals(expected, sum.sum());
+        List<Car> visited = new ArrayList<>();
+        cars.query().limit(3).forEach(visited::add);
+        Assertions.assertEquals(cars.subList(0, 3), visited);
+    }
+
+    @Test
+    @DisplayName(value = "query is lazy and detects modification test")
+    void lazyAndComodification() {
+        PanfArrList<Integer> ints = new PanfArrList<>(List.of(3, 1, 2));
+        Query<Integer> query = ints.query().sorted();
+        ints.add(0);
+        Assertions.assertEquals(List.of(0, 1, 2, 3), query.toList());
+        Assertions.assertEquals(List.of(3, 1, 2, 0), ints);
+        Assertions.assertThrows(ConcurrentModificationException.class,
+                () -> ints.query().forEach(i -> ints.add(i)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ints.query().limit(-1));
+    }
+}
@@ -0,0 +1,173 @@
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.sort.IntroSort;
+import org.example.sort.SortAlgorithm;
+import org.example.sort.TimSort;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+public class SortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 3, 15, 16, 17, 31, 32, 33, 100, 129, 1000, 10_000, 100_000};
+
+    private final Random random = new Random(42);
+
+    private Integer[] input(String order, int size) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            switch (order) {
+                case "sorted":
+                    values[i] = i;
+                    break;
+                case "reversed":
+                    values[i] = size - i;
+                    break;
+                case "equal":
+                    values[i] = 7;
+                    break;
+                case "duplicates":
+                    values[i] = random.nextInt(4);
+                    break;
+                case "sawtooth":
+                    values[i] = i % 50;
+                    break;
+                case "organPipe":
+                    values[i] = Math.min(i, size - i);
+                    break;
+                default:
+                    values[i] = random.nextInt();
+            }
+        }
+        return values;
+    }
+
+    private void assertSortsLikeArraysSort(SortAlgorithm algorithm) {
+        for (String order : new String[]{"random", "sorted", "reversed", "equal", "duplicates", "sawtooth", "organPipe"}) {
+            for (int size : SIZES) {
+                Integer[] values = input(order, size);
+                Integer[] expected = values.clone();
+                Arrays.sort(expected);
+                algorithm.sort(values, 0, size, Comparator.naturalOrder());
+                Assertions.assertArrayEquals(expected, values, algorithm + " " + order + " " + size);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName(value = "introsort test")
+    void introSort() {
+        assertSortsLikeArraysSort(SortAlgorithm.INTROSORT);
+    }
+
+    @Test
+    @DisplayName(value = "timsort test")
+    void timSort() {
+        assertSortsLikeArraysSort(SortAlgorithm.TIMSORT);
+    }
+
+    @Test
+    @DisplayName(value = "sort of a subrange test")
+    void sortRange() {
+        Integer[] values = {9, 8, 7, 6, 5, 4, 3};
+        IntroSort.sort(values, 1, 5, Comparator.<Integer>naturalOrder());
+        Assertions.assertArrayEquals(new Integer[]{9, 5, 6, 7, 8, 4, 3}, values);
+        TimSort.sort(values, 0, 3, Comparator.<Integer>reverseOrder());
+        Assertions.assertArrayEquals(new Integer[]{9, 6, 5, 7, 8, 4, 3}, values);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntroSort.sort(values, 0, 8, Comparator.<Integer>naturalOrder()));
+    }
+
+    /**
+     * Компаратор-противник Макилроя («A Killer Adversary for Quicksort»): значения элементов назначаются лениво во
+     * время сортировки так, что каждый опорный элемент оказывается наименьшим из оставшихся, и быстрая сортировка
+     * с любым выбором опорного элемента делает квадратичное число сравнений
+     */
+    private static final class QuicksortAdversary implements Comparator<Integer> {
+
+        private final int[] values;
+
+        private final int gas;
+
+        private int solid = 0;
+
+        private int candidate = 0;
+
+        private long comparisons = 0;
+
+        QuicksortAdversary(int size) {
+            values = new int[size];
+            gas = size;
+            Arrays.fill(values, gas);
+        }
+
+        @Override
+        public int compare(Integer x, Integer y) {
+            comparisons++;
+            if (values[x] == gas && values[y] == gas) {
+                values[x == candidate ? x : y] = solid++;
+            }
+            if (values[x] == gas) {
+                candidate = x;
+            } else if (values[y] == gas) {
+                candidate = y;
+            }
+            return Integer.compare(values[x], values[y]);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "introsort falls back to heapsort on quicksort killer input test")
+    void introSortWorstCase() {
+        int size = 20_000;
+        Integer[] items = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+        QuicksortAdversary adversary = new QuicksortAdversary(size);
+        IntroSort.sort(items, 0, size, adversary);
+        for (int i = 1; i < size; i++) {
+            Assertions.assertTrue(adversary.compare(items[i - 1], items[i]) <= 0, "index " + i);
+        }
+        // Без перехода на пирамидальную сортировку число сравнений квадратично: на этом входе более 3·10⁷
+        long log = 32 - Integer.numberOfLeadingZeros(size);
+        Assertions.assertTrue(adversary.comparisons < 20 * size * log, adversary.comparisons + " comparisons");
+    }
+
+    @Test
+    @DisplayName(value = "timsort stability test")
+    void timSortStability() {
+        int size = 50_000;
+        int[][] pairs = new int[size][];
+        for (int i = 0; i < size; i++) {
+            pairs[i] = new int[]{random.nextInt(100), i};
+        }
+        TimSort.sort(pairs, 0, size, Comparator.<int[]>comparingInt(p -> p[0]));
+        for (int i = 1; i < size; i++) {
+            Assertions.assertTrue(pairs[i - 1][0] < pairs[i][0]
+                    || pairs[i - 1][0] == pairs[i][0] && pairs[i - 1][1] < pairs[i][1]);
+        }
+    }
+
+    @Test
+    @DisplayName(value = "list sort with comparator test")
+    void listSortWithComparator() {
+        PanfArrList<Car> cars = new PanfArrList<>();
+        cars.add(new Car("Audi", "A6", 250));
+        cars.add(new Car("Citroen", "C5", 204));
+        cars.add(new Car("Lada", "Vesta", 106));
+        cars.add(new Car("BMW", "M5", 250));
+        cars.sort(Comparator.comparing(Car::toString, Comparator.comparingInt(String::length)));
+        Assertions.assertEquals("BMW M5, 250 hp", cars.get(0).toString());
+        Assertions.assertEquals("Audi A6, 250 hp", cars.get(1).toString());
+        Assertions.assertEquals("Citroen C5, 204 hp", cars.get(2).toString());
+        Assertions.assertEquals("Lada Vesta, 106 hp", cars.get(3).toString());
+        cars.sort(null);
+        Assertions.assertEquals("Audi A6, 250 hp", cars.get(0).toString());
+        cars.sort(Comparator.reverseOrder(), SortAlgorithm.INTROSORT);
+        Assertions.assertEquals("Lada Vesta, 106 hp", cars.get(0).toString());
+    }
+}
@@ -0,0 +1,105 @@
+import org.example.PanfArrList;
+import org.example.SortedPanfArrList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class SortedPanfArrListTest {
+
+    private List<Integer> randomInts(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextInt(bound));
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName(value = "sorted insert keeps order test")
+    void insertSorted() {
+        SortedPanfArrList<Integer> list = new SortedPanfArrList<>();
+        List<Integer> values = randomInts(2000, 500, 1);
+        for (Integer value : values) {
+            int index = list.insertSorted(value);
+            Assertions.assertEquals(value, list.get(index));
+        }
+        List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        Assertions.assertEquals(expected, list);
+        Assertions.assertThrows(NullPointerException.class, () -> list.add(null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add(0, 1));
+    }
+
+    @Test
+    @DisplayName(value = "sorted list search test")
+    void search() {
+        List<Integer> values = randomInts(1000, 300, 2);
+        SortedPanfArrList<Integer> list = new SortedPanfArrList<>(values, null);
+        List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        for (int key = -1; key <= 301; key++) {
+            Assertions.assertEquals(expected.indexOf(key), list.indexOf(key));
+            Assertions.assertEquals(expected.lastIndexOf(key), list.lastIndexOf(key));
+            Assertions.assertEquals(expected.contains(key), list.contains(key));
+            int found = list.binarySearch(key);
+            if (found >= 0) {
+                Assertions.assertEquals(expected.indexOf(key), found);
+            } else {
+                int insertion = -found - 1;
+                Assertions.assertTrue(insertion == list.size() || list.get(insertion) > key);
+                Assertions.assertTrue(insertion == 0 || list.get(insertion - 1) < key);
+            }
+        }
+        Assertions.assertFalse(list.contains(null));
+        Assertions.assertFalse(list.contains("string"));
+    }
+
+    @Test
+    @DisplayName(value = "sorted list with comparator is stable test")
+    void comparatorStability() {
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        SortedPanfArrList<String> list = new SortedPanfArrList<>(List.of("ccc", "a", "bb", "dd", "e"), byLength);
+        Assertions.assertEquals(List.of("a", "e", "bb", "dd", "ccc"), list);
+        list.add("f");
+        list.add("gg");
+        Assertions.assertEquals(List.of("a", "e", "f", "bb", "dd", "gg", "ccc"), list);
+        Assertions.assertEquals(4, list.indexOf("dd"));
+        Assertions.assertEquals(-1, list.indexOf("zz"));
+        Assertions.assertTrue(list.remove("e"));
+        Assertions.assertEquals(List.of("a", "f", "bb", "dd", "gg", "ccc"), list);
+    }
+
+    @Test
+    @DisplayName(value = "sorted list merge test")
+    void merge() {
+        List<Integer> first = randomInts(1500, 1000, 3);
+        List<Integer> second = randomInts(700, 1000, 4);
+        SortedPanfArrList<Integer> list = new SortedPanfArrList<>(first, null);
+        PanfArrList<Integer> sortedSecond = new PanfArrList<>(second);
+        sortedSecond.sort();
+        Assertions.assertTrue(list.mergeSorted(sortedSecond));
+        Assertions.assertTrue(list.addAll(second));
+        Assertions.assertFalse(list.mergeSorted(List.of()));
+        List<Integer> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        expected.addAll(second);
+        Collections.sort(expected);
+        Assertions.assertEquals(expected, list);
+    }
+
+    @Test
+    @DisplayName(value = "sorted list range query test")
+    void subRange() {
+        SortedPanfArrList<Integer> list = new SortedPanfArrList<>(List.of(9, 1, 5, 3, 7, 5, 11), null);
+        Assertions.assertEquals(List.of(3, 5, 5, 7), list.subRange(2, 8));
+        Assertions.assertEquals(List.of(5, 5), list.subRange(5, 6));
+        Assertions.assertEquals(List.of(), list.subRange(12, 20));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> list.subRange(5, 1));
+        list.subRange(5, 6).clear();
+        Assertions.assertEquals(List.of(1, 3, 7, 9, 11), list);
+    }
+}
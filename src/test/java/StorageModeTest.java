@@ -0,0 +1,188 @@
+import org.example.CircularPanfArrList;
+import org.example.GapPanfArrList;
+import org.example.GrowthPolicy;
+import org.example.ShrinkPolicy;
+import org.example.StorageMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class StorageModeTest {
+
+    /**
+     * Выполняет одинаковую случайную последовательность операций над проверяемым списком и над {@link ArrayList}
+     */
+    private void assertBehavesLikeArrayList(StorageMode mode, int cursorSpread) {
+        Random random = new Random(mode.ordinal());
+        List<Integer> list = mode.newList();
+        List<Integer> expected = new ArrayList<>();
+        int cursor = 0;
+        for (int step = 0; step < 20_000; step++) {
+            int size = expected.size();
+            cursor = Math.max(0, Math.min(size, cursor + random.nextInt(2 * cursorSpread + 1) - cursorSpread));
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    list.add(cursor, step);
+                    expected.add(cursor, step);
+                    break;
+                case 2:
+                    list.add(0, step);
+                    expected.add(0, step);
+                    break;
+                case 3:
+                    if (size > 0) {
+                        int index = Math.min(cursor, size - 1);
+                        Assertions.assertEquals(expected.remove(index), list.remove(index));
+                    }
+                    break;
+                case 4:
+                    if (size > 0) {
+                        Assertions.assertEquals(expected.remove(0), list.remove(0));
+                    }
+                    break;
+                default:
+                    list.add(step);
+                    expected.add(step);
+            }
+            if (step % 1000 == 0) {
+                Assertions.assertEquals(expected, list);
+            }
+        }
+        Assertions.assertEquals(expected, list);
+        Assertions.assertEquals(expected.indexOf(expected.get(expected.size() / 2)),
+                list.indexOf(expected.get(expected.size() / 2)));
+        list.sort(Comparator.reverseOrder());
+        expected.sort(Comparator.reverseOrder());
+        Assertions.assertEquals(expected, list);
+        Assertions.assertArrayEquals(expected.toArray(), list.toArray());
+        list.clear();
+        Assertions.assertTrue(list.isEmpty());
+        list.add(1);
+        Assertions.assertEquals(List.of(1), list);
+    }
+
+    @Test
+    @DisplayName(value = "array storage behaves like ArrayList test")
+    void arrayStorage() {
+        assertBehavesLikeArrayList(StorageMode.ARRAY, 3);
+    }
+
+    @Test
+    @DisplayName(value = "circular storage behaves like ArrayList test")
+    void circularStorage() {
+        assertBehavesLikeArrayList(StorageMode.CIRCULAR, 3);
+        assertBehavesLikeArrayList(StorageMode.CIRCULAR, 10_000);
+    }
+
+    @Test
+    @DisplayName(value = "gap storage behaves like ArrayList test")
+    void gapStorage() {
+        assertBehavesLikeArrayList(StorageMode.GAP, 3);
+        assertBehavesLikeArrayList(StorageMode.GAP, 10_000);
+    }
+
+    @Test
+    @DisplayName(value = "chunked storage behaves like ArrayList test")
+    void chunkedStorage() {
+        assertBehavesLikeArrayList(StorageMode.CHUNKED, 3);
+        assertBehavesLikeArrayList(StorageMode.CHUNKED, 10_000);
+    }
+
+    @Test
+    @DisplayName(value = "circular list as a queue test")
+    void circularQueue() {
+        CircularPanfArrList<Integer> queue = new CircularPanfArrList<>(4);
+        for (int i = 0; i < 100; i++) {
+            queue.add(i);
+        }
+        for (int round = 0; round < 1000; round++) {
+            queue.add(round + 100);
+            Assertions.assertEquals(round, queue.remove(0));
+            queue.add(0, -round);
+            Assertions.assertEquals(-round, queue.remove(0));
+        }
+        Assertions.assertEquals(100, queue.size());
+        Assertions.assertEquals(1000, queue.get(0));
+        queue.sort(Comparator.reverseOrder());
+        Assertions.assertEquals(1099, queue.get(0));
+        queue.sort();
+        Assertions.assertEquals(1000, queue.get(0));
+        Assertions.assertEquals(1099, queue.get(99));
+        queue.trimToSize();
+        Assertions.assertEquals(100, queue.size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> queue.get(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CircularPanfArrList<>(-1));
+    }
+
+    @Test
+    @DisplayName(value = "gap list cursor edits test")
+    void gapCursorEdits() {
+        GapPanfArrList<Character> text = new GapPanfArrList<>(0);
+        for (char c : "helo world".toCharArray()) {
+            text.add(c);
+        }
+        text.add(3, 'l');
+        text.remove(6);
+        text.add(6, 'W');
+        text.set(0, 'H');
+        StringBuilder sb = new StringBuilder();
+        text.forEach(sb::append);
+        Assertions.assertEquals("Hello World", sb.toString());
+        text.trimToSize();
+        Assertions.assertEquals(11, text.size());
+        Assertions.assertEquals(-1, text.indexOf('x'));
+        Assertions.assertEquals(4, text.indexOf('o'));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> text.add(12, 'x'));
+    }
+
+    @Test
+    @DisplayName(value = "circular and gap lists shrink, distinct and clearTotal test")
+    void shrinkDistinctClearTotal() {
+        CircularPanfArrList<Integer> circular = new CircularPanfArrList<>(0, GrowthPolicy.geometric(2),
+                ShrinkPolicy.halving());
+        GapPanfArrList<Integer> gap = new GapPanfArrList<>(0, GrowthPolicy.geometric(2), ShrinkPolicy.halving());
+        for (List<Integer> list : List.<List<Integer>>of(circular, gap)) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                // Вставки в начало заворачивают кольцо, вставки в середину двигают промежуток
+                int index = i % 3 == 0 ? 0 : expected.size() / 2;
+                list.add(index, i % 100);
+                expected.add(index, i % 100);
+            }
+            // Удаления из начала и из середины попеременно, с уменьшением массива по пути
+            while (expected.size() > 3) {
+                int index = expected.size() % 2 == 0 ? 0 : expected.size() / 2;
+                Assertions.assertEquals(expected.remove(index), list.remove(index));
+                if (expected.size() % 97 == 0) {
+                    Assertions.assertEquals(expected, list);
+                }
+            }
+            Assertions.assertEquals(expected, list);
+        }
+
+        circular.clear();
+        circular.addAll(List.of(3, 1, 3, 2, 1));
+        Assertions.assertEquals(List.of(3, 1, 2), circular.distinct());
+        circular.clearTotal();
+        Assertions.assertTrue(circular.isEmpty());
+        circular.add(0, 7);
+        Assertions.assertEquals(List.of(7), circular);
+
+        gap.clear();
+        gap.addAll(List.of(3, 1, 3, 2, 1));
+        GapPanfArrList<Integer> distinct = gap.distinct();
+        Assertions.assertEquals(List.of(3, 1, 2), distinct);
+        distinct.add(1, 5);
+        Assertions.assertEquals(List.of(3, 5, 1, 2), distinct);
+        gap.clearTotal();
+        Assertions.assertTrue(gap.isEmpty());
+        gap.add(0, 7);
+        Assertions.assertEquals(List.of(7), gap);
+    }
+}
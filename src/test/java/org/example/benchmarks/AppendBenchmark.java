@@ -0,0 +1,50 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк заполнения списка добавлением в конец ({@code add(T)}) в сравнении с {@link ArrayList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private Object[] elements;
+
+    @Setup
+    public void setUp() {
+        elements = Elements.generate(type, size);
+    }
+
+    @Benchmark
+    public PanfArrList<Object> panfArrList() {
+        PanfArrList<Object> list = new PanfArrList<>();
+        for (Object element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> arrayList() {
+        ArrayList<Object> list = new ArrayList<>();
+        for (Object element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.concurrent.AppendOnlyPanfArrList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк масштабирования добавления в конец из нескольких потоков-производителей: {@link AppendOnlyPanfArrList}
+ * против {@code synchronized}-обёртки над {@link PanfArrList}. Каждая итерация начинается с пустого списка, каждый
+ * поток добавляет {@code batchSize} элементов; результат - время итерации.
+ * <p>Количество потоков задаётся параметром JMH {@code -t}; метод {@link #main(String[])} прогоняет бенчмарк
+ * для 1, 2, 4, 8, 16 и 32 потоков.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 100_000)
+@Measurement(iterations = 10, batchSize = 100_000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendOnlyBenchmark {
+
+    private static final Object ELEMENT = new Object();
+
+    @Param({"appendOnly", "synchronized"})
+    private String implementation;
+
+    private List<Object> list;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        switch (implementation) {
+            case "appendOnly":
+                list = new AppendOnlyPanfArrList<>();
+                break;
+            case "synchronized":
+                list = Collections.synchronizedList(new PanfArrList<>());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    @Benchmark
+    public boolean add() {
+        return list.add(ELEMENT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Options options = new OptionsBuilder()
+                    .include(AppendOnlyBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк вставки в середину списка по одному элементу и пакетом ({@code addAll(int, Collection)}) в начало и
+ * середину в сравнении с {@link ArrayList}. После вставки пакет удаляется через {@code subList(...).clear()},
+ * поэтому размер списка между вызовами не меняется.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkMutationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"16", "1024"})
+    private int batchSize;
+
+    @Param({"PanfArrList", "ArrayList"})
+    private String implementation;
+
+    private List<Object> list;
+
+    private List<Object> batch;
+
+    private Object element;
+
+    @Setup
+    public void setUp() {
+        List<Object> elements = Elements.asList(Elements.generate("Integer", size));
+        list = "PanfArrList".equals(implementation) ? new PanfArrList<>(elements) : new ArrayList<>(elements);
+        batch = Elements.asList(Elements.generate("Integer", batchSize));
+        element = Elements.element("Integer", -1);
+    }
+
+    @Benchmark
+    public Object middleInsert() {
+        int middle = list.size() / 2;
+        list.add(middle, element);
+        return list.remove(middle);
+    }
+
+    @Benchmark
+    public List<Object> addAllFront() {
+        list.addAll(0, batch);
+        list.subList(0, batchSize).clear();
+        return list;
+    }
+
+    @Benchmark
+    public List<Object> addAllMiddle() {
+        int middle = list.size() / 2;
+        list.addAll(middle, batch);
+        list.subList(middle, middle + batchSize).clear();
+        return list;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarFilter;
+import org.example.cars.CarList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк поколоночного {@link CarList} против {@code PanfArrList<Car>}: полная сортировка ({@code sort()}),
+ * сортировка по мощности, отбор строк по условию и поиск k самых мощных автомобилей.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CarListBenchmark {
+
+    private static final int TOP_K = 100;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Object[] cars;
+
+    private PanfArrList<Car> objects;
+
+    private CarList columns;
+
+    @Setup
+    public void generate() {
+        cars = Elements.generate("Car", size);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        objects = new PanfArrList<>(size);
+        columns = new CarList(size);
+        for (Object car : cars) {
+            objects.add((Car) car);
+            columns.add((Car) car);
+        }
+    }
+
+    @Benchmark
+    public PanfArrList<Car> panfArrListSort() {
+        objects.sort();
+        return objects;
+    }
+
+    @Benchmark
+    public CarList carListSort() {
+        columns.sort();
+        return columns;
+    }
+
+    @Benchmark
+    public PanfArrList<Car> panfArrListSortByPower() {
+        objects.sort(Comparator.comparingInt(Car::getPower));
+        return objects;
+    }
+
+    @Benchmark
+    public CarList carListSortByPower() {
+        columns.sortBy(CarList.Column.POWER);
+        return columns;
+    }
+
+    @Benchmark
+    public long panfArrListFilter() {
+        return objects.stream().filter(c -> c.getPower() > 500 && c.getBrand().equals("BMW")).count();
+    }
+
+    @Benchmark
+    public int carListFilter() {
+        return columns.count(CarFilter.powerGreaterThan(500).and(CarFilter.brandIs("BMW")));
+    }
+
+    @Benchmark
+    public Object panfArrListTopK() {
+        return objects.stream().sorted(Comparator.comparingInt(Car::getPower).reversed()).limit(TOP_K).toArray();
+    }
+
+    @Benchmark
+    public CarList carListTopK() {
+        return columns.topK(CarList.Column.POWER, TOP_K);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.concurrent.CopyOnWritePanfArrList;
+import org.example.concurrent.StampedPanfArrList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк пропускной способности потокобезопасных списков: {@code synchronized}-обёртка над {@link PanfArrList}
+ * (базовая линия), {@link CopyOnWritePanfArrList} и {@link StampedPanfArrList}. Каждая операция с вероятностью
+ * {@code writePercent}% заменяет случайный элемент, иначе читает его или ищет значение.
+ * <p>Количество потоков задаётся параметром JMH {@code -t}; метод {@link #main(String[])} прогоняет бенчмарк
+ * для 1, 2, 4, 8, 16 и 32 потоков.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentListBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    @Param({"synchronized", "copyOnWrite", "stamped"})
+    private String implementation;
+
+    @Param({"0", "1", "10"})
+    private int writePercent;
+
+    private List<Integer> list;
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(42);
+    }
+
+    @Setup
+    public void setUp() {
+        switch (implementation) {
+            case "synchronized":
+                list = Collections.synchronizedList(new PanfArrList<>(size));
+                break;
+            case "copyOnWrite":
+                list = new CopyOnWritePanfArrList<>();
+                break;
+            case "stamped":
+                list = new StampedPanfArrList<>();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer get(ThreadRandom state) {
+        int index = state.random.nextInt(size);
+        if (state.random.nextInt(100) < writePercent) {
+            return list.set(index, index);
+        }
+        return list.get(index);
+    }
+
+    @Benchmark
+    public int indexOf(ThreadRandom state) {
+        int value = state.random.nextInt(size);
+        if (state.random.nextInt(100) < writePercent) {
+            list.set(value, value);
+            return value;
+        }
+        return list.indexOf(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentListBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.benchmarks;
+
+import org.example.IndexedPanfArrList;
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк удаления повторов: цикл "{@code contains}, затем {@code add}" по {@link PanfArrList} (O(n²)) и по
+ * {@link IndexedPanfArrList} (ожидаемое O(n)), а также {@link PanfArrList#distinct()}. Элементы содержат
+ * около половины повторов.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DedupBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private Object[] elements;
+
+    private PanfArrList<Object> source;
+
+    @Setup
+    public void setUp() {
+        elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = Elements.element(type, i % (size / 2));
+        }
+        source = new PanfArrList<>(Elements.asList(elements));
+    }
+
+    private List<Object> dedup(List<Object> target) {
+        for (Object e : elements) {
+            if (!target.contains(e)) {
+                target.add(e);
+            }
+        }
+        return target;
+    }
+
+    @Benchmark
+    public List<Object> panfArrListContainsAdd() {
+        return dedup(new PanfArrList<>());
+    }
+
+    @Benchmark
+    public List<Object> indexedContainsAdd() {
+        return dedup(new IndexedPanfArrList<>());
+    }
+
+    @Benchmark
+    public List<Object> distinct() {
+        return source.distinct();
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.benchmarks;
+
+import org.example.cars.Car;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор входных данных для бенчмарков: элементы разных типов ({@code Integer}, {@code String}, {@link Car})
+ * и разные порядки входа для сортировки. Генерация детерминирована (фиксированное зерно), чтобы результаты
+ * разных запусков и релизов можно было сравнивать.
+ */
+final class Elements {
+
+    private static final String[] BRANDS = {"Audi", "BMW", "Citroen", "Ferrari", "Lada", "Lamborghini", "Mazda",
+            "Renault", "Toyota", "Volvo"};
+
+    private static final int DUPLICATE_KEYS = 16;
+
+    private Elements() {
+    }
+
+    /**
+     * Создает {@code size} элементов типа {@code type} в случайном порядке
+     *
+     * @param type {@code Integer}, {@code String} или {@code Car}
+     */
+    static Object[] generate(String type, int size) {
+        return generate(type, size, "random");
+    }
+
+    /**
+     * Создает {@code size} элементов типа {@code type} в заданном порядке
+     *
+     * @param type  {@code Integer}, {@code String} или {@code Car}
+     * @param order {@code random}, {@code sorted}, {@code reversed} или {@code duplicates}
+     *              (случайный порядок, всего {@value #DUPLICATE_KEYS} различных значений)
+     */
+    static Object[] generate(String type, int size, String order) {
+        Random random = new Random(42);
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            int key = "duplicates".equals(order) ? random.nextInt(DUPLICATE_KEYS) : random.nextInt();
+            elements[i] = element(type, key);
+        }
+        switch (order) {
+            case "random":
+            case "duplicates":
+                break;
+            case "sorted":
+                Arrays.sort(elements);
+                break;
+            case "reversed":
+                Arrays.sort(elements, Collections.reverseOrder());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown order " + order);
+        }
+        return elements;
+    }
+
+    /**
+     * Создает один элемент типа {@code type}, однозначно определяемый ключом {@code key}
+     */
+    static Object element(String type, int key) {
+        switch (type) {
+            case "Integer":
+                return key;
+            case "String":
+                return "Item" + key;
+            case "Car":
+                return new Car(BRANDS[Math.floorMod(key, BRANDS.length)], "Model" + (key >>> 8), Math.floorMod(key, 1000));
+            default:
+                throw new IllegalArgumentException("Unknown element type " + type);
+        }
+    }
+
+    /**
+     * Возвращает элементы в виде неизменяемого списка для массового добавления
+     */
+    static List<Object> asList(Object[] elements) {
+        return Collections.unmodifiableList(Arrays.asList(elements));
+    }
+}
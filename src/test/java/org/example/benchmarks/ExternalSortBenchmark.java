@@ -0,0 +1,77 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarElementCodec;
+import org.example.io.ExternalSorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк {@link ExternalSorter} на списке автомобилей с бюджетом памяти на 1/16 входа, последовательной и
+ * параллельной генерацией серий и разным {@code fanIn} (при малом {@code fanIn} добавляются промежуточные проходы
+ * слияния). Для сравнения приведена сортировка всего списка в памяти.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExternalSortBenchmark {
+
+    private static final Comparator<Car> BY_POWER = Comparator.comparingInt(Car::getPower);
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    @Param({"4", "64"})
+    private int fanIn;
+
+    private PanfArrList<Car> cars;
+
+    private Path directory;
+
+    private ExternalSorter<Car> sorter;
+
+    @Setup
+    public void setUp() throws IOException {
+        cars = new PanfArrList<>(size);
+        for (Object car : Elements.generate("Car", size)) {
+            cars.add((Car) car);
+        }
+        directory = Files.createTempDirectory("external-sort");
+        sorter = ExternalSorter.builder(new CarElementCodec(), BY_POWER)
+                .memoryBudget((size / 16L) * 72 * (parallelism + 1))
+                .parallelism(parallelism)
+                .fanIn(fanIn)
+                .tempDirectory(directory)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("sorted.panb"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long externalSort() throws IOException {
+        return sorter.sort(cars.iterator(), directory.resolve("sorted.panb"));
+    }
+
+    @Benchmark
+    public PanfArrList<Car> inMemorySort() {
+        PanfArrList<Car> copy = new PanfArrList<>(cars);
+        copy.sort(BY_POWER);
+        return copy;
+    }
+}
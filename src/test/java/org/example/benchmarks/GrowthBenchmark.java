@@ -0,0 +1,67 @@
+package org.example.benchmarks;
+
+import org.example.GrowthPolicy;
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк заполнения {@link PanfArrList} при разных политиках роста. При геометрическом росте время заполнения
+ * растёт линейно с количеством элементов (амортизированное O(1) на {@code add}), при фиксированном шаге - квадратично.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GrowthBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    @Param({"geometric-1.5", "geometric-2", "fixed-10", "capped"})
+    private String policy;
+
+    private GrowthPolicy growthPolicy;
+
+    @Setup
+    public void setUp() {
+        switch (policy) {
+            case "geometric-1.5":
+                growthPolicy = GrowthPolicy.geometric(1.5);
+                break;
+            case "geometric-2":
+                growthPolicy = GrowthPolicy.geometric(2);
+                break;
+            case "fixed-10":
+                growthPolicy = GrowthPolicy.fixed(10);
+                break;
+            case "capped":
+                growthPolicy = GrowthPolicy.capped(2, 1 << 16, 1 << 14);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    @Benchmark
+    public PanfArrList<Integer> fill() {
+        PanfArrList<Integer> list = new PanfArrList<>(0, growthPolicy);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public PanfArrList<Integer> fillPresized() {
+        PanfArrList<Integer> list = new PanfArrList<>(0, growthPolicy);
+        list.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк вставки в начало ({@code add(0, T)}) и удаления по случайному индексу ({@code remove(int)}) в сравнении
+ * с {@link ArrayList}. Каждая операция парная: вставка в начало сопровождается удалением последнего элемента,
+ * удаление из середины - добавлением в конец, поэтому размер списка между вызовами не меняется.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertRemoveBenchmark {
+
+    private static final int INDEX_MASK = 1023;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private PanfArrList<Object> panfArrList;
+
+    private ArrayList<Object> arrayList;
+
+    private Object element;
+
+    private int[] randomIndexes;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Object[] elements = Elements.generate(type, size);
+        panfArrList = new PanfArrList<>(size + 1);
+        arrayList = new ArrayList<>(size + 1);
+        for (Object e : elements) {
+            panfArrList.add(e);
+            arrayList.add(e);
+        }
+        element = Elements.element(type, -1);
+        Random random = new Random(7);
+        randomIndexes = new int[INDEX_MASK + 1];
+        for (int i = 0; i < randomIndexes.length; i++) {
+            randomIndexes[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextIndex() {
+        return randomIndexes[cursor++ & INDEX_MASK];
+    }
+
+    @Benchmark
+    public Object panfArrListFrontInsert() {
+        panfArrList.add(0, element);
+        return panfArrList.remove(panfArrList.size() - 1);
+    }
+
+    @Benchmark
+    public Object arrayListFrontInsert() {
+        arrayList.add(0, element);
+        return arrayList.remove(arrayList.size() - 1);
+    }
+
+    @Benchmark
+    public boolean panfArrListRandomRemove() {
+        Object removed = panfArrList.remove(nextIndex());
+        return panfArrList.add(removed);
+    }
+
+    @Benchmark
+    public boolean arrayListRandomRemove() {
+        Object removed = arrayList.remove(nextIndex());
+        return arrayList.add(removed);
+    }
+}
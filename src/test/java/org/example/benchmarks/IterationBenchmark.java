@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк обхода списка циклом for-each, последовательным и параллельным потоком в сравнении с {@link ArrayList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IterationBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"PanfArrList", "ArrayList"})
+    private String implementation;
+
+    private List<Object> list;
+
+    @Setup
+    public void setUp() {
+        List<Object> elements = Elements.asList(Elements.generate("Integer", size));
+        list = "PanfArrList".equals(implementation) ? new PanfArrList<>(elements) : new ArrayList<>(elements);
+    }
+
+    @Benchmark
+    public long forEachLoop() {
+        long sum = 0;
+        for (Object o : list) {
+            sum += (Integer) o;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long stream() {
+        return list.stream().mapToLong(o -> (Integer) o).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return list.parallelStream().mapToLong(o -> (Integer) o).sum();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.metrics.ListMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк стоимости учёта метрик {@link ListMetrics} на горячих путях {@link PanfArrList}: заполнение с ростом
+ * массива, вставка и удаление в середине, сортировка. {@code disabled} - метрики не подключены (должно совпадать
+ * с версией без учёта), {@code enabled} - подключены, но запись JFR не ведётся.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"disabled", "enabled"})
+    private String metrics;
+
+    private ListMetrics listMetrics;
+
+    private Object[] elements;
+
+    private PanfArrList<Object> list;
+
+    @Setup
+    public void setUp() {
+        listMetrics = "enabled".equals(metrics) ? new ListMetrics() : null;
+        elements = Elements.generate("Integer", size);
+        list = newList();
+        for (Object e : elements) {
+            list.add(e);
+        }
+    }
+
+    private PanfArrList<Object> newList() {
+        PanfArrList<Object> result = new PanfArrList<>(0);
+        result.setMetrics(listMetrics);
+        return result;
+    }
+
+    @Benchmark
+    public PanfArrList<Object> fill() {
+        PanfArrList<Object> result = newList();
+        for (Object e : elements) {
+            result.add(e);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object insertRemoveMiddle() {
+        list.add(size / 2, elements[0]);
+        return list.remove(size / 2);
+    }
+
+    @Benchmark
+    public PanfArrList<Object> sort() {
+        PanfArrList<Object> result = newList();
+        result.addAll(Elements.asList(elements));
+        result.sort();
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.example.cars.CarRecordCodec;
+import org.example.offheap.OffHeapPanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк {@link OffHeapPanfArrList} с {@link CarRecordCodec} против {@code PanfArrList<Car>}: сортировка по мощности
+ * и полный обход с суммированием мощности. Потребление памяти и нагрузку на сборщик мусора показывает профилировщик
+ * {@code gc} профиля {@code jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Object[] cars;
+
+    private PanfArrList<Car> heapList;
+
+    private CarRecordCodec codec;
+
+    private OffHeapPanfArrList<Car> offHeapList;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        if (cars == null) {
+            cars = Elements.generate("Car", size);
+            codec = new CarRecordCodec();
+            offHeapList = OffHeapPanfArrList.allocateDirect(codec);
+            for (Object car : cars) {
+                offHeapList.add((Car) car);
+            }
+        } else {
+            for (int i = 0; i < cars.length; i++) {
+                offHeapList.set(i, (Car) cars[i]);
+            }
+        }
+        heapList = new PanfArrList<>(size);
+        for (Object car : cars) {
+            heapList.add((Car) car);
+        }
+    }
+
+    @Benchmark
+    public PanfArrList<Car> heapSortByPower() {
+        heapList.sort(Comparator.comparingInt(Car::getPower));
+        return heapList;
+    }
+
+    @Benchmark
+    public OffHeapPanfArrList<Car> offHeapSortByPower() {
+        offHeapList.sortBy(codec.power());
+        return offHeapList;
+    }
+
+    @Benchmark
+    public long heapSumPower() {
+        long sum = 0;
+        for (int i = 0; i < heapList.size(); i++) {
+            sum += heapList.get(i).getPower();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long offHeapSumPower() {
+        long sum = 0;
+        for (int i = 0; i < offHeapList.size(); i++) {
+            sum += offHeapList.get(i).getPower();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Бенчмарк масштабирования параллельных операций {@link PanfArrList} по количеству потоков. Операции выполняются
+ * в отдельном {@link ForkJoinPool} с параметром {@code parallelism}; {@code sequentialSort} - базовая линия.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private Object[] elements;
+
+    private PanfArrList<Object> list;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        elements = Elements.generate("Integer", size);
+        list = new PanfArrList<>(size);
+        list.addAll(Elements.asList(elements));
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private PanfArrList<Object> copy() {
+        PanfArrList<Object> copy = new PanfArrList<>(size);
+        copy.addAll(Elements.asList(elements));
+        return copy;
+    }
+
+    @Benchmark
+    public PanfArrList<Object> sequentialSort() {
+        PanfArrList<Object> copy = copy();
+        copy.sort(null);
+        return copy;
+    }
+
+    @Benchmark
+    public PanfArrList<Object> parallelSort() {
+        return pool.submit(() -> {
+            PanfArrList<Object> copy = copy();
+            copy.parallelSort(null);
+            return copy;
+        }).join();
+    }
+
+    @Benchmark
+    public long parallelForEach() {
+        return pool.submit(() -> {
+            LongAdder sum = new LongAdder();
+            list.parallelForEach(x -> sum.add((Integer) x));
+            return sum.sum();
+        }).join();
+    }
+
+    @Benchmark
+    public int parallelIndexOfAbsent() {
+        return pool.submit(() -> list.parallelIndexOf(-1)).join();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.PersistentPanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк {@link PersistentPanfArrList}: "изменить и раздать снимок читателям" против защитной копии
+ * {@link PanfArrList}, чтение по индексу и построение списка построителем против последовательных {@code append}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistentBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Object> elements;
+
+    private PanfArrList<Object> panfArrList;
+
+    private PersistentPanfArrList<Object> persistent;
+
+    private Object element;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        elements = Elements.asList(Elements.generate("Integer", size));
+        panfArrList = new PanfArrList<>(elements);
+        persistent = PersistentPanfArrList.copyOf(elements);
+        element = Elements.element("Integer", -1);
+    }
+
+    @Benchmark
+    public List<Object> defensiveCopySnapshot() {
+        index = (index + 7919) % size;
+        panfArrList.set(index, element);
+        return new PanfArrList<>(panfArrList);
+    }
+
+    @Benchmark
+    public List<Object> persistentSnapshot() {
+        index = (index + 7919) % size;
+        persistent = persistent.update(index, element);
+        return persistent;
+    }
+
+    @Benchmark
+    public Object panfArrListGet() {
+        index = (index + 7919) % size;
+        return panfArrList.get(index);
+    }
+
+    @Benchmark
+    public Object persistentGet() {
+        index = (index + 7919) % size;
+        return persistent.get(index);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PersistentPanfArrList<Object> buildWithAppend() {
+        PersistentPanfArrList<Object> list = PersistentPanfArrList.empty();
+        for (Object e : elements) {
+            list = list.append(e);
+        }
+        return list;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PersistentPanfArrList<Object> buildWithBuilder() {
+        return PersistentPanfArrList.builder().addAll(elements).build();
+    }
+}
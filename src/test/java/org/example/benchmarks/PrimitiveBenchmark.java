@@ -0,0 +1,50 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.primitive.IntPanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк заполнения и сортировки {@link IntPanfArrList} в сравнении с {@code PanfArrList<Integer>}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private int[] values;
+
+    @Setup
+    public void setUp() {
+        values = new Random(42).ints(size).toArray();
+    }
+
+    @Benchmark
+    public IntPanfArrList intListFillAndSort() {
+        IntPanfArrList list = new IntPanfArrList();
+        for (int value : values) {
+            list.add(value);
+        }
+        list.sort();
+        return list;
+    }
+
+    @Benchmark
+    public PanfArrList<Integer> boxedListFillAndSort() {
+        PanfArrList<Integer> list = new PanfArrList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        list.sort();
+        return list;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.cars.Car;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк цепочки "мощнее 300 л.с. - модель - первые 100 по мощности" тремя способами: с промежуточным
+ * {@link PanfArrList} на каждом шаге, ленивым запросом {@link org.example.Query} (последовательно и параллельно) и
+ * {@code stream()}. Выделение памяти показывает профилировщик {@code gc} профиля {@code jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+
+    private static final Comparator<Car> BY_POWER = Comparator.comparingInt(Car::getPower).reversed();
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private PanfArrList<Car> cars;
+
+    @Setup
+    public void setUp() {
+        cars = new PanfArrList<>(size);
+        for (Object car : Elements.generate("Car", size)) {
+            cars.add((Car) car);
+        }
+    }
+
+    @Benchmark
+    public PanfArrList<String> eager() {
+        PanfArrList<Car> powerful = new PanfArrList<>();
+        for (Car car : cars) {
+            if (car.getPower() > 300) {
+                powerful.add(car);
+            }
+        }
+        powerful.sort(BY_POWER);
+        PanfArrList<String> models = new PanfArrList<>(100);
+        for (int i = 0; i < Math.min(100, powerful.size()); i++) {
+            models.add(powerful.get(i).getModel());
+        }
+        return models;
+    }
+
+    @Benchmark
+    public PanfArrList<String> query() {
+        return cars.query().filter(c -> c.getPower() > 300).sorted(BY_POWER).limit(100).map(Car::getModel).toList();
+    }
+
+    @Benchmark
+    public PanfArrList<String> parallelQuery() {
+        return cars.query().parallel().filter(c -> c.getPower() > 300).sorted(BY_POWER).limit(100)
+                .map(Car::getModel).toList();
+    }
+
+    @Benchmark
+    public List<String> stream() {
+        return cars.stream().filter(c -> c.getPower() > 300).sorted(BY_POWER).limit(100).map(Car::getModel)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.SortedPanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк линейного поиска {@code indexOf} (элемент в середине списка) и {@code contains} (отсутствующий элемент,
+ * худший случай - просмотр всего списка) в сравнении с {@link ArrayList} и с двоичным поиском
+ * {@link SortedPanfArrList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private PanfArrList<Object> panfArrList;
+
+    private ArrayList<Object> arrayList;
+
+    private SortedPanfArrList<Object> sortedList;
+
+    private Object middle;
+
+    private Object absent;
+
+    @Setup
+    public void setUp() {
+        Object[] elements = Elements.generate(type, size);
+        panfArrList = new PanfArrList<>(size);
+        arrayList = new ArrayList<>(size);
+        for (Object e : elements) {
+            panfArrList.add(e);
+            arrayList.add(e);
+        }
+        sortedList = new SortedPanfArrList<>(Elements.asList(elements), null);
+        middle = elements[size / 2];
+        absent = Elements.element(type, -1);
+    }
+
+    @Benchmark
+    public int panfArrListIndexOf() {
+        return panfArrList.indexOf(middle);
+    }
+
+    @Benchmark
+    public int arrayListIndexOf() {
+        return arrayList.indexOf(middle);
+    }
+
+    @Benchmark
+    public boolean panfArrListContains() {
+        return panfArrList.contains(absent);
+    }
+
+    @Benchmark
+    public boolean arrayListContains() {
+        return arrayList.contains(absent);
+    }
+
+    @Benchmark
+    public int sortedListIndexOf() {
+        return sortedList.indexOf(middle);
+    }
+
+    @Benchmark
+    public boolean sortedListContains() {
+        return sortedList.contains(absent);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.example.cars.CarElementCodec;
+import org.example.io.ElementCodec;
+import org.example.io.PanfArrListReader;
+import org.example.io.PanfArrListWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк записи и чтения списка в двоичном формате {@link PanfArrListWriter} / {@link PanfArrListReader} через
+ * временный файл. Для сравнения приведена запись текстового представления списка через {@code appendTo}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private PanfArrList<Object> list;
+
+    private ElementCodec<Object> codec;
+
+    private Path binaryFile;
+
+    private Path textFile;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        list = new PanfArrList<>(size);
+        list.addAll(Elements.asList(Elements.generate(type, size)));
+        switch (type) {
+            case "Integer":
+                codec = (ElementCodec<Object>) (ElementCodec<?>) ElementCodec.int32();
+                break;
+            case "String":
+                codec = (ElementCodec<Object>) (ElementCodec<?>) ElementCodec.utf8();
+                break;
+            default:
+                codec = (ElementCodec<Object>) (ElementCodec<?>) new CarElementCodec();
+        }
+        binaryFile = Files.createTempFile("panfarrlist", ".panb");
+        textFile = Files.createTempFile("panfarrlist", ".txt");
+        PanfArrListWriter.write(binaryFile, list, codec);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(textFile);
+    }
+
+    @Benchmark
+    public long writeBinary() throws IOException {
+        try (PanfArrListWriter<Object> writer = PanfArrListWriter.create(binaryFile, codec)) {
+            writer.writeAll(list);
+            return writer.count();
+        }
+    }
+
+    @Benchmark
+    public PanfArrList<Object> readBinary() throws IOException {
+        return PanfArrListReader.read(binaryFile, codec);
+    }
+
+    @Benchmark
+    public Path writeText() throws IOException {
+        try (Writer out = Files.newBufferedWriter(textFile)) {
+            list.appendTo(out);
+        }
+        return textFile;
+    }
+}
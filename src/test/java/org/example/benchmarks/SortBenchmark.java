@@ -0,0 +1,61 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сортировки по естественному порядку ({@code sort()} - introsort, {@code sort(null)} - стабильная
+ * сортировка сериями) в сравнении с {@link ArrayList#sort}. Вход - случайный,
+ * уже отсортированный, отсортированный в обратном порядке или с большим количеством повторов. Список заполняется
+ * заново в каждом вызове, поэтому в результат входит время копирования входа (одинаковое для обоих списков).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    @Param({"random", "sorted", "reversed", "duplicates"})
+    private String order;
+
+    private Object[] elements;
+
+    @Setup
+    public void setUp() {
+        elements = Elements.generate(type, size, order);
+    }
+
+    @Benchmark
+    public PanfArrList<Object> panfArrList() {
+        PanfArrList<Object> list = new PanfArrList<>(size);
+        list.addAll(Elements.asList(elements));
+        list.sort();
+        return list;
+    }
+
+    @Benchmark
+    public PanfArrList<Object> panfArrListStable() {
+        PanfArrList<Object> list = new PanfArrList<>(size);
+        list.addAll(Elements.asList(elements));
+        list.sort(null);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> arrayList() {
+        ArrayList<Object> list = new ArrayList<>(Elements.asList(elements));
+        list.sort(null);
+        return list;
+    }
+}
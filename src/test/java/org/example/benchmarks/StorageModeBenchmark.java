@@ -0,0 +1,65 @@
+package org.example.benchmarks;
+
+import org.example.GrowthPolicy;
+import org.example.StorageMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк раскладок {@link StorageMode} на очереди (добавление в конец, удаление из начала), на вставке
+ * и удалении в начале, и на правках рядом с курсором, медленно движущимся по середине списка.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageModeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"ARRAY", "CIRCULAR", "GAP", "CHUNKED"})
+    private StorageMode mode;
+
+    private List<Object> list;
+
+    private Object element;
+
+    private int cursor;
+
+    private int step;
+
+    @Setup
+    public void setUp() {
+        list = mode.newList(size + 1, GrowthPolicy.DEFAULT);
+        list.addAll(Elements.asList(Elements.generate("Integer", size)));
+        element = Elements.element("Integer", -1);
+        cursor = size / 2;
+    }
+
+    @Benchmark
+    public Object queue() {
+        list.add(element);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Object headInsertRemove() {
+        list.add(0, element);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Object cursorEdit() {
+        // Курсор сдвигается на одну позицию каждые 16 правок и колеблется вокруг середины списка
+        if ((++step & 15) == 0) {
+            cursor = (step & (1 << 12)) == 0 ? cursor + 1 : cursor - 1;
+        }
+        list.add(cursor, element);
+        return list.remove(cursor + 1);
+    }
+}
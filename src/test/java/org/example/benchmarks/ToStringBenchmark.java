@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import org.example.PanfArrList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк {@code toString} в сравнении с {@link ArrayList#toString}. Размеры ограничены 100 000 элементов,
+ * так как результатом является одна строка. {@code panfArrListLimited} показывает стоимость вывода первых 100
+ * элементов, которая не зависит от размера списка.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToStringBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"Integer", "String", "Car"})
+    private String type;
+
+    private PanfArrList<Object> panfArrList;
+
+    private ArrayList<Object> arrayList;
+
+    @Setup
+    public void setUp() {
+        Object[] elements = Elements.generate(type, size);
+        panfArrList = new PanfArrList<>(size);
+        panfArrList.addAll(Elements.asList(elements));
+        arrayList = new ArrayList<>(Elements.asList(elements));
+    }
+
+    @Benchmark
+    public String panfArrList() {
+        return panfArrList.toString();
+    }
+
+    @Benchmark
+    public String panfArrListLimited() {
+        return panfArrList.toString(100);
+    }
+
+    @Benchmark
+    public String arrayList() {
+        return arrayList.toString();
+    }
+}